@@ -0,0 +1,30 @@
+import api from './config';
+
+export interface ChangeEvent {
+  entity_type: 'project' | 'task' | 'subtask' | 'journal_entry';
+  entity_id: string;
+  project_id?: string;
+  change: 'created' | 'updated' | 'deleted';
+  version?: number;
+  changed_fields: string[];
+}
+
+/**
+ * Subscribes to the server's change feed. onResync is called when changes were missed (the connection dropped or the
+ * client fell behind) and everything shown should be refetched. Returns a function that closes the subscription.
+ */
+export const subscribeToChanges = (onChange: (change: ChangeEvent) => void, onResync: () => void) => {
+  const source = new EventSource(`${api.defaults.baseURL}/changes`);
+  let connectedBefore = false;
+
+  source.onopen = () => {
+    if (connectedBefore) {
+      onResync();
+    }
+    connectedBefore = true;
+  };
+  source.addEventListener('change', (event) => onChange(JSON.parse((event as MessageEvent).data)));
+  source.addEventListener('resync', () => onResync());
+
+  return () => source.close();
+};
@@ -1,17 +1,40 @@
 import api from './config';
 
+export interface JournalDayActivity {
+  date: string;
+  entries: number;
+  words: number;
+}
+
+export interface JournalHeatmap {
+  year: number;
+  total_entries: number;
+  total_words: number;
+  // Only days with entries, in date order
+  days: JournalDayActivity[];
+}
 
 export const journalApi = {
   getAllEntries: () => api.get(`/journal/all`),
+  // Full entry including its body
+  getEntry: (id: string) => api.get(`/journal/${id}`),
+  // Newest first, with entry_preview and word_count instead of bodies; pass next_cursor back as cursor for older entries
+  getPage: (cursor?: string, size?: number) => api.get(`/journal/page`, { params: { cursor, size } }),
+  // Entries dated from..to (yyyy-MM-dd, both included), newest first, with previews like getPage
+  getRange: (from: string, to: string) => api.get(`/journal/range`, { params: { from, to } }),
+  // Entries and words per day of a year (the current one by default)
+  getHeatmap: (year?: number) => api.get<JournalHeatmap>(`/journal/heatmap`, { params: { year } }),
   createEntry: (entry: { date: string; content: string }) => 
     api.post(`/journal/newJournalEntry`, {
       entry_date: entry.date,
       entry_body: entry.content
     }),
-  updateEntry: (id: string, entry: { date: string; content: string }) => 
+  // With a version the edit is rejected (409) if the entry has changed since; the response carries the new version
+  updateEntry: (id: string, entry: { date: string; content: string; version?: number }) => 
     api.put(`/journal/updateJournalEntry/${id}`, {
       entry_id: id,
       entry_date: entry.date,
-      entry_body: entry.content
+      entry_body: entry.content,
+      entry_version: entry.version
     })
 };
\ No newline at end of file
@@ -1,11 +1,36 @@
 import api from './config';
-import { Project, NewProject, Task, Subtask } from '@/types/Project';
+import { Project, NewProject, ProjectPage, ProjectSummary, Task, Subtask } from '@/types/Project';
+
+export interface JsonPatchOperation {
+  op: 'add' | 'remove' | 'replace' | 'test';
+  path: string;
+  value?: unknown;
+}
 
 export const projectApi = {
   getAllProjects: () => api.get<Project[]>('/project/all'),
+  getProjectPage: (cursor?: string, size?: number) =>
+      api.get<ProjectPage>('/project/page', { params: { cursor, size } }),
+  getProjectSummaries: () => api.get<ProjectSummary[]>('/project/summaries'),
   getProjectById: (id: string) => api.get<Project>(`/project/${id}`),
   createProject: (project: NewProject) => api.post<Project>('/project/newProject', project),
   updateProject: (id: string, project: Partial<Project>) => 
       api.put<Project>(`/project/updateProject/${id}`, project),
+  mergePatchProject: (id: string, patch: Partial<Project>) =>
+      api.patch<Project>(`/project/${id}`, patch, { headers: { 'Content-Type': 'application/merge-patch+json' } }),
+  jsonPatchProject: (id: string, operations: JsonPatchOperation[]) =>
+      api.patch<Project>(`/project/${id}`, operations, { headers: { 'Content-Type': 'application/json-patch+json' } }),
   deleteProject: (id: string) => api.delete(`/project/${id}`),
+  createTask: (projectId: string, task: Partial<Task>) =>
+      api.post<Task>(`/project/${projectId}/tasks`, task),
+  updateTask: (projectId: string, taskId: string, task: Partial<Task>) =>
+      api.patch<Task>(`/project/${projectId}/tasks/${taskId}`, task),
+  deleteTask: (projectId: string, taskId: string) =>
+      api.delete(`/project/${projectId}/tasks/${taskId}`),
+  createSubtask: (projectId: string, taskId: string, subtask: Partial<Subtask>) =>
+      api.post<Subtask>(`/project/${projectId}/tasks/${taskId}/subtasks`, subtask),
+  updateSubtask: (projectId: string, taskId: string, subtaskId: string, subtask: Partial<Subtask>) =>
+      api.patch<Subtask>(`/project/${projectId}/tasks/${taskId}/subtasks/${subtaskId}`, subtask),
+  deleteSubtask: (projectId: string, taskId: string, subtaskId: string) =>
+      api.delete(`/project/${projectId}/tasks/${taskId}/subtasks/${subtaskId}`),
 };
@@ -0,0 +1,40 @@
+import api from './config';
+
+export type SearchType = 'project' | 'task' | 'subtask' | 'journal_entry';
+
+export interface SearchResult {
+  type: SearchType;
+  id: string;
+  project_id?: string;
+  task_id?: string;
+  // Name, or the date of a journal entry
+  title: string;
+  score: number;
+}
+
+export interface SearchResponse {
+  query: string;
+  results: SearchResult[];
+}
+
+export interface Suggestion {
+  name: string;
+  type: 'project' | 'task';
+  // Number of projects or tasks carrying the name
+  count: number;
+}
+
+export interface AutocompleteResponse {
+  prefix: string;
+  // False while the names are still being loaded after a restart
+  ready: boolean;
+  suggestions: Suggestion[];
+}
+
+export const searchApi = {
+  // Every word must match a whole word or the start of one; results are ranked best first
+  search: (q: string, type?: SearchType, limit?: number) =>
+      api.get<SearchResponse>('/search', { params: { q, type, limit } }),
+  autocomplete: (prefix: string, type?: 'project' | 'task', limit?: number) =>
+      api.get<AutocompleteResponse>('/search/autocomplete', { params: { prefix, type, limit } }),
+};
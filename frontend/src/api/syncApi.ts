@@ -0,0 +1,29 @@
+import api from './config';
+import { Project, Task, Subtask } from '@/types/Project';
+
+export interface JournalEntryResponse {
+  entry_id: string;
+  entry_date: string;
+  entry_body: string;
+}
+
+export interface Tombstone {
+  entity_type: 'project' | 'task' | 'subtask' | 'journal_entry';
+  entity_id: string;
+  project_id?: string;
+}
+
+export interface SyncResponse {
+  token: string;
+  full_resync: boolean;
+  projects: Project[];
+  tasks: (Task & { project_id: string })[];
+  subtasks: (Subtask & { project_id: string; task_id: string })[];
+  journal_entries: JournalEntryResponse[];
+  deleted: Tombstone[];
+}
+
+export const syncApi = {
+  // Without a token the response only carries the current token and full_resync
+  getChanges: (since?: string) => api.get<SyncResponse>('/sync', { params: { since } }),
+};
@@ -0,0 +1,31 @@
+import api from './config';
+import { Agenda, TaskPage, SubtaskPage } from '@/types/Project';
+
+export interface TaskQuery {
+  projectId?: string;
+  status?: string[];
+  difficulty?: string[];
+  taskType?: string;
+  // ISO dates, both inclusive
+  dueFrom?: string;
+  dueTo?: string;
+  page?: number;
+  size?: number;
+  // <field>[,asc|desc] with field one of name, status, due_date, difficulty, task_type
+  sort?: string;
+}
+
+// Lists are sent comma separated, which the server splits like repeated parameters
+const toParams = ({ status, difficulty, ...query }: TaskQuery) => ({
+  ...query,
+  status: status?.join(','),
+  difficulty: difficulty?.join(','),
+});
+
+export const taskQueryApi = {
+  queryTasks: (query: TaskQuery) => api.get<TaskPage>('/tasks', { params: toParams(query) }),
+  querySubtasks: (query: Omit<TaskQuery, 'taskType'>) =>
+      api.get<SubtaskPage>('/subtasks', { params: toParams(query) }),
+  // Open work due within the given days (today included, 7 by default) plus everything overdue
+  getAgenda: (days?: number) => api.get<Agenda>('/agenda', { params: { days } }),
+};
@@ -25,7 +25,79 @@ export interface Project {
   project_tasks: Task[];
 }
 
+export interface ProjectSummary {
+  project_id: string;
+  project_name: string;
+  project_description: string;
+  task_count: number;
+  active_task_count: number;
+  backlog_task_count: number;
+  overdue_task_count: number;
+  status_counts: Record<string, number>;
+}
+
+export interface ProjectPage {
+  projects: Project[];
+  next_cursor: string | null;
+}
+
 export type NewProject = {
   project_name: string;
   project_description: string;
 };
+
+export interface TaskListItem {
+  task_id: string;
+  project_id: string;
+  task_name: string;
+  task_status: string;
+  task_due_date: string | null;
+  task_difficulty: string;
+  task_type: string;
+}
+
+export interface SubtaskListItem {
+  subtask_id: string;
+  task_id: string;
+  project_id: string;
+  subtask_name: string;
+  subtask_status: string;
+  subtask_due_date: string | null;
+  subtask_difficulty: string;
+}
+
+export interface TaskPage {
+  tasks: TaskListItem[];
+  page: number;
+  size: number;
+  total_elements: number;
+  has_more: boolean;
+}
+
+export interface SubtaskPage {
+  subtasks: SubtaskListItem[];
+  page: number;
+  size: number;
+  total_elements: number;
+  has_more: boolean;
+}
+
+export interface AgendaItem {
+  id: string;
+  // Only set for subtasks
+  task_id?: string;
+  project_id: string;
+  project_name: string;
+  name: string;
+  status: string;
+  due_date: string;
+  difficulty: string;
+  overdue: boolean;
+}
+
+export interface Agenda {
+  date: string;
+  through: string;
+  tasks: AgendaItem[];
+  subtasks: AgendaItem[];
+}
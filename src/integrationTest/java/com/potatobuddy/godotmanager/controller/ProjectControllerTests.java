@@ -44,7 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     "spring.datasource.url=${mySQLContainer.getJdbcUrl()}",
     "spring.datasource.username=${mySQLContainer.getUsername()}",
     "spring.datasource.password=${mySQLContainer.getPassword()}",
-    "spring.jpa.hibernate.ddl-auto=update"
+    "spring.jpa.hibernate.ddl-auto=validate"
 })
 
 @ActiveProfiles("test")
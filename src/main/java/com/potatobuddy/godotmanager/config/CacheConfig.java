@@ -0,0 +1,47 @@
+package com.potatobuddy.godotmanager.config;
+
+import com.potatobuddy.godotmanager.service.ProjectChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caches assembled project aggregates, their serialized responses, the agenda and the journal heatmap. Size and
+ * expiry are set by {@code spring.cache.caffeine.spec}; hits, misses and evictions are published as the
+ * {@code cache.*} actuator metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Keyed by id and version, so a write needs no eviction and a read that raced it cannot cache an outdated state
+    public static final String PROJECTS = "projects";
+    // Validated against the project's version on every read, see ProjectJsonCache
+    public static final String PROJECT_JSON = "projectJson";
+    // Cleared as a whole by AgendaService, since a write to any project may add to or remove from an agenda
+    public static final String AGENDA = "agenda";
+    // Keyed by generation and year; JournalHeatmapService retires all years on a journal write, since an edit may move
+    // an entry between years
+    public static final String JOURNAL_HEATMAP = "journalHeatmap";
+
+    private final CacheManager cacheManager;
+
+    public CacheConfig(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Frees the entry of a changed project after commit. Not needed for correctness: a read that raced the write may
+     * still put the old state back afterwards, and ProjectJsonCache replaces such an entry once it is outdated.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void evictProject(ProjectChangedEvent event) {
+        Cache cache = cacheManager.getCache(PROJECT_JSON);
+        if (cache != null) {
+            cache.evict(event.getProjectId());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.potatobuddy.godotmanager.config;
+
+import com.potatobuddy.godotmanager.service.IdGenerator;
+import com.potatobuddy.godotmanager.service.RandomUuidIdGenerator;
+import com.potatobuddy.godotmanager.service.TimeOrderedIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    public static final String TIME_ORDERED = "time-ordered";
+    public static final String RANDOM = "random";
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${godotmanager.ids.generator:" + TIME_ORDERED + "}") String generator) {
+        return switch (generator) {
+            case TIME_ORDERED -> new TimeOrderedIdGenerator();
+            case RANDOM -> new RandomUuidIdGenerator();
+            default -> throw new IllegalStateException("Unknown id generator " + generator + ", expected "
+                + TIME_ORDERED + " or " + RANDOM);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.potatobuddy.godotmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the periodic maintenance jobs, such as pruning the change log.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,24 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.potatobuddy.godotmanager.dto.project.AgendaResponse;
+import com.potatobuddy.godotmanager.service.AgendaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:8080", maxAge = 3600)
+@RequestMapping("/agenda")
+public class AgendaController {
+
+    @Autowired
+    private AgendaService agendaService;
+
+    /**
+     * Open work due today ({@code days=1}), this week (the default) or up to a month ahead, plus everything overdue.
+     */
+    @GetMapping
+    public ResponseEntity<AgendaResponse> getAgenda(@RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(agendaService.getAgenda(days));
+    }
+}
@@ -0,0 +1,26 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:8080", maxAge = 3600)
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * Server-Sent Events stream of {@code change} events for projects, tasks, subtasks and journal entries, and
+     * {@code resync} events when the client fell too far behind. See {@link ChangeFeedService}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return changeFeedService.subscribe(new SseEmitter(Constants.CHANGE_FEED_TIMEOUT_MILLIS));
+    }
+}
@@ -0,0 +1,72 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.potatobuddy.godotmanager.dto.project.DataImportResponse;
+import com.potatobuddy.godotmanager.service.DataTransferService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Backup and transfer of the whole dataset as newline-delimited JSON, see {@link DataTransferService}.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:8080", maxAge = 3600)
+@RequestMapping("/data")
+public class DataTransferController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String GZIP = "application/gzip";
+    private static final String EXPORT_FILE_NAME = "godotmanager-export.ndjson";
+
+    @Autowired
+    private DataTransferService dataTransferService;
+
+    /**
+     * Streams the export while it is read from the database. With {@code gzip=true} the file itself is compressed,
+     * rather than just the transfer, so that it can be stored as it is downloaded.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportData(@RequestParam(defaultValue = "false") boolean gzip) {
+        String fileName = gzip ? EXPORT_FILE_NAME + ".gz" : EXPORT_FILE_NAME;
+        StreamingResponseBody body = gzip
+            ? outputStream -> {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024);
+                dataTransferService.exportNdjson(gzipOutputStream);
+                gzipOutputStream.finish();
+            }
+            : dataTransferService::exportNdjson;
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? GZIP : NDJSON))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
+    /**
+     * Accepts an export as produced by {@link #exportData}, compressed or not.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON, GZIP, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<DataImportResponse> importData(InputStream body) throws IOException {
+        return ResponseEntity.ok(dataTransferService.importNdjson(decompressIfGzipped(body)));
+    }
+
+    private static InputStream decompressIfGzipped(InputStream body) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(body, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean gzipped = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+        return gzipped ? new GZIPInputStream(buffered, 64 * 1024) : buffered;
+    }
+}
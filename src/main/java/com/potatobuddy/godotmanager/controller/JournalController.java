@@ -1,13 +1,22 @@
 package com.potatobuddy.godotmanager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.potatobuddy.godotmanager.dto.project.EditJournalEntryRequest;
+import com.potatobuddy.godotmanager.dto.project.JournalHeatmapResponse;
+import com.potatobuddy.godotmanager.dto.project.JournalPageResponse;
 import com.potatobuddy.godotmanager.dto.project.JournalResponse;
+import com.potatobuddy.godotmanager.dto.project.JournalSummaryResponse;
 import com.potatobuddy.godotmanager.dto.project.NewJournalEntryRequest;
+import com.potatobuddy.godotmanager.service.JournalHeatmapService;
 import com.potatobuddy.godotmanager.service.JournalService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,6 +26,10 @@ public class JournalController {
 
     @Autowired
     private JournalService journalService;
+    @Autowired
+    private JournalHeatmapService journalHeatmapService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @GetMapping("/all")
     public ResponseEntity<List<JournalResponse>> getAllJournalEntries() {
@@ -24,6 +37,45 @@ public class JournalController {
         return ResponseEntity.ok(journalEntries);
     }
 
+    /**
+     * Same content as {@code /all}, written while the entries are read so that memory use stays flat.
+     */
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllJournalEntries() {
+        return ResponseEntity.ok(JsonStreaming.jsonArray(objectMapper, journalService::forEachJournalEntry));
+    }
+
+    /**
+     * Newest entries first, with previews instead of bodies; pass {@code next_cursor} back as {@code cursor} for older ones.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<JournalPageResponse> getJournalPage(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(journalService.getJournalPage(cursor, size));
+    }
+
+    /**
+     * Entries dated from {@code from} through {@code to}, both included, newest first, with previews instead of bodies.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<List<JournalSummaryResponse>> getJournalEntriesBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(journalService.getJournalEntriesBetween(from, to));
+    }
+
+    /**
+     * Entries and words per day of {@code year}, the current year if omitted.
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<JournalHeatmapResponse> getHeatmap(@RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(journalHeatmapService.getHeatmap(year));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JournalResponse> getJournalEntry(@PathVariable String id) {
+        return ResponseEntity.ok(journalService.getJournalEntry(id));
+    }
+
     @PostMapping("/newJournalEntry")
     public ResponseEntity<JournalResponse> createJournalEntry(@RequestBody NewJournalEntryRequest newJournalEntryRequest) {
         return ResponseEntity.ok(journalService.createNewJournalEntry(newJournalEntryRequest));
@@ -31,11 +83,6 @@ public class JournalController {
 
     @PutMapping("/updateJournalEntry/{id}")
     public ResponseEntity<JournalResponse> updateJournalEntry(@PathVariable String id, @RequestBody EditJournalEntryRequest editJournalEntryRequest) {
-        JournalResponse journalEntry = journalService.editJournalEntry(editJournalEntryRequest);
-        if (journalEntry != null) {
-            return ResponseEntity.ok(journalEntry);
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+        return ResponseEntity.ok(journalService.editJournalEntry(editJournalEntryRequest));
     }
 }
@@ -0,0 +1,42 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes JSON arrays element by element as a service produces them, instead of serializing a complete list.
+ */
+final class JsonStreaming {
+
+    private JsonStreaming() {}
+
+    /**
+     * @param source pushes every element of the array into the consumer it is given
+     */
+    static <T> StreamingResponseBody jsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                boolean[] first = {true};
+                source.accept(element -> {
+                    try {
+                        generator.writeObject(element);
+                        if (first[0]) {
+                            // Get the first element out right away, later ones leave with the full buffers
+                            generator.flush();
+                            first[0] = false;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+}
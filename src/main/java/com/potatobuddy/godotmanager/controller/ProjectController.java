@@ -1,17 +1,35 @@
 package com.potatobuddy.godotmanager.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.potatobuddy.godotmanager.dto.project.BulkImportResponse;
 import com.potatobuddy.godotmanager.dto.project.NewProjectRequest;
+import com.potatobuddy.godotmanager.dto.project.ProjectPageResponse;
 import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.dto.project.ProjectSummaryResponse;
+import com.potatobuddy.godotmanager.dto.project.SubtaskRequest;
+import com.potatobuddy.godotmanager.dto.project.TaskRequest;
 import com.potatobuddy.godotmanager.dto.project.UpdateProjectRequest;
+import com.potatobuddy.godotmanager.dto.project.VersionTag;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.service.BulkImportService;
+import com.potatobuddy.godotmanager.service.EncodedJson;
+import com.potatobuddy.godotmanager.service.ProjectJsonCache;
+import com.potatobuddy.godotmanager.service.ProjectPatchService;
 import com.potatobuddy.godotmanager.service.ProjectService;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,9 +37,19 @@ import java.util.List;
 @RequestMapping("/project")
 public class ProjectController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String JSON_PATCH_JSON = "application/json-patch+json";
+    private static final String TEXT_CSV = "text/csv";
+
     @Autowired
     private ProjectService projectService;
     @Autowired
+    private ProjectPatchService projectPatchService;
+    @Autowired
+    private ProjectJsonCache projectJsonCache;
+    @Autowired
+    private BulkImportService bulkImportService;
+    @Autowired
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @PostConstruct
@@ -30,19 +58,65 @@ public class ProjectController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<ProjectResponse>> getAllProjects() {
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(WebRequest request) {
+        VersionTag versionTag = projectService.getAllProjectsVersionTag();
+        if (request.checkNotModified(versionTag.getETag(), versionTag.getLastModifiedMillis())) {
+            // 304 status and validators are already set on the response
+            return null;
+        }
+
         List<ProjectResponse> projects = projectService.getAllProjects();
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * Same content as {@code /all}, written while the projects are read so that memory use stays flat and the first
+     * project is sent before the last one is loaded.
+     */
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProjects() {
+        return ResponseEntity.ok(JsonStreaming.jsonArray(objectMapper, projectService::forEachProject));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ProjectPageResponse> getProjectPage(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(projectService.getProjectPage(cursor, size));
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<List<ProjectSummaryResponse>> getProjectSummaries() {
+        return ResponseEntity.ok(projectService.getProjectSummaries());
+    }
+
+    /**
+     * Writes the cached, pre-serialized project; gzip encoded when the client accepts it and the body is large enough.
+     * A request whose {@code If-None-Match} still matches the project's version is answered with 304 after reading
+     * only the version columns.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable String id) {
-        ProjectResponse project = projectService.getProjectById(id);
-        if (project != null) {
-            return ResponseEntity.ok(project);
-        } else {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<byte[]> getProjectById(@PathVariable String id,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                 WebRequest request) {
+        VersionTag versionTag = projectService.getProjectVersionTag(id);
+        if (request.checkNotModified(versionTag.getETag(), versionTag.getLastModifiedMillis())) {
+            // 304 status and validators are already set on the response
+            return null;
+        }
+
+        EncodedJson project = projectJsonCache.getProjectJson(id, versionTag.getETag());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+            .eTag(project.getETag());
+        if (project.getETag().equals(versionTag.getETag()) && versionTag.getLastModified() != null) {
+            response.lastModified(versionTag.getLastModified());
+        }
+
+        if (project.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(project.getGzip());
         }
+        return response.body(project.getJson());
     }
 
     @PostMapping("/newProject")
@@ -50,6 +124,19 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.createProject(newProjectRequest));
     }
 
+    /**
+     * Creates the projects, tasks and subtasks of a JSON array or CSV file of rows, see {@link BulkImportService}.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV})
+    public ResponseEntity<BulkImportResponse> bulkImport(InputStream body,
+                                                         @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         @RequestParam(required = false) Integer chunkSize) {
+        BulkImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+            ? BulkImportService.Format.CSV
+            : BulkImportService.Format.JSON;
+        return ResponseEntity.ok(bulkImportService.importRows(body, format, chunkSize));
+    }
+
     @PutMapping("/updateProject/{id}")
     public ResponseEntity<ProjectResponse> updateProject(@PathVariable String id, @RequestBody UpdateProjectRequest updatedProjectRequest) throws JsonProcessingException {
         String requestJson = objectMapper.writeValueAsString(updatedProjectRequest);
@@ -62,10 +149,58 @@ public class ProjectController {
         }
     }
 
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<ProjectResponse> mergePatchProject(@PathVariable String id, @RequestBody JsonNode mergePatch) {
+        return ResponseEntity.ok(projectPatchService.mergePatchProject(id, mergePatch));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = JSON_PATCH_JSON)
+    public ResponseEntity<ProjectResponse> jsonPatchProject(@PathVariable String id, @RequestBody JsonNode jsonPatch) {
+        return ResponseEntity.ok(projectPatchService.jsonPatchProject(id, jsonPatch));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(@PathVariable String id) {
         projectService.deleteProject(id);
         return ResponseEntity.noContent().build();
     }
 
+    /**--------------------------------------------- Task Endpoints --------------------------------------------------*/
+
+    @PostMapping("/{id}/tasks")
+    public ResponseEntity<Task> createTask(@PathVariable String id, @RequestBody TaskRequest taskRequest) {
+        return ResponseEntity.ok(projectService.createTask(id, taskRequest));
+    }
+
+    @PatchMapping("/{id}/tasks/{taskId}")
+    public ResponseEntity<Task> updateTask(@PathVariable String id, @PathVariable String taskId,
+                                           @RequestBody TaskRequest taskRequest) {
+        return ResponseEntity.ok(projectService.updateTask(id, taskId, taskRequest));
+    }
+
+    @DeleteMapping("/{id}/tasks/{taskId}")
+    public ResponseEntity<Void> deleteTask(@PathVariable String id, @PathVariable String taskId) {
+        projectService.deleteTask(id, taskId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/tasks/{taskId}/subtasks")
+    public ResponseEntity<Subtask> createSubtask(@PathVariable String id, @PathVariable String taskId,
+                                                 @RequestBody SubtaskRequest subtaskRequest) {
+        return ResponseEntity.ok(projectService.createSubtask(id, taskId, subtaskRequest));
+    }
+
+    @PatchMapping("/{id}/tasks/{taskId}/subtasks/{subtaskId}")
+    public ResponseEntity<Subtask> updateSubtask(@PathVariable String id, @PathVariable String taskId,
+                                                 @PathVariable String subtaskId,
+                                                 @RequestBody SubtaskRequest subtaskRequest) {
+        return ResponseEntity.ok(projectService.updateSubtask(id, taskId, subtaskId, subtaskRequest));
+    }
+
+    @DeleteMapping("/{id}/tasks/{taskId}/subtasks/{subtaskId}")
+    public ResponseEntity<Void> deleteSubtask(@PathVariable String id, @PathVariable String taskId,
+                                              @PathVariable String subtaskId) {
+        projectService.deleteSubtask(id, taskId, subtaskId);
+        return ResponseEntity.noContent().build();
+    }
 }
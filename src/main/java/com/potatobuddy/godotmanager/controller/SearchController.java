@@ -0,0 +1,43 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.potatobuddy.godotmanager.dto.project.AutocompleteResponse;
+import com.potatobuddy.godotmanager.dto.project.SearchResponse;
+import com.potatobuddy.godotmanager.service.AutocompleteService;
+import com.potatobuddy.godotmanager.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:8080", maxAge = 3600)
+@RequestMapping("/search")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    /**
+     * Ranked matches for every word of {@code q}, each as a whole word or a prefix, optionally of a single
+     * {@code type}: project, task, subtask or journal_entry.
+     */
+    @GetMapping
+    public ResponseEntity<SearchResponse> search(@RequestParam String q,
+                                                 @RequestParam(required = false) String type,
+                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchIndexService.search(q, type, limit));
+    }
+
+    /**
+     * Existing project and task names starting with {@code prefix}, answered from memory; {@code type} is project or
+     * task.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<AutocompleteResponse> autocomplete(@RequestParam String prefix,
+                                                             @RequestParam(required = false) String type,
+                                                             @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(prefix, type, limit));
+    }
+}
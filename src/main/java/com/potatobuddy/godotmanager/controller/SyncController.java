@@ -0,0 +1,25 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.potatobuddy.godotmanager.dto.project.SyncResponse;
+import com.potatobuddy.godotmanager.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:8080", maxAge = 3600)
+@RequestMapping("/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Changes since the token of a previous sync. Without a token, only returns the current token and asks for a full
+     * reload.
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> getChanges(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok(syncService.getChangesSince(since));
+    }
+}
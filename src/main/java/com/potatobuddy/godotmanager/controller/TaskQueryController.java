@@ -0,0 +1,51 @@
+package com.potatobuddy.godotmanager.controller;
+
+import com.potatobuddy.godotmanager.dto.project.SubtaskPageResponse;
+import com.potatobuddy.godotmanager.dto.project.TaskPageResponse;
+import com.potatobuddy.godotmanager.service.TaskQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tasks and subtasks across all projects, e.g. {@code /tasks?status=In Progress&dueTo=2024-06-30&sort=due_date}.
+ * Multi-valued filters accept repeated parameters or a comma separated list.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:8080", maxAge = 3600)
+public class TaskQueryController {
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
+    @GetMapping("/tasks")
+    public ResponseEntity<TaskPageResponse> queryTasks(@RequestParam(required = false) String projectId,
+                                                       @RequestParam(required = false) List<String> status,
+                                                       @RequestParam(required = false) List<String> difficulty,
+                                                       @RequestParam(required = false) String taskType,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                       @RequestParam(required = false) Integer page,
+                                                       @RequestParam(required = false) Integer size,
+                                                       @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(taskQueryService.queryTasks(projectId, status, difficulty, taskType, dueFrom, dueTo,
+            page, size, sort));
+    }
+
+    @GetMapping("/subtasks")
+    public ResponseEntity<SubtaskPageResponse> querySubtasks(@RequestParam(required = false) String projectId,
+                                                             @RequestParam(required = false) List<String> status,
+                                                             @RequestParam(required = false) List<String> difficulty,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                             @RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @RequestParam(required = false) String sort) {
+        return ResponseEntity.ok(taskQueryService.querySubtasks(projectId, status, difficulty, dueFrom, dueTo,
+            page, size, sort));
+    }
+}
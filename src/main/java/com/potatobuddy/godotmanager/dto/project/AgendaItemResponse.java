@@ -0,0 +1,178 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * A task or subtask in the agenda. {@code task_id} is only set for subtasks.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AgendaItemResponse {
+    @JsonProperty("id")
+    private String id;
+    @JsonProperty("task_id")
+    private String taskId;
+    @JsonProperty("project_id")
+    private String projectId;
+    @JsonProperty("project_name")
+    private String projectName;
+    @JsonProperty("name")
+    private String name;
+    @JsonProperty("status")
+    private String status;
+    @JsonProperty("due_date")
+    private LocalDate dueDate;
+    @JsonProperty("difficulty")
+    private String difficulty;
+    @JsonProperty("overdue")
+    private boolean overdue;
+
+    public AgendaItemResponse() {}
+
+    public AgendaItemResponse(Builder builder) {
+        this.id = builder.id;
+        this.taskId = builder.taskId;
+        this.projectId = builder.projectId;
+        this.projectName = builder.projectName;
+        this.name = builder.name;
+        this.status = builder.status;
+        this.dueDate = builder.dueDate;
+        this.difficulty = builder.difficulty;
+        this.overdue = builder.overdue;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+
+    public static class Builder {
+        private String id;
+        private String taskId;
+        private String projectId;
+        private String projectName;
+        private String name;
+        private String status;
+        private LocalDate dueDate;
+        private String difficulty;
+        private boolean overdue;
+
+        public Builder withId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withTaskId(String taskId) {
+            this.taskId = taskId;
+            return this;
+        }
+
+        public Builder withProjectId(String projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder withProjectName(String projectName) {
+            this.projectName = projectName;
+            return this;
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withStatus(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder withDueDate(LocalDate dueDate) {
+            this.dueDate = dueDate;
+            return this;
+        }
+
+        public Builder withDifficulty(String difficulty) {
+            this.difficulty = difficulty;
+            return this;
+        }
+
+        public Builder withOverdue(boolean overdue) {
+            this.overdue = overdue;
+            return this;
+        }
+
+        public AgendaItemResponse build() {
+            return new AgendaItemResponse(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Open work due from {@code date} through {@code through}, preceded by everything still open that was due before.
+ */
+public class AgendaResponse {
+    @JsonProperty("date")
+    private LocalDate date;
+    @JsonProperty("through")
+    private LocalDate through;
+    @JsonProperty("tasks")
+    private List<AgendaItemResponse> tasks;
+    @JsonProperty("subtasks")
+    private List<AgendaItemResponse> subtasks;
+
+    public AgendaResponse() {}
+
+    public AgendaResponse(LocalDate date, LocalDate through, List<AgendaItemResponse> tasks, List<AgendaItemResponse> subtasks) {
+        this.date = date;
+        this.through = through;
+        this.tasks = tasks;
+        this.subtasks = subtasks;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalDate getThrough() {
+        return through;
+    }
+
+    public void setThrough(LocalDate through) {
+        this.through = through;
+    }
+
+    public List<AgendaItemResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<AgendaItemResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<AgendaItemResponse> getSubtasks() {
+        return subtasks;
+    }
+
+    public void setSubtasks(List<AgendaItemResponse> subtasks) {
+        this.subtasks = subtasks;
+    }
+}
@@ -0,0 +1,49 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Name suggestions, most frequent first. {@code ready} is false while the names are still being loaded after startup.
+ */
+public class AutocompleteResponse {
+    @JsonProperty("prefix")
+    private String prefix;
+    @JsonProperty("ready")
+    private boolean ready;
+    @JsonProperty("suggestions")
+    private List<SuggestionResponse> suggestions;
+
+    public AutocompleteResponse() {}
+
+    public AutocompleteResponse(String prefix, boolean ready, List<SuggestionResponse> suggestions) {
+        this.prefix = prefix;
+        this.ready = ready;
+        this.suggestions = suggestions;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public List<SuggestionResponse> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<SuggestionResponse> suggestions) {
+        this.suggestions = suggestions;
+    }
+}
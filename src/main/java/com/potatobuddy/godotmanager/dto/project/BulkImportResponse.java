@@ -0,0 +1,73 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a bulk import: rows written per entity, the number of chunks (transactions) and the throughput.
+ */
+public class BulkImportResponse {
+    @JsonProperty("projects")
+    private int projects;
+    @JsonProperty("tasks")
+    private int tasks;
+    @JsonProperty("subtasks")
+    private int subtasks;
+    @JsonProperty("chunks")
+    private int chunks;
+    @JsonProperty("elapsed_ms")
+    private long elapsedMillis;
+    @JsonProperty("rows_per_second")
+    private double rowsPerSecond;
+
+    public void incrementProjects() {
+        projects++;
+    }
+
+    public void incrementTasks() {
+        tasks++;
+    }
+
+    public void incrementSubtasks() {
+        subtasks++;
+    }
+
+    public void incrementChunks() {
+        chunks++;
+    }
+
+    /**
+     * Sets the elapsed time of the whole import, validation included, and derives the throughput from it.
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedMillis = elapsedNanos / 1_000_000;
+        this.rowsPerSecond = elapsedNanos > 0 ? getRows() * 1_000_000_000d / elapsedNanos : 0;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public int getSubtasks() {
+        return subtasks;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public int getRows() {
+        return projects + tasks + subtasks;
+    }
+}
@@ -0,0 +1,103 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One row of a bulk import, either an element of a JSON array or a CSV line with these column names as its header.
+ * <p>
+ * {@code type} is {@code project}, {@code task} or {@code subtask}. A row may declare a {@code ref} that later rows of
+ * the same import name as their {@code parent}; a parent that is not a ref of the import is the id of an existing
+ * project (for tasks) or task (for subtasks).
+ */
+public class BulkImportRow {
+    @JsonProperty("type")
+    private String type;
+    @JsonProperty("ref")
+    private String ref;
+    @JsonProperty("parent")
+    private String parent;
+    @JsonProperty("name")
+    private String name;
+    @JsonProperty("description")
+    private String description;
+    @JsonProperty("status")
+    private String status;
+    @JsonProperty("due_date")
+    private String dueDate;
+    @JsonProperty("difficulty")
+    private String difficulty;
+    @JsonProperty("task_type")
+    private String taskType;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public String getParent() {
+        return parent;
+    }
+
+    public void setParent(String parent) {
+        this.parent = parent;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(String dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getTaskType() {
+        return taskType;
+    }
+
+    public void setTaskType(String taskType) {
+        this.taskType = taskType;
+    }
+}
@@ -0,0 +1,60 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Data of a {@code change} event of the change feed. Clients refetch only the entity named here, or the project it
+ * belongs to, instead of polling every project.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventResponse {
+    @JsonProperty("entity_type")
+    private final String entityType;
+    @JsonProperty("entity_id")
+    private final String entityId;
+    @JsonProperty("project_id")
+    private final String projectId;
+    @JsonProperty("change")
+    private final String change;
+    @JsonProperty("version")
+    private final Long version;
+    @JsonProperty("changed_fields")
+    private final List<String> changedFields;
+
+    public ChangeEventResponse(String entityType, String entityId, String projectId, String change, Long version,
+                               List<String> changedFields) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.projectId = projectId;
+        this.change = change;
+        this.version = version;
+        this.changedFields = changedFields;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getChange() {
+        return change;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields;
+    }
+}
@@ -0,0 +1,49 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Number of rows an NDJSON import inserted, per table.
+ */
+public class DataImportResponse {
+    @JsonProperty("projects")
+    private int projects;
+    @JsonProperty("tasks")
+    private int tasks;
+    @JsonProperty("subtasks")
+    private int subtasks;
+    @JsonProperty("journal_entries")
+    private int journalEntries;
+
+    public void addProjects(int count) {
+        projects += count;
+    }
+
+    public void addTasks(int count) {
+        tasks += count;
+    }
+
+    public void addSubtasks(int count) {
+        subtasks += count;
+    }
+
+    public void addJournalEntries(int count) {
+        journalEntries += count;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public int getSubtasks() {
+        return subtasks;
+    }
+
+    public int getJournalEntries() {
+        return journalEntries;
+    }
+}
@@ -13,6 +13,9 @@ public class EditJournalEntryRequest {
     @JsonProperty("entry_body")
     @NotNull
     private String body;
+    // Version the edit started from; the edit is rejected if the entry has changed since. Optional.
+    @JsonProperty("entry_version")
+    private Long version;
 
     public EditJournalEntryRequest() {}
 
@@ -20,6 +23,7 @@ public class EditJournalEntryRequest {
         this.id = builder.id;
         this.date = builder.date;
         this.body = builder.body;
+        this.version = builder.version;
     }
 
     public @NotNull String getId() {
@@ -46,10 +50,19 @@ public class EditJournalEntryRequest {
         this.body = body;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public static class Builder {
         private String id;
         private String date;
         private String body;
+        private Long version;
 
 
         public Builder withId(String id) {
@@ -67,6 +80,11 @@ public class EditJournalEntryRequest {
             return this;
         }
 
+        public Builder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public EditJournalEntryRequest build() {
             return new EditJournalEntryRequest(this);
         }
@@ -0,0 +1,47 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.potatobuddy.godotmanager.repository.projection.JournalDayActivity;
+
+import java.time.LocalDate;
+
+public class JournalDayActivityResponse {
+    @JsonProperty("date")
+    private LocalDate date;
+    @JsonProperty("entries")
+    private long entries;
+    @JsonProperty("words")
+    private long words;
+
+    public JournalDayActivityResponse() {}
+
+    public JournalDayActivityResponse(JournalDayActivity dayActivity) {
+        this.date = dayActivity.getDate();
+        this.entries = dayActivity.getEntries();
+        this.words = dayActivity.getWords();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public void setEntries(long entries) {
+        this.entries = entries;
+    }
+
+    public long getWords() {
+        return words;
+    }
+
+    public void setWords(long words) {
+        this.words = words;
+    }
+}
@@ -0,0 +1,60 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Journaling activity of a year. Only days with entries are listed, in date order.
+ */
+public class JournalHeatmapResponse {
+    @JsonProperty("year")
+    private int year;
+    @JsonProperty("total_entries")
+    private long totalEntries;
+    @JsonProperty("total_words")
+    private long totalWords;
+    @JsonProperty("days")
+    private List<JournalDayActivityResponse> days;
+
+    public JournalHeatmapResponse() {}
+
+    public JournalHeatmapResponse(int year, List<JournalDayActivityResponse> days) {
+        this.year = year;
+        this.totalEntries = days.stream().mapToLong(JournalDayActivityResponse::getEntries).sum();
+        this.totalWords = days.stream().mapToLong(JournalDayActivityResponse::getWords).sum();
+        this.days = days;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public long getTotalEntries() {
+        return totalEntries;
+    }
+
+    public void setTotalEntries(long totalEntries) {
+        this.totalEntries = totalEntries;
+    }
+
+    public long getTotalWords() {
+        return totalWords;
+    }
+
+    public void setTotalWords(long totalWords) {
+        this.totalWords = totalWords;
+    }
+
+    public List<JournalDayActivityResponse> getDays() {
+        return days;
+    }
+
+    public void setDays(List<JournalDayActivityResponse> days) {
+        this.days = days;
+    }
+}
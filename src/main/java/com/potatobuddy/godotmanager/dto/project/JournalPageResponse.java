@@ -0,0 +1,35 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class JournalPageResponse {
+    @JsonProperty("journal_entries")
+    private List<JournalSummaryResponse> journalEntries;
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    public JournalPageResponse() {}
+
+    public JournalPageResponse(List<JournalSummaryResponse> journalEntries, String nextCursor) {
+        this.journalEntries = journalEntries;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<JournalSummaryResponse> getJournalEntries() {
+        return journalEntries;
+    }
+
+    public void setJournalEntries(List<JournalSummaryResponse> journalEntries) {
+        this.journalEntries = journalEntries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
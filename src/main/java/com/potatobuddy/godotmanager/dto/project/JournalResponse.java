@@ -1,5 +1,6 @@
 package com.potatobuddy.godotmanager.dto.project;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
 
@@ -13,6 +14,14 @@ public class JournalResponse {
     @JsonProperty("entry_body")
     @NotNull
     private String body;
+    @JsonProperty("entry_preview")
+    private String preview;
+    @JsonProperty("word_count")
+    private int wordCount;
+    // Absent after an edit that did not name the version it started from
+    @JsonProperty("entry_version")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 
     public JournalResponse() {}
 
@@ -20,6 +29,9 @@ public class JournalResponse {
         this.id = builder.id;
         this.date = builder.date;
         this.body = builder.body;
+        this.preview = builder.preview;
+        this.wordCount = builder.wordCount;
+        this.version = builder.version;
     }
 
     public @NotNull String getId() {
@@ -46,10 +58,37 @@ public class JournalResponse {
         this.body = body;
     }
 
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(int wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public static class Builder {
         private String id;
         private String date;
         private String body;
+        private String preview;
+        private int wordCount;
+        private Long version;
 
 
         public Builder withId(String id) {
@@ -67,6 +106,21 @@ public class JournalResponse {
             return this;
         }
 
+        public Builder withPreview(String preview) {
+            this.preview = preview;
+            return this;
+        }
+
+        public Builder withWordCount(int wordCount) {
+            this.wordCount = wordCount;
+            return this;
+        }
+
+        public Builder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public JournalResponse build() {
             return new JournalResponse(this);
         }
@@ -0,0 +1,59 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.potatobuddy.godotmanager.repository.projection.JournalSummary;
+
+/**
+ * A journal entry in a listing; the body is fetched separately through {@code /journal/{id}}.
+ */
+public class JournalSummaryResponse {
+    @JsonProperty("entry_id")
+    private String id;
+    @JsonProperty("entry_date")
+    private String date;
+    @JsonProperty("entry_preview")
+    private String preview;
+    @JsonProperty("word_count")
+    private int wordCount;
+
+    public JournalSummaryResponse() {}
+
+    public JournalSummaryResponse(JournalSummary journalSummary) {
+        this.id = journalSummary.getId();
+        this.date = journalSummary.getDate().toString();
+        this.preview = journalSummary.getPreview();
+        this.wordCount = journalSummary.getWordCount();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(int wordCount) {
+        this.wordCount = wordCount;
+    }
+}
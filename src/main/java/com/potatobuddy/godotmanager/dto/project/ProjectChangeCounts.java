@@ -0,0 +1,110 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.potatobuddy.godotmanager.service.ProjectChangedEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Number of rows an update actually wrote, per entity and kind of change.
+ */
+public class ProjectChangeCounts {
+    @JsonProperty("project_updated")
+    private boolean projectUpdated;
+    @JsonProperty("tasks_inserted")
+    private int tasksInserted;
+    @JsonProperty("tasks_updated")
+    private int tasksUpdated;
+    @JsonProperty("tasks_deleted")
+    private int tasksDeleted;
+    @JsonProperty("subtasks_inserted")
+    private int subtasksInserted;
+    @JsonProperty("subtasks_updated")
+    private int subtasksUpdated;
+    @JsonProperty("subtasks_deleted")
+    private int subtasksDeleted;
+    @JsonIgnore
+    private final Set<String> changedProjectFields = new LinkedHashSet<>();
+
+    /**
+     * @param field JSON name of the project field that changed
+     */
+    public void markProjectUpdated(String field) {
+        projectUpdated = true;
+        changedProjectFields.add(field);
+    }
+
+    public void incrementTasksInserted() {
+        tasksInserted++;
+    }
+
+    public void incrementTasksUpdated() {
+        tasksUpdated++;
+    }
+
+    public void incrementTasksDeleted() {
+        tasksDeleted++;
+    }
+
+    public void incrementSubtasksInserted() {
+        subtasksInserted++;
+    }
+
+    public void incrementSubtasksUpdated() {
+        subtasksUpdated++;
+    }
+
+    public void incrementSubtasksDeleted() {
+        subtasksDeleted++;
+    }
+
+    public boolean isProjectUpdated() {
+        return projectUpdated;
+    }
+
+    public int getTasksInserted() {
+        return tasksInserted;
+    }
+
+    public int getTasksUpdated() {
+        return tasksUpdated;
+    }
+
+    public int getTasksDeleted() {
+        return tasksDeleted;
+    }
+
+    public int getSubtasksInserted() {
+        return subtasksInserted;
+    }
+
+    public int getSubtasksUpdated() {
+        return subtasksUpdated;
+    }
+
+    public int getSubtasksDeleted() {
+        return subtasksDeleted;
+    }
+
+    /**
+     * JSON names of the changed project fields, followed by {@value ProjectChangedEvent#TASKS_FIELD} if any task or
+     * subtask changed.
+     */
+    @JsonIgnore
+    public List<String> getChangedFields() {
+        List<String> changedFields = new ArrayList<>(changedProjectFields);
+        if (tasksInserted + tasksUpdated + tasksDeleted + subtasksInserted + subtasksUpdated + subtasksDeleted > 0) {
+            changedFields.add(ProjectChangedEvent.TASKS_FIELD);
+        }
+        return changedFields;
+    }
+
+    public boolean hasChanges() {
+        return projectUpdated || tasksInserted + tasksUpdated + tasksDeleted
+            + subtasksInserted + subtasksUpdated + subtasksDeleted > 0;
+    }
+}
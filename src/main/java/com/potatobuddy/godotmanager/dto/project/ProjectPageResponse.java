@@ -0,0 +1,35 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class ProjectPageResponse {
+    @JsonProperty("projects")
+    private List<ProjectResponse> projects;
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    public ProjectPageResponse() {}
+
+    public ProjectPageResponse(List<ProjectResponse> projects, String nextCursor) {
+        this.projects = projects;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ProjectResponse> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(List<ProjectResponse> projects) {
+        this.projects = projects;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.potatobuddy.godotmanager.dto.project;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.potatobuddy.godotmanager.model.Project;
 import com.potatobuddy.godotmanager.model.Task;
@@ -15,6 +16,11 @@ public class ProjectResponse {
     private String description;
     @JsonProperty("project_tasks")
     private List<Task> tasks;
+    @JsonProperty("version")
+    private Long version;
+    @JsonProperty("applied_changes")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ProjectChangeCounts appliedChanges;
 
     public ProjectResponse() {}
 
@@ -23,6 +29,8 @@ public class ProjectResponse {
         this.name = builder.name;
         this.description = builder.description;
         this.tasks = builder.tasks;
+        this.version = builder.version;
+        this.appliedChanges = builder.appliedChanges;
     }
 
     public String getId() {
@@ -57,6 +65,21 @@ public class ProjectResponse {
         this.tasks = tasks;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public ProjectChangeCounts getAppliedChanges() {
+        return appliedChanges;
+    }
+
+    public void setAppliedChanges(ProjectChangeCounts appliedChanges) {
+        this.appliedChanges = appliedChanges;
+    }
 
     public static class Builder{
         private String id;
@@ -64,6 +87,8 @@ public class ProjectResponse {
         private String description;
         private List<Task> tasks;
         private List<Task> backlog;
+        private Long version;
+        private ProjectChangeCounts appliedChanges;
 
         public Builder withId(String id) {
             this.id = id;
@@ -90,6 +115,16 @@ public class ProjectResponse {
             return this;
         }
 
+        public Builder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder withAppliedChanges(ProjectChangeCounts appliedChanges) {
+            this.appliedChanges = appliedChanges;
+            return this;
+        }
+
         public ProjectResponse build() {
             return new ProjectResponse(this);
         }
@@ -0,0 +1,156 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+public class ProjectSummaryResponse {
+    @JsonProperty("project_id")
+    private String id;
+    @JsonProperty("project_name")
+    private String name;
+    @JsonProperty("project_description")
+    private String description;
+    @JsonProperty("task_count")
+    private long taskCount;
+    @JsonProperty("active_task_count")
+    private long activeTaskCount;
+    @JsonProperty("backlog_task_count")
+    private long backlogTaskCount;
+    @JsonProperty("overdue_task_count")
+    private long overdueTaskCount;
+    @JsonProperty("status_counts")
+    private Map<String, Long> statusCounts;
+
+    public ProjectSummaryResponse() {}
+
+    public ProjectSummaryResponse(Builder builder) {
+        this.id = builder.id;
+        this.name = builder.name;
+        this.description = builder.description;
+        this.taskCount = builder.taskCount;
+        this.activeTaskCount = builder.activeTaskCount;
+        this.backlogTaskCount = builder.backlogTaskCount;
+        this.overdueTaskCount = builder.overdueTaskCount;
+        this.statusCounts = builder.statusCounts;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public long getActiveTaskCount() {
+        return activeTaskCount;
+    }
+
+    public void setActiveTaskCount(long activeTaskCount) {
+        this.activeTaskCount = activeTaskCount;
+    }
+
+    public long getBacklogTaskCount() {
+        return backlogTaskCount;
+    }
+
+    public void setBacklogTaskCount(long backlogTaskCount) {
+        this.backlogTaskCount = backlogTaskCount;
+    }
+
+    public long getOverdueTaskCount() {
+        return overdueTaskCount;
+    }
+
+    public void setOverdueTaskCount(long overdueTaskCount) {
+        this.overdueTaskCount = overdueTaskCount;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public static class Builder {
+        private String id;
+        private String name;
+        private String description;
+        private long taskCount;
+        private long activeTaskCount;
+        private long backlogTaskCount;
+        private long overdueTaskCount;
+        private Map<String, Long> statusCounts;
+
+        public Builder withId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withDescription(String description) {
+            this.description = description;
+            return this;
+        }
+
+        public Builder withTaskCount(long taskCount) {
+            this.taskCount = taskCount;
+            return this;
+        }
+
+        public Builder withActiveTaskCount(long activeTaskCount) {
+            this.activeTaskCount = activeTaskCount;
+            return this;
+        }
+
+        public Builder withBacklogTaskCount(long backlogTaskCount) {
+            this.backlogTaskCount = backlogTaskCount;
+            return this;
+        }
+
+        public Builder withOverdueTaskCount(long overdueTaskCount) {
+            this.overdueTaskCount = overdueTaskCount;
+            return this;
+        }
+
+        public Builder withStatusCounts(Map<String, Long> statusCounts) {
+            this.statusCounts = statusCounts;
+            return this;
+        }
+
+        public ProjectSummaryResponse build() {
+            return new ProjectSummaryResponse(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class SearchResponse {
+    @JsonProperty("query")
+    private String query;
+    @JsonProperty("results")
+    private List<SearchResultResponse> results;
+
+    public SearchResponse() {}
+
+    public SearchResponse(String query, List<SearchResultResponse> results) {
+        this.query = query;
+        this.results = results;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<SearchResultResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SearchResultResponse> results) {
+        this.results = results;
+    }
+}
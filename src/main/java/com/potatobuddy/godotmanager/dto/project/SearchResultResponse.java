@@ -0,0 +1,126 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A search hit, best first. {@code title} is the name, or the date of a journal entry; {@code project_id} and
+ * {@code task_id} locate tasks and subtasks within their project.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchResultResponse {
+    @JsonProperty("type")
+    private String type;
+    @JsonProperty("id")
+    private String id;
+    @JsonProperty("project_id")
+    private String projectId;
+    @JsonProperty("task_id")
+    private String taskId;
+    @JsonProperty("title")
+    private String title;
+    @JsonProperty("score")
+    private float score;
+
+    public SearchResultResponse() {}
+
+    public SearchResultResponse(Builder builder) {
+        this.type = builder.type;
+        this.id = builder.id;
+        this.projectId = builder.projectId;
+        this.taskId = builder.taskId;
+        this.title = builder.title;
+        this.score = builder.score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public static class Builder {
+        private String type;
+        private String id;
+        private String projectId;
+        private String taskId;
+        private String title;
+        private float score;
+
+        public Builder withType(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder withId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withProjectId(String projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder withTaskId(String taskId) {
+            this.taskId = taskId;
+            return this;
+        }
+
+        public Builder withTitle(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder withScore(float score) {
+            this.score = score;
+            return this;
+        }
+
+        public SearchResultResponse build() {
+            return new SearchResultResponse(this);
+        }
+    }
+}
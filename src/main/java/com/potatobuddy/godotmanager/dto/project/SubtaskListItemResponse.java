@@ -0,0 +1,139 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+public class SubtaskListItemResponse {
+    @JsonProperty("subtask_id")
+    private String id;
+    @JsonProperty("task_id")
+    private String taskId;
+    @JsonProperty("project_id")
+    private String projectId;
+    @JsonProperty("subtask_name")
+    private String name;
+    @JsonProperty("subtask_status")
+    private String status;
+    @JsonProperty("subtask_due_date")
+    private LocalDate dueDate;
+    @JsonProperty("subtask_difficulty")
+    private String difficulty;
+
+    public SubtaskListItemResponse() {}
+
+    public SubtaskListItemResponse(Builder builder) {
+        this.id = builder.id;
+        this.taskId = builder.taskId;
+        this.projectId = builder.projectId;
+        this.name = builder.name;
+        this.status = builder.status;
+        this.dueDate = builder.dueDate;
+        this.difficulty = builder.difficulty;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public static class Builder {
+        private String id;
+        private String taskId;
+        private String projectId;
+        private String name;
+        private String status;
+        private LocalDate dueDate;
+        private String difficulty;
+
+        public Builder withId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withTaskId(String taskId) {
+            this.taskId = taskId;
+            return this;
+        }
+
+        public Builder withProjectId(String projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withStatus(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder withDueDate(LocalDate dueDate) {
+            this.dueDate = dueDate;
+            return this;
+        }
+
+        public Builder withDifficulty(String difficulty) {
+            this.difficulty = difficulty;
+            return this;
+        }
+
+        public SubtaskListItemResponse build() {
+            return new SubtaskListItemResponse(this);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * An existing project or task name and how many projects or tasks carry it.
+ */
+public class SuggestionResponse {
+    @JsonProperty("name")
+    private String name;
+    @JsonProperty("type")
+    private String type;
+    @JsonProperty("count")
+    private int count;
+
+    public SuggestionResponse() {}
+
+    public SuggestionResponse(String name, String type, int count) {
+        this.name = name;
+        this.type = type;
+        this.count = count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,119 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Everything created, updated or deleted since a sync token, in its current state, and the token to pass next time.
+ * <p>
+ * Projects carry {@code project_tasks} only when their tasks changed in bulk (a full update, a patch or an import);
+ * the list then replaces the client's copy. Otherwise {@code project_tasks} is null and individual task and subtask
+ * changes are listed under {@code tasks} and {@code subtasks}. When {@code full_resync} is set, the changes are not
+ * listed and the client has to reload everything.
+ */
+public class SyncResponse {
+    @JsonProperty("token")
+    private String token;
+    @JsonProperty("full_resync")
+    private boolean fullResync;
+    @JsonProperty("projects")
+    private List<ProjectResponse> projects;
+    @JsonProperty("tasks")
+    private List<SyncTaskResponse> tasks;
+    @JsonProperty("subtasks")
+    private List<SyncSubtaskResponse> subtasks;
+    @JsonProperty("journal_entries")
+    private List<JournalResponse> journalEntries;
+    @JsonProperty("deleted")
+    private List<TombstoneResponse> deleted;
+
+    public SyncResponse() {}
+
+    public SyncResponse(Builder builder) {
+        this.token = builder.token;
+        this.fullResync = builder.fullResync;
+        this.projects = builder.projects;
+        this.tasks = builder.tasks;
+        this.subtasks = builder.subtasks;
+        this.journalEntries = builder.journalEntries;
+        this.deleted = builder.deleted;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    public List<ProjectResponse> getProjects() {
+        return projects;
+    }
+
+    public List<SyncTaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public List<SyncSubtaskResponse> getSubtasks() {
+        return subtasks;
+    }
+
+    public List<JournalResponse> getJournalEntries() {
+        return journalEntries;
+    }
+
+    public List<TombstoneResponse> getDeleted() {
+        return deleted;
+    }
+
+    public static class Builder {
+        private String token;
+        private boolean fullResync;
+        private List<ProjectResponse> projects = List.of();
+        private List<SyncTaskResponse> tasks = List.of();
+        private List<SyncSubtaskResponse> subtasks = List.of();
+        private List<JournalResponse> journalEntries = List.of();
+        private List<TombstoneResponse> deleted = List.of();
+
+        public Builder withToken(String token) {
+            this.token = token;
+            return this;
+        }
+
+        public Builder withFullResync(boolean fullResync) {
+            this.fullResync = fullResync;
+            return this;
+        }
+
+        public Builder withProjects(List<ProjectResponse> projects) {
+            this.projects = projects;
+            return this;
+        }
+
+        public Builder withTasks(List<SyncTaskResponse> tasks) {
+            this.tasks = tasks;
+            return this;
+        }
+
+        public Builder withSubtasks(List<SyncSubtaskResponse> subtasks) {
+            this.subtasks = subtasks;
+            return this;
+        }
+
+        public Builder withJournalEntries(List<JournalResponse> journalEntries) {
+            this.journalEntries = journalEntries;
+            return this;
+        }
+
+        public Builder withDeleted(List<TombstoneResponse> deleted) {
+            this.deleted = deleted;
+            return this;
+        }
+
+        public SyncResponse build() {
+            return new SyncResponse(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.potatobuddy.godotmanager.model.Subtask;
+
+/**
+ * A created or updated subtask in a sync response, plus the task and project it belongs to.
+ */
+public class SyncSubtaskResponse {
+    @JsonProperty("project_id")
+    private final String projectId;
+    @JsonProperty("task_id")
+    private final String taskId;
+    @JsonUnwrapped
+    private final Subtask subtask;
+
+    public SyncSubtaskResponse(String projectId, String taskId, Subtask subtask) {
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.subtask = subtask;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public Subtask getSubtask() {
+        return subtask;
+    }
+}
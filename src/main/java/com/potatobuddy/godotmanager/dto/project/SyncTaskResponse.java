@@ -0,0 +1,28 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.potatobuddy.godotmanager.model.Task;
+
+/**
+ * A created or updated task in a sync response: the task with its subtasks, plus the project it belongs to.
+ */
+public class SyncTaskResponse {
+    @JsonProperty("project_id")
+    private final String projectId;
+    @JsonUnwrapped
+    private final Task task;
+
+    public SyncTaskResponse(String projectId, Task task) {
+        this.projectId = projectId;
+        this.task = task;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
@@ -0,0 +1,139 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+public class TaskListItemResponse {
+    @JsonProperty("task_id")
+    private String id;
+    @JsonProperty("project_id")
+    private String projectId;
+    @JsonProperty("task_name")
+    private String name;
+    @JsonProperty("task_status")
+    private String status;
+    @JsonProperty("task_due_date")
+    private LocalDate dueDate;
+    @JsonProperty("task_difficulty")
+    private String difficulty;
+    @JsonProperty("task_type")
+    private String taskType;
+
+    public TaskListItemResponse() {}
+
+    public TaskListItemResponse(Builder builder) {
+        this.id = builder.id;
+        this.projectId = builder.projectId;
+        this.name = builder.name;
+        this.status = builder.status;
+        this.dueDate = builder.dueDate;
+        this.difficulty = builder.difficulty;
+        this.taskType = builder.taskType;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getTaskType() {
+        return taskType;
+    }
+
+    public void setTaskType(String taskType) {
+        this.taskType = taskType;
+    }
+
+    public static class Builder {
+        private String id;
+        private String projectId;
+        private String name;
+        private String status;
+        private LocalDate dueDate;
+        private String difficulty;
+        private String taskType;
+
+        public Builder withId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withProjectId(String projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withStatus(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder withDueDate(LocalDate dueDate) {
+            this.dueDate = dueDate;
+            return this;
+        }
+
+        public Builder withDifficulty(String difficulty) {
+            this.difficulty = difficulty;
+            return this;
+        }
+
+        public Builder withTaskType(String taskType) {
+            this.taskType = taskType;
+            return this;
+        }
+
+        public TaskListItemResponse build() {
+            return new TaskListItemResponse(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class TaskPageResponse {
+    @JsonProperty("tasks")
+    private List<TaskListItemResponse> tasks;
+    @JsonProperty("page")
+    private int page;
+    @JsonProperty("size")
+    private int size;
+    @JsonProperty("total_elements")
+    private long totalElements;
+    @JsonProperty("has_more")
+    private boolean hasMore;
+
+    public TaskPageResponse() {}
+
+    public TaskPageResponse(List<TaskListItemResponse> tasks, int page, int size, long totalElements, boolean hasMore) {
+        this.tasks = tasks;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskListItemResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskListItemResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,36 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * An entity deleted since the sync token. Deleting a project also deletes its tasks and subtasks, which get no
+ * tombstones of their own.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TombstoneResponse {
+    @JsonProperty("entity_type")
+    private final String entityType;
+    @JsonProperty("entity_id")
+    private final String entityId;
+    @JsonProperty("project_id")
+    private final String projectId;
+
+    public TombstoneResponse(String entityType, String entityId, String projectId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.projectId = projectId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+}
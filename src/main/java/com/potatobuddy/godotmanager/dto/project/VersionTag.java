@@ -0,0 +1,32 @@
+package com.potatobuddy.godotmanager.dto.project;
+
+import java.time.Instant;
+
+/**
+ * Validators of a resource for conditional requests: its entity tag and, if known, its last modification time.
+ */
+public class VersionTag {
+
+    private final String eTag;
+    private final Instant lastModified;
+
+    public VersionTag(String eTag, Instant lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the last modification time in epoch milliseconds, or -1 if it is unknown
+     */
+    public long getLastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+}
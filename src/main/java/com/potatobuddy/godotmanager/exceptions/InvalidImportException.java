@@ -0,0 +1,8 @@
+package com.potatobuddy.godotmanager.exceptions;
+
+public class InvalidImportException extends RuntimeException {
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
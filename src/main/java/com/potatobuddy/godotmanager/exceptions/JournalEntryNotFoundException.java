@@ -0,0 +1,8 @@
+package com.potatobuddy.godotmanager.exceptions;
+
+public class JournalEntryNotFoundException extends InvalidJournalEntryException {
+
+    public JournalEntryNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.potatobuddy.godotmanager.exceptions;
+
+public class PatchConflictException extends RuntimeException {
+
+    public PatchConflictException(String message) {
+        super(message);
+    }
+}
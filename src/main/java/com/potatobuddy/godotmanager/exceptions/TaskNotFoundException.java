@@ -0,0 +1,8 @@
+package com.potatobuddy.godotmanager.exceptions;
+
+public class TaskNotFoundException extends RuntimeException {
+
+    public TaskNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.potatobuddy.godotmanager.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores texts of at least {@link Constants#JOURNAL_COMPRESSION_THRESHOLD} characters deflated, as {@link #MARKER}
+ * followed by the base64 of the deflated UTF-8 bytes, so they still fit a text column. Shorter texts, and texts that
+ * would not get shorter, are stored unchanged; a stored value without the marker is always plain text. Texts that
+ * happen to start with the marker themselves are always compressed, so reading them back is never ambiguous.
+ * <p>
+ * Code reading the column through JDBC must pass values through {@link #decode(String)}. Bytes saved and time spent
+ * are counted for the {@code journal.body.compression} metrics.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    public static final String MARKER = "\u0001deflate:";
+
+    private static final LongAdder COMPRESSED_INPUT_BYTES = new LongAdder();
+    private static final LongAdder COMPRESSED_OUTPUT_BYTES = new LongAdder();
+    private static final LongAdder COMPRESS_COUNT = new LongAdder();
+    private static final LongAdder COMPRESS_NANOS = new LongAdder();
+    private static final LongAdder DECOMPRESS_COUNT = new LongAdder();
+    private static final LongAdder DECOMPRESS_NANOS = new LongAdder();
+
+    @Override
+    public String convertToDatabaseColumn(String text) {
+        return encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        return decode(stored);
+    }
+
+    public static String encode(String text) {
+        boolean hasMarker = text != null && text.startsWith(MARKER);
+        if (text == null || (text.length() < Constants.JOURNAL_COMPRESSION_THRESHOLD && !hasMarker)) {
+            return text;
+        }
+
+        long start = System.nanoTime();
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(raw.length / 2);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(deflated)) {
+            deflater.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String encoded = MARKER + Base64.getEncoder().encodeToString(deflated.toByteArray());
+        COMPRESS_COUNT.increment();
+        COMPRESS_NANOS.add(System.nanoTime() - start);
+
+        // Base64 and the marker are ASCII, so the encoded length is its size in bytes
+        if (encoded.length() >= raw.length && !hasMarker) {
+            return text;
+        }
+        COMPRESSED_INPUT_BYTES.add(raw.length);
+        COMPRESSED_OUTPUT_BYTES.add(encoded.length());
+        return encoded;
+    }
+
+    public static String decode(String stored) {
+        if (stored == null || !stored.startsWith(MARKER)) {
+            return stored;
+        }
+
+        long start = System.nanoTime();
+        try (InflaterInputStream inflater = new InflaterInputStream(
+                new ByteArrayInputStream(Base64.getDecoder().decode(stored.substring(MARKER.length()))))) {
+            return new String(inflater.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Stored text is marked as compressed but cannot be decompressed", e);
+        } finally {
+            DECOMPRESS_COUNT.increment();
+            DECOMPRESS_NANOS.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * UTF-8 size of the texts stored compressed since startup.
+     */
+    public static long getCompressedInputBytes() {
+        return COMPRESSED_INPUT_BYTES.sum();
+    }
+
+    /**
+     * Size those texts were stored with.
+     */
+    public static long getCompressedOutputBytes() {
+        return COMPRESSED_OUTPUT_BYTES.sum();
+    }
+
+    public static long getCompressCount() {
+        return COMPRESS_COUNT.sum();
+    }
+
+    public static long getCompressNanos() {
+        return COMPRESS_NANOS.sum();
+    }
+
+    public static long getDecompressCount() {
+        return DECOMPRESS_COUNT.sum();
+    }
+
+    public static long getDecompressNanos() {
+        return DECOMPRESS_NANOS.sum();
+    }
+}
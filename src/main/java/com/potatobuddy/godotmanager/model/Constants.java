@@ -3,4 +3,44 @@ package com.potatobuddy.godotmanager.model;
 public class Constants {
     public static final String TASK_TYPE_ACTIVE = "active";
     public static final String TASK_TYPE_BACKLOG = "backlog";
+
+    public static final String TASK_STATUS_FINISHED = "Finished";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Rows fetched per round trip by streaming queries, and projects mapped per chunk while streaming
+    public static final int STREAM_FETCH_SIZE = 100;
+
+    // Rows fetched per round trip by the NDJSON export, and rows sent per JDBC batch by the import
+    public static final int EXPORT_FETCH_SIZE = 1000;
+    public static final int IMPORT_BATCH_SIZE = 500;
+
+    // Largest number of rows a bulk import may write in one transaction
+    public static final int MAX_BULK_IMPORT_CHUNK_SIZE = 10000;
+
+    // Change events buffered per change feed subscriber before it is told to resync, and lifetime of a subscription
+    public static final int CHANGE_FEED_BUFFER_SIZE = 256;
+    public static final long CHANGE_FEED_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    // Largest number of change log rows a sync returns; clients further behind reload everything instead
+    public static final int MAX_SYNC_CHANGES = 10000;
+
+    // Days covered by the agenda, today included: one week by default, at most a month
+    public static final int DEFAULT_AGENDA_DAYS = 7;
+    public static final int MAX_AGENDA_DAYS = 31;
+
+    // Name suggestions returned by the autocomplete
+    public static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
+    // Longest span of journal entries returned by one date range query; anything longer is read page by page
+    public static final int MAX_JOURNAL_RANGE_DAYS = 366;
+
+    // Characters of a journal body kept as its preview for listings (stored in a VARCHAR(255) with the ellipsis)
+    public static final int JOURNAL_PREVIEW_LENGTH = 200;
+
+    // Journal bodies of at least this many characters are stored compressed; shorter ones rarely shrink enough to pay
+    // for base64 and the time spent
+    public static final int JOURNAL_COMPRESSION_THRESHOLD = 2048;
 }
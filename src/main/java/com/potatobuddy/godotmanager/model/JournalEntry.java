@@ -1,9 +1,11 @@
 package com.potatobuddy.godotmanager.model;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import java.time.LocalDate;
 
@@ -16,8 +18,20 @@ public class JournalEntry {
     private String id;
     @Column(name = "date")
     private LocalDate date;
+    // Listings read the preview instead, so bodies are only decompressed when an entry is read in full
     @Column(name = "body", columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String body;
+    // Derived from the body whenever it is written, see JournalPreview
+    @Column(name = "preview")
+    private String preview;
+    @Column(name = "word_count")
+    private int wordCount;
+    // Incremented by every edit; also tells Spring Data that an entry without a version is new, so saving it inserts
+    // without looking the id up first
+    @Version
+    @Column(name = "version")
+    private Long version;
 
     public JournalEntry() {}
 
@@ -25,6 +39,8 @@ public class JournalEntry {
         this.id = builder.id;
         this.date = builder.date;
         this.body = builder.body;
+        this.preview = builder.preview;
+        this.wordCount = builder.wordCount;
     }
 
     public String getId() {
@@ -51,10 +67,36 @@ public class JournalEntry {
         this.body = body;
     }
 
+    public String getPreview() {
+        return preview;
+    }
+
+    public void setPreview(String preview) {
+        this.preview = preview;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(int wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public static class Builder{
         private String id;
         private LocalDate date;
         private String body;
+        private String preview;
+        private int wordCount;
 
         public Builder withId(String id) {
             this.id = id;
@@ -71,6 +113,16 @@ public class JournalEntry {
             return this;
         }
 
+        public Builder withPreview(String preview) {
+            this.preview = preview;
+            return this;
+        }
+
+        public Builder withWordCount(int wordCount) {
+            this.wordCount = wordCount;
+            return this;
+        }
+
         public JournalEntry build() {
             return new JournalEntry(this);
         }
@@ -3,15 +3,21 @@ package com.potatobuddy.godotmanager.model;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
 @Table(name = "projects")
+@NamedEntityGraph(name = Project.GRAPH_TASKS, attributeNodes = @NamedAttributeNode("tasks"))
 public class Project {
 
+    /** Fetch plan loading a project together with its tasks in a single join. */
+    public static final String GRAPH_TASKS = "Project.withTasks";
+
     @Id
     @Column(name = "project_id")
     @JsonProperty("project_id")
@@ -22,10 +28,17 @@ public class Project {
     @Column(name = "description")
     @JsonProperty("project_description")
     private String description;
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = Constants.MAX_PAGE_SIZE)
     @JsonManagedReference
     @JsonProperty("project_tasks")
     private List<Task> tasks;
+    // Incremented whenever the project or one of its tasks or subtasks changes; the project's ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
+    @Column(name = "last_modified")
+    private Instant lastModified;
 
     public Project() {}
 
@@ -46,6 +59,21 @@ public class Project {
         task.setProject(null);
     }
 
+    /**
+     * Marks the project as modified. This dirties the project row, so the flush also increments its version, even
+     * when only tasks or subtasks changed.
+     */
+    public void touch(Instant now) {
+        this.lastModified = now;
+    }
+
+    @PrePersist
+    void initLastModified() {
+        if (lastModified == null) {
+            lastModified = Instant.now();
+        }
+    }
+
     public String getId() {
         return id;
     }
@@ -74,6 +102,14 @@ public class Project {
         return tasks;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     public void setTasks(List<Task> tasks) {
         this.tasks = tasks;
     }
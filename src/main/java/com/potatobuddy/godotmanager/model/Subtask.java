@@ -1,15 +1,20 @@
 package com.potatobuddy.godotmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Table(name = "subtasks")
-public class Subtask {
+public class Subtask implements Persistable<String> {
 
     @Id
     @Column(name = "subtask_id")
@@ -25,11 +30,15 @@ public class Subtask {
     @Column(name = "subtask_difficulty")
     private String difficulty;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
     @JsonBackReference
     private Task task;
 
+    // Ids are assigned by the application, so Spring Data cannot tell new entities apart by a null id
+    @Transient
+    private boolean isNew = true;
+
     public Subtask() {}
 
     public Subtask(Builder builder) {
@@ -50,10 +59,54 @@ public class Subtask {
         return task;
     }
 
+    /**
+     * Copies the scalar fields of {@code source} onto this subtask, touching only the fields whose value differs. Id
+     * and task are not copied.
+     *
+     * @return the names of the fields that changed
+     */
+    public List<String> mergeFields(Subtask source) {
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(name, source.name)) {
+            name = source.name;
+            changedFields.add("name");
+        }
+        if (!Objects.equals(description, source.description)) {
+            description = source.description;
+            changedFields.add("description");
+        }
+        if (!Objects.equals(status, source.status)) {
+            status = source.status;
+            changedFields.add("status");
+        }
+        if (!Objects.equals(dueDate, source.dueDate)) {
+            dueDate = source.dueDate;
+            changedFields.add("dueDate");
+        }
+        if (!Objects.equals(difficulty, source.difficulty)) {
+            difficulty = source.difficulty;
+            changedFields.add("difficulty");
+        }
+        return changedFields;
+    }
+
+    @Override
     public String getId() {
         return id;
     }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public void setId(String id) {
         this.id = id;
     }
@@ -1,9 +1,13 @@
 package com.potatobuddy.godotmanager.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -13,7 +17,11 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "tasks")
-public class Task {
+@NamedEntityGraph(name = Task.GRAPH_SUBTASKS, attributeNodes = @NamedAttributeNode("subtasks"))
+public class Task implements Persistable<String> {
+
+    /** Fetch plan loading a task together with its subtasks in a single join. */
+    public static final String GRAPH_SUBTASKS = "Task.withSubtasks";
 
     @Id
     @Column(name = "task_id")
@@ -31,14 +39,19 @@ public class Task {
     @Column(name= "task_type")
     @JsonProperty("task_type")
     private String taskType;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     @JsonBackReference
     private Project project;
-    @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JsonManagedReference
     private List<Subtask> subtasks;
 
+    // Ids are assigned by the application, so Spring Data cannot tell new entities apart by a null id
+    @Transient
+    private boolean isNew = true;
+
     public Task() {}
 
     public Task(Builder builder) {
@@ -70,6 +83,41 @@ public class Task {
         subtasks.remove(subtask);
     }
 
+    /**
+     * Copies the scalar fields of {@code source} onto this task, touching only the fields whose value differs so that
+     * an unchanged task stays clean for Hibernate's dirty checking. Id, project and subtasks are not copied.
+     *
+     * @return the names of the fields that changed
+     */
+    public List<String> mergeFields(Task source) {
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(name, source.name)) {
+            name = source.name;
+            changedFields.add("name");
+        }
+        if (!Objects.equals(description, source.description)) {
+            description = source.description;
+            changedFields.add("description");
+        }
+        if (!Objects.equals(status, source.status)) {
+            status = source.status;
+            changedFields.add("status");
+        }
+        if (!Objects.equals(dueDate, source.dueDate)) {
+            dueDate = source.dueDate;
+            changedFields.add("dueDate");
+        }
+        if (!Objects.equals(difficulty, source.difficulty)) {
+            difficulty = source.difficulty;
+            changedFields.add("difficulty");
+        }
+        if (!Objects.equals(taskType, source.taskType)) {
+            taskType = source.taskType;
+            changedFields.add("taskType");
+        }
+        return changedFields;
+    }
+
     public String getTaskType() {
         return taskType;
     }
@@ -78,10 +126,23 @@ public class Task {
         this.taskType = taskType;
     }
 
+    @Override
     public String getId() {
         return id;
     }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public void setId(String id) {
         this.id = id;
     }
@@ -1,7 +1,96 @@
 package com.potatobuddy.godotmanager.repository;
 
+import com.potatobuddy.godotmanager.model.Constants;
 import com.potatobuddy.godotmanager.model.JournalEntry;
+import com.potatobuddy.godotmanager.repository.projection.JournalDayActivity;
+import com.potatobuddy.godotmanager.repository.projection.JournalSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface JournalEntryRepository extends JpaRepository<JournalEntry, String> {
+
+    /**
+     * All entries as a stream over an open cursor, read {@link Constants#STREAM_FETCH_SIZE} rows at a time. Must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select j from JournalEntry j order by j.date, j.id")
+    Stream<JournalEntry> streamAll();
+
+    /**
+     * First page of the keyset listing, newest first; entries of the same date are ordered by id. Like all listings,
+     * it reads the stored preview rather than the body.
+     */
+    List<JournalSummary> findAllByOrderByDateDescIdDesc(Limit limit);
+
+    /**
+     * Subsequent pages of the keyset listing, starting strictly after the date and id of the last entry of the
+     * previous page.
+     */
+    @Query("""
+        select j.id as id, j.date as date, j.preview as preview, j.wordCount as wordCount
+        from JournalEntry j
+        where j.date < :date or (j.date = :date and j.id < :id)
+        order by j.date desc, j.id desc""")
+    List<JournalSummary> findPageAfter(LocalDate date, String id, Limit limit);
+
+    /**
+     * Entries and words per day from {@code from} through {@code to}, in date order; days without entries are left
+     * out.
+     */
+    @Query("""
+        select j.date as date, count(j) as entries, sum(j.wordCount) as words
+        from JournalEntry j
+        where j.date between :from and :to
+        group by j.date
+        order by j.date""")
+    List<JournalDayActivity> findDayActivity(LocalDate from, LocalDate to);
+
+    /**
+     * Current version of an entry, read without loading the entry.
+     */
+    @Query("select j.version from JournalEntry j where j.id = :id")
+    Optional<Long> findVersionById(String id);
+
+    /**
+     * Overwrites an entry in a single statement, without reading it first.
+     *
+     * @return the number of rows updated, 0 if there is no entry with this id
+     */
+    @Modifying
+    @Query("""
+        update JournalEntry j
+        set j.date = :date, j.body = :body, j.preview = :preview, j.wordCount = :wordCount, j.version = j.version + 1
+        where j.id = :id""")
+    int update(String id, LocalDate date, String body, String preview, int wordCount);
+
+    /**
+     * Like {@link #update}, but only while the entry is still at {@code version}.
+     *
+     * @return the number of rows updated, 0 if there is no entry with this id or its version has moved on
+     */
+    @Modifying
+    @Query("""
+        update JournalEntry j
+        set j.date = :date, j.body = :body, j.preview = :preview, j.wordCount = :wordCount, j.version = j.version + 1
+        where j.id = :id and j.version = :version""")
+    int updateIfVersion(String id, long version, LocalDate date, String body, String preview, int wordCount);
+
+    /**
+     * Entries dated from {@code from} through {@code to}, newest first.
+     */
+    List<JournalSummary> findByDateBetweenOrderByDateDescIdDesc(LocalDate from, LocalDate to);
 }
@@ -1,7 +1,124 @@
 package com.potatobuddy.godotmanager.repository;
 
+import com.potatobuddy.godotmanager.model.Constants;
 import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.repository.projection.ProjectTaskCounts;
+import com.potatobuddy.godotmanager.repository.projection.ProjectVersion;
+import com.potatobuddy.godotmanager.repository.projection.TaskStatusCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Project collections are lazy; each query picks its own fetch plan:
+ * <ul>
+ *     <li>Full aggregate ({@link #findById}, {@link #findAll}): tasks are joined through the
+ *     {@link Project#GRAPH_TASKS} graph and all subtasks of the loaded tasks follow in one subselect.</li>
+ *     <li>Pages ({@link #findAllByOrderByIdAsc}, {@link #findByIdGreaterThanOrderByIdAsc}): the row limit is applied
+ *     to projects only, tasks of the whole page are batch-loaded by project id on first access.</li>
+ *     <li>Streaming ({@link #streamAll}): projects only, tasks are batch-loaded per chunk of the stream.</li>
+ *     <li>Summaries ({@link #findProjectTaskCounts}, {@link #findTaskStatusCounts}): aggregate projections, no
+ *     entities are loaded.</li>
+ *     <li>Versions ({@link #findVersionById}, {@link #findVersionsByIdIn}, {@link #findAllVersions}): only the
+ *     version columns, for conditional requests and change events.</li>
+ * </ul>
+ */
 public interface ProjectRepository extends JpaRepository<Project, String> {
+
+    // Declared as a query rather than the default EntityManager#find so the subtask subselect applies to its tasks
+    @Override
+    @EntityGraph(Project.GRAPH_TASKS)
+    @Query("select p from Project p where p.id = :id")
+    Optional<Project> findById(String id);
+
+    @Override
+    @EntityGraph(Project.GRAPH_TASKS)
+    List<Project> findAll();
+
+    /**
+     * Project rows only, for changes that do not involve the tasks.
+     */
+    List<Project> findByIdIn(Collection<String> ids);
+
+    /**
+     * Projects with their tasks joined through the {@link Project#GRAPH_TASKS} graph.
+     */
+    @EntityGraph(Project.GRAPH_TASKS)
+    @Query("select p from Project p where p.id in :ids")
+    List<Project> findWithTasksByIdIn(Collection<String> ids);
+
+    /**
+     * First page of the keyset listing, ordered by the (unique) project id.
+     */
+    List<Project> findAllByOrderByIdAsc(Limit limit);
+
+    /**
+     * Subsequent pages of the keyset listing, starting strictly after the last id of the previous page.
+     */
+    List<Project> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    /**
+     * All projects as a stream over an open cursor, read {@link Constants#STREAM_FETCH_SIZE} rows at a time; tasks are
+     * batch-loaded per chunk by the caller. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Constants.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Project p order by p.id")
+    Stream<Project> streamAll();
+
+    /**
+     * One row per project with its task counts. A task is overdue when its due date is before {@code today} and its
+     * status is not {@code finishedStatus}.
+     */
+    @Query("""
+        select p.id as id, p.name as name, p.description as description,
+            count(t) as taskCount,
+            coalesce(sum(case when t.taskType = :activeType then 1 else 0 end), 0) as activeTaskCount,
+            coalesce(sum(case when t.taskType = :backlogType then 1 else 0 end), 0) as backlogTaskCount,
+            coalesce(sum(case when t.dueDate < :today and (t.status is null or t.status <> :finishedStatus)
+                then 1 else 0 end), 0) as overdueTaskCount
+        from Project p left join p.tasks t
+        group by p.id, p.name, p.description
+        order by p.id
+        """)
+    List<ProjectTaskCounts> findProjectTaskCounts(String activeType, String backlogType, String finishedStatus,
+                                                  LocalDate today);
+
+    @Query("""
+        select t.project.id as projectId, t.status as status, count(t) as taskCount
+        from Task t
+        where t.status is not null
+        group by t.project.id, t.status
+        """)
+    List<TaskStatusCount> findTaskStatusCounts();
+
+    @Query("select p.id as id, p.version as version, p.lastModified as lastModified from Project p where p.id = :id")
+    Optional<ProjectVersion> findVersionById(String id);
+
+    @Query("select p.id as id, p.version as version, p.lastModified as lastModified from Project p where p.id in :ids")
+    List<ProjectVersion> findVersionsByIdIn(Collection<String> ids);
+
+    @Query("select p.id as id, p.version as version, p.lastModified as lastModified from Project p order by p.id")
+    List<ProjectVersion> findAllVersions();
+
+    /**
+     * Bumps the version of a project whose tasks or subtasks were changed without loading the project itself.
+     */
+    @Modifying
+    @Query("update Project p set p.version = p.version + 1, p.lastModified = :now where p.id = :id")
+    int touch(String id, Instant now);
 }
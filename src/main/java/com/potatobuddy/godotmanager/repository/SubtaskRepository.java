@@ -0,0 +1,39 @@
+package com.potatobuddy.godotmanager.repository;
+
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.repository.projection.AgendaSubtask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SubtaskRepository extends JpaRepository<Subtask, String>, JpaSpecificationExecutor<Subtask> {
+
+    /**
+     * Loads a single subtask, checking in the same query that it belongs to the given task and project.
+     */
+    Optional<Subtask> findByIdAndTaskIdAndTaskProjectId(String id, String taskId, String projectId);
+
+    /**
+     * Those of the given ids that are already taken by a subtask, answered from the primary key index.
+     */
+    @Query("select s.id from Subtask s where s.id in :ids")
+    List<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * Unfinished subtasks due on or before {@code through}, overdue ones included, as a range scan of the due date
+     * index.
+     */
+    @Query("""
+        select s.id as id, t.id as taskId, p.id as projectId, p.name as projectName, s.name as name,
+            s.status as status, s.dueDate as dueDate, s.difficulty as difficulty
+        from Subtask s join s.task t join t.project p
+        where s.dueDate <= :through and (s.status is null or s.status <> :finishedStatus)
+        order by s.dueDate, s.id
+        """)
+    List<AgendaSubtask> findAgendaSubtasks(LocalDate through, String finishedStatus);
+}
@@ -0,0 +1,45 @@
+package com.potatobuddy.godotmanager.repository;
+
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.projection.AgendaTask;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task> {
+
+    /**
+     * Loads a single task of a project together with its subtasks, without touching the project or its other tasks.
+     */
+    @EntityGraph(Task.GRAPH_SUBTASKS)
+    Optional<Task> findByIdAndProjectId(String id, String projectId);
+
+    boolean existsByIdAndProjectId(String id, String projectId);
+
+    @Query("select t.project.id from Task t where t.id = :id")
+    Optional<String> findProjectIdById(String id);
+
+    /**
+     * Those of the given ids that are already taken by a task, answered from the primary key index.
+     */
+    @Query("select t.id from Task t where t.id in :ids")
+    List<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * Unfinished tasks due on or before {@code through}, overdue ones included, as a range scan of the due date index.
+     */
+    @Query("""
+        select t.id as id, p.id as projectId, p.name as projectName, t.name as name, t.status as status,
+            t.dueDate as dueDate, t.difficulty as difficulty
+        from Task t join t.project p
+        where t.dueDate <= :through and (t.status is null or t.status <> :finishedStatus)
+        order by t.dueDate, t.id
+        """)
+    List<AgendaTask> findAgendaTasks(LocalDate through, String finishedStatus);
+}
@@ -0,0 +1,103 @@
+package com.potatobuddy.godotmanager.repository;
+
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Filters for the task and subtask queries. Each filter is a plain column predicate, so the database can answer it from
+ * the indexes on status, due date, task type and project id; null or empty arguments match everything.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    /**--------------------------------------------- Tasks -----------------------------------------------------------*/
+
+    public static Specification<Task> taskInProject(String projectId) {
+        return (root, query, builder) -> projectId == null ? null
+            : builder.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Task> taskStatusIn(Collection<String> statuses) {
+        return (root, query, builder) -> isEmpty(statuses) ? null : root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> taskDifficultyIn(Collection<String> difficulties) {
+        return (root, query, builder) -> isEmpty(difficulties) ? null : root.get("difficulty").in(difficulties);
+    }
+
+    public static Specification<Task> taskTypeIs(String taskType) {
+        return (root, query, builder) -> taskType == null ? null : builder.equal(root.get("taskType"), taskType);
+    }
+
+    public static Specification<Task> taskDueBetween(LocalDate from, LocalDate to) {
+        return (root, query, builder) -> dueBetween(root, builder, from, to);
+    }
+
+    /**--------------------------------------------- Subtasks --------------------------------------------------------*/
+
+    /**
+     * Fetches the parent task with the result rows, so that task and project ids are read without further queries.
+     * Must come before {@link #subtaskInProject}, which then filters on the same join. Count queries cannot fetch.
+     */
+    public static Specification<Subtask> subtaskWithTask() {
+        return (root, query, builder) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("task");
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Subtask> subtaskInProject(String projectId) {
+        return (root, query, builder) -> projectId == null ? null
+            : builder.equal(taskJoin(root).get("project").get("id"), projectId);
+    }
+
+    public static Specification<Subtask> subtaskStatusIn(Collection<String> statuses) {
+        return (root, query, builder) -> isEmpty(statuses) ? null : root.get("status").in(statuses);
+    }
+
+    public static Specification<Subtask> subtaskDifficultyIn(Collection<String> difficulties) {
+        return (root, query, builder) -> isEmpty(difficulties) ? null : root.get("difficulty").in(difficulties);
+    }
+
+    public static Specification<Subtask> subtaskDueBetween(LocalDate from, LocalDate to) {
+        return (root, query, builder) -> dueBetween(root, builder, from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Join<Subtask, Task> taskJoin(Root<Subtask> root) {
+        for (Fetch<Subtask, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("task")) {
+                return (Join<Subtask, Task>) fetch;
+            }
+        }
+        return root.join("task");
+    }
+
+    private static Predicate dueBetween(From<?, ?> root, CriteriaBuilder builder, LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            return builder.between(root.get("dueDate"), from, to);
+        } else if (from != null) {
+            return builder.greaterThanOrEqualTo(root.get("dueDate"), from);
+        } else if (to != null) {
+            return builder.lessThanOrEqualTo(root.get("dueDate"), to);
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(Collection<String> values) {
+        return values == null || values.isEmpty();
+    }
+}
@@ -0,0 +1,24 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * An open subtask as listed in the agenda, with the ids of its task and project and the name of its project.
+ */
+public interface AgendaSubtask {
+    String getId();
+
+    String getTaskId();
+
+    String getProjectId();
+
+    String getProjectName();
+
+    String getName();
+
+    String getStatus();
+
+    LocalDate getDueDate();
+
+    String getDifficulty();
+}
@@ -0,0 +1,22 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * An open task as listed in the agenda, with the name of its project.
+ */
+public interface AgendaTask {
+    String getId();
+
+    String getProjectId();
+
+    String getProjectName();
+
+    String getName();
+
+    String getStatus();
+
+    LocalDate getDueDate();
+
+    String getDifficulty();
+}
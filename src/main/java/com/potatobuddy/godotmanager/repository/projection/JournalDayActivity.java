@@ -0,0 +1,14 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of journal entries written for a day and the words in them.
+ */
+public interface JournalDayActivity {
+    LocalDate getDate();
+
+    long getEntries();
+
+    long getWords();
+}
@@ -0,0 +1,16 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A journal entry as listed, with its stored preview and word count instead of its body.
+ */
+public interface JournalSummary {
+    String getId();
+
+    LocalDate getDate();
+
+    String getPreview();
+
+    int getWordCount();
+}
@@ -0,0 +1,20 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+/**
+ * Per-project task counts computed by an aggregate query, without loading any {@code Task} rows.
+ */
+public interface ProjectTaskCounts {
+    String getId();
+
+    String getName();
+
+    String getDescription();
+
+    Long getTaskCount();
+
+    Long getActiveTaskCount();
+
+    Long getBacklogTaskCount();
+
+    Long getOverdueTaskCount();
+}
@@ -0,0 +1,15 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Version columns of a project row, read to answer conditional requests without loading the project.
+ */
+public interface ProjectVersion {
+
+    String getId();
+
+    Long getVersion();
+
+    Instant getLastModified();
+}
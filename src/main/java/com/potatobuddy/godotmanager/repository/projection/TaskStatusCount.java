@@ -0,0 +1,12 @@
+package com.potatobuddy.godotmanager.repository.projection;
+
+/**
+ * Number of tasks of a project with a given status.
+ */
+public interface TaskStatusCount {
+    String getProjectId();
+
+    String getStatus();
+
+    Long getTaskCount();
+}
@@ -0,0 +1,127 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.config.CacheConfig;
+import com.potatobuddy.godotmanager.dto.project.AgendaItemResponse;
+import com.potatobuddy.godotmanager.dto.project.AgendaResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open tasks and subtasks due today or within the next days, and those overdue, across all projects. Each list is one
+ * range scan over the due date index returning only the listed columns.
+ * <p>
+ * Agendas are cached by date and length, so an entry is no longer used once the day changes. Any committed project
+ * write moves on to new keys and clears the cache, since it may move work into or out of any agenda.
+ */
+@Service
+public class AgendaService {
+
+    private final TaskRepository taskRepository;
+    private final SubtaskRepository subtaskRepository;
+    private final CacheManager cacheManager;
+    private final Clock clock;
+    // Part of every key and incremented on every invalidation. An agenda loaded while a write committed is put under the
+    // generation read before loading it, which no later read looks up
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public AgendaService(TaskRepository taskRepository, SubtaskRepository subtaskRepository,
+                         CacheManager cacheManager) {
+        this(taskRepository, subtaskRepository, cacheManager, Clock.systemDefaultZone());
+    }
+
+    public AgendaService(TaskRepository taskRepository, SubtaskRepository subtaskRepository,
+                         CacheManager cacheManager, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.subtaskRepository = subtaskRepository;
+        this.cacheManager = cacheManager;
+        this.clock = clock;
+    }
+
+    /**
+     * @param days days covered including today, {@link Constants#DEFAULT_AGENDA_DAYS} if null and at most
+     *             {@link Constants#MAX_AGENDA_DAYS}
+     */
+    @Transactional(readOnly = true)
+    public AgendaResponse getAgenda(Integer days) {
+        int resolvedDays = resolveDays(days);
+        LocalDate today = LocalDate.now(clock);
+        String key = generation.get() + "/" + today + "/" + resolvedDays;
+
+        Cache cache = cacheManager.getCache(CacheConfig.AGENDA);
+        Cache.ValueWrapper cached = cache != null ? cache.get(key) : null;
+        if (cached != null) {
+            return (AgendaResponse) cached.get();
+        }
+
+        AgendaResponse agenda = loadAgenda(today, today.plusDays(resolvedDays - 1));
+        if (cache != null) {
+            cache.put(key, agenda);
+        }
+        return agenda;
+    }
+
+    /**
+     * Runs after commit, so reads that start once the new generation is visible also see the write. Clearing only frees
+     * the entries of older generations early.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void invalidate(ProjectChangedEvent event) {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(CacheConfig.AGENDA);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private AgendaResponse loadAgenda(LocalDate today, LocalDate through) {
+        return new AgendaResponse(today, through,
+            taskRepository.findAgendaTasks(through, Constants.TASK_STATUS_FINISHED).stream()
+                .map(task -> new AgendaItemResponse.Builder()
+                    .withId(task.getId())
+                    .withProjectId(task.getProjectId())
+                    .withProjectName(task.getProjectName())
+                    .withName(task.getName())
+                    .withStatus(task.getStatus())
+                    .withDueDate(task.getDueDate())
+                    .withDifficulty(task.getDifficulty())
+                    .withOverdue(task.getDueDate().isBefore(today))
+                    .build())
+                .toList(),
+            subtaskRepository.findAgendaSubtasks(through, Constants.TASK_STATUS_FINISHED).stream()
+                .map(subtask -> new AgendaItemResponse.Builder()
+                    .withId(subtask.getId())
+                    .withTaskId(subtask.getTaskId())
+                    .withProjectId(subtask.getProjectId())
+                    .withProjectName(subtask.getProjectName())
+                    .withName(subtask.getName())
+                    .withStatus(subtask.getStatus())
+                    .withDueDate(subtask.getDueDate())
+                    .withDifficulty(subtask.getDifficulty())
+                    .withOverdue(subtask.getDueDate().isBefore(today))
+                    .build())
+                .toList());
+    }
+
+    private static int resolveDays(Integer days) {
+        if (days == null) {
+            return Constants.DEFAULT_AGENDA_DAYS;
+        } else if (days < 1) {
+            throw new InvalidProjectRequestException("Agenda must cover at least 1 day");
+        }
+        return Math.min(days, Constants.MAX_AGENDA_DAYS);
+    }
+}
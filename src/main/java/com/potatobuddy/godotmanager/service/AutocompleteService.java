@@ -0,0 +1,326 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.dto.project.AutocompleteResponse;
+import com.potatobuddy.godotmanager.dto.project.SuggestionResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.service.ChangeLogService.LoggedChange;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Suggests existing project and task names for a typed prefix, ranked by how many projects or tasks carry the name.
+ * <p>
+ * Suggestions are answered from immutable {@link PrefixIndex} snapshots and never touch the database. The names are
+ * loaded in the background at startup (until then suggestions are empty and marked not ready) and afterwards follow the
+ * {@code change_log}: after each commit that changed a project or task, the changed names are re-read and new
+ * snapshots are published. A load that failed is retried by the next change or suggestion.
+ */
+@Service
+public class AutocompleteService {
+
+    public static final String TYPE_PROJECT = "project";
+    public static final String TYPE_TASK = "task";
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private record TaskName(String projectId, String name) {}
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeLogService changeLogService;
+    // A single thread, so the startup load always runs before the first catch-up
+    private final Executor executor;
+    private final AtomicBoolean catchUpScheduled = new AtomicBoolean();
+
+    // Guarded by this; read only while building snapshots
+    private final Map<String, String> projectNames = new HashMap<>();
+    private final Map<String, TaskName> taskNames = new HashMap<>();
+    private final Map<String, Set<String>> taskIdsByProject = new HashMap<>();
+    private final Map<String, PrefixIndex.Entry> projectCounts = new HashMap<>();
+    private final Map<String, PrefixIndex.Entry> taskCounts = new HashMap<>();
+    private long indexedSequence;
+
+    private volatile PrefixIndex projectIndex = PrefixIndex.EMPTY;
+    private volatile PrefixIndex taskIndex = PrefixIndex.EMPTY;
+    private volatile boolean ready;
+
+    @Autowired
+    public AutocompleteService(NamedParameterJdbcTemplate jdbcTemplate, ChangeLogService changeLogService) {
+        this(jdbcTemplate, changeLogService, Executors.newSingleThreadExecutor());
+    }
+
+    public AutocompleteService(NamedParameterJdbcTemplate jdbcTemplate, ChangeLogService changeLogService,
+                               Executor executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLogService = changeLogService;
+        this.executor = executor;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduleCatchUp();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules a catch-up after each commit that may have changed a name.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(EntityChangedEvent event) {
+        if (event.getEntityType() == EntityType.PROJECT || event.getEntityType() == EntityType.TASK) {
+            scheduleCatchUp();
+        }
+    }
+
+    /**
+     * @param type  project or task, both if null
+     * @param limit suggestions returned, {@link Constants#DEFAULT_AUTOCOMPLETE_LIMIT} if null and at most
+     *              {@link Constants#MAX_AUTOCOMPLETE_LIMIT}
+     */
+    public AutocompleteResponse suggest(String prefix, String type, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidProjectRequestException("Prefix cannot be empty");
+        }
+        boolean allTypes = type == null || type.isBlank();
+        if (!allTypes && !type.equals(TYPE_PROJECT) && !type.equals(TYPE_TASK)) {
+            throw new InvalidProjectRequestException("Unknown suggestion type: " + type);
+        }
+        int resolvedLimit = resolveLimit(limit);
+        if (!ready) {
+            scheduleCatchUp();
+        }
+
+        List<SuggestionResponse> suggestions = new ArrayList<>();
+        if (allTypes || type.equals(TYPE_PROJECT)) {
+            projectIndex.suggest(prefix, resolvedLimit)
+                .forEach(entry -> suggestions.add(new SuggestionResponse(entry.name(), TYPE_PROJECT, entry.count())));
+        }
+        if (allTypes || type.equals(TYPE_TASK)) {
+            taskIndex.suggest(prefix, resolvedLimit)
+                .forEach(entry -> suggestions.add(new SuggestionResponse(entry.name(), TYPE_TASK, entry.count())));
+        }
+
+        suggestions.sort(Comparator.comparingInt(SuggestionResponse::getCount).reversed());
+        return new AutocompleteResponse(prefix, ready,
+            suggestions.size() > resolvedLimit ? suggestions.subList(0, resolvedLimit) : suggestions);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies the project and task changes committed since the last load, or loads all names if they have not been
+     * loaded yet.
+     */
+    public synchronized void catchUp() {
+        if (!ready) {
+            rebuild();
+            return;
+        }
+        long lastSequence = changeLogService.getLastSequence();
+        if (lastSequence == indexedSequence) {
+            return;
+        }
+
+        List<LoggedChange> changes = changeLogService.findChanges(indexedSequence, lastSequence,
+            Constants.MAX_SYNC_CHANGES + 1);
+        if (changes == null || changes.size() > Constants.MAX_SYNC_CHANGES) {
+            rebuild();
+            return;
+        }
+
+        Set<String> projectIds = new HashSet<>();
+        Set<String> wholeProjectIds = new HashSet<>();
+        Set<String> taskIds = new HashSet<>();
+        for (LoggedChange change : changes) {
+            if (change.entityType() == EntityType.PROJECT) {
+                projectIds.add(change.entityId());
+                if (change.tasksChanged()) {
+                    wholeProjectIds.add(change.entityId());
+                }
+            } else if (change.entityType() == EntityType.TASK) {
+                taskIds.add(change.entityId());
+            }
+        }
+
+        // Whatever is not found again has been deleted; a deleted project takes its tasks along
+        if (!projectIds.isEmpty()) {
+            Set<String> found = new HashSet<>();
+            jdbcTemplate.query("select project_id, name from projects where project_id in (:ids)",
+                Map.of("ids", projectIds), (RowCallbackHandler) resultSet -> {
+                    putProject(resultSet.getString(1), resultSet.getString(2));
+                    found.add(resultSet.getString(1));
+                });
+            for (String projectId : projectIds) {
+                if (!found.contains(projectId)) {
+                    removeProject(projectId);
+                    wholeProjectIds.remove(projectId);
+                }
+            }
+        }
+        if (!wholeProjectIds.isEmpty()) {
+            for (String projectId : wholeProjectIds) {
+                for (String taskId : new ArrayList<>(taskIdsByProject.getOrDefault(projectId, Set.of()))) {
+                    removeTask(taskId);
+                }
+            }
+            jdbcTemplate.query("select task_id, project_id, task_name from tasks where project_id in (:ids)",
+                Map.of("ids", wholeProjectIds), (RowCallbackHandler) resultSet ->
+                    putTask(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3)));
+        }
+        if (!taskIds.isEmpty()) {
+            Set<String> found = new HashSet<>();
+            jdbcTemplate.query("select task_id, project_id, task_name from tasks where task_id in (:ids)",
+                Map.of("ids", taskIds), (RowCallbackHandler) resultSet -> {
+                    putTask(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3));
+                    found.add(resultSet.getString(1));
+                });
+            for (String taskId : taskIds) {
+                if (!found.contains(taskId)) {
+                    removeTask(taskId);
+                }
+            }
+        }
+
+        publish();
+        indexedSequence = lastSequence;
+    }
+
+    /**
+     * Loads all names. Changes committed while loading are applied again by the next catch-up. Until the load completes
+     * the names are marked not ready, so a failed load is retried rather than caught up.
+     */
+    private synchronized void rebuild() {
+        ready = false;
+        long lastSequence = changeLogService.getLastSequence();
+        projectNames.clear();
+        taskNames.clear();
+        taskIdsByProject.clear();
+        projectCounts.clear();
+        taskCounts.clear();
+
+        jdbcTemplate.getJdbcTemplate().query("select project_id, name from projects",
+            (RowCallbackHandler) resultSet -> putProject(resultSet.getString(1), resultSet.getString(2)));
+        jdbcTemplate.getJdbcTemplate().query("select task_id, project_id, task_name from tasks",
+            (RowCallbackHandler) resultSet ->
+                putTask(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3)));
+
+        publish();
+        indexedSequence = lastSequence;
+        ready = true;
+        catchUp();
+    }
+
+    /**
+     * Runs a catch-up in the background; requests made while one is pending are coalesced into it.
+     */
+    private void scheduleCatchUp() {
+        if (catchUpScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                catchUpScheduled.set(false);
+                try {
+                    catchUp();
+                } catch (RuntimeException e) {
+                    log.warn("Autocomplete {} failed, retrying with the next change or suggestion",
+                        ready ? "catch-up" : "load", e);
+                }
+            });
+        }
+    }
+
+    private void publish() {
+        projectIndex = new PrefixIndex(projectCounts);
+        taskIndex = new PrefixIndex(taskCounts);
+    }
+
+    private void putProject(String projectId, String name) {
+        decrement(projectCounts, projectNames.remove(projectId));
+        if (name != null) {
+            projectNames.put(projectId, name);
+            increment(projectCounts, name);
+        }
+    }
+
+    private void removeProject(String projectId) {
+        decrement(projectCounts, projectNames.remove(projectId));
+        for (String taskId : new ArrayList<>(taskIdsByProject.getOrDefault(projectId, Set.of()))) {
+            removeTask(taskId);
+        }
+    }
+
+    private void putTask(String taskId, String projectId, String name) {
+        removeTask(taskId);
+        if (name != null) {
+            taskNames.put(taskId, new TaskName(projectId, name));
+            taskIdsByProject.computeIfAbsent(projectId, id -> new HashSet<>()).add(taskId);
+            increment(taskCounts, name);
+        }
+    }
+
+    private void removeTask(String taskId) {
+        TaskName taskName = taskNames.remove(taskId);
+        if (taskName != null) {
+            Set<String> projectTaskIds = taskIdsByProject.get(taskName.projectId());
+            if (projectTaskIds != null) {
+                projectTaskIds.remove(taskId);
+                if (projectTaskIds.isEmpty()) {
+                    taskIdsByProject.remove(taskName.projectId());
+                }
+            }
+            decrement(taskCounts, taskName.name());
+        }
+    }
+
+    private static void increment(Map<String, PrefixIndex.Entry> counts, String name) {
+        if (name.isBlank()) {
+            return;
+        }
+        counts.merge(PrefixIndex.normalize(name), new PrefixIndex.Entry(name.strip(), 1),
+            (existing, added) -> new PrefixIndex.Entry(existing.name(), existing.count() + 1));
+    }
+
+    private static void decrement(Map<String, PrefixIndex.Entry> counts, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        counts.computeIfPresent(PrefixIndex.normalize(name), (key, existing) ->
+            existing.count() > 1 ? new PrefixIndex.Entry(existing.name(), existing.count() - 1) : null);
+    }
+
+    private static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return Constants.DEFAULT_AUTOCOMPLETE_LIMIT;
+        } else if (limit < 1) {
+            throw new InvalidProjectRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, Constants.MAX_AUTOCOMPLETE_LIMIT);
+    }
+}
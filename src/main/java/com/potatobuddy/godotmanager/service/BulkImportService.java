@@ -0,0 +1,355 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.potatobuddy.godotmanager.dto.project.BulkImportResponse;
+import com.potatobuddy.godotmanager.dto.project.BulkImportRow;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Creates many projects, tasks and subtasks from one JSON array or CSV file of {@link BulkImportRow}s.
+ * <ol>
+ *     <li>A streaming validation pass checks every row, assigns the new ids, resolves parents and spools the resolved
+ *     rows to a temporary file. Nothing is written if any row is invalid.</li>
+ *     <li>The spooled rows are written in chunks, one transaction per chunk. Within a chunk, hibernate orders the
+ *     inserts by table and sends them as JDBC batches ({@code hibernate.jdbc.batch_size}).</li>
+ * </ol>
+ * Memory use is bounded by one chunk plus the ids of the refs declared by the import.
+ */
+@Service
+public class BulkImportService {
+
+    public enum Format { JSON, CSV }
+
+    private static final String TYPE_PROJECT = "project";
+    private static final String TYPE_TASK = "task";
+    private static final String TYPE_SUBTASK = "subtask";
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    /**
+     * A validated row with its new id and the id of its parent. {@code projectId} is the project a task or subtask row
+     * belongs to, whether it existed before or was created earlier in the same import.
+     */
+    private static class ResolvedRow {
+        public String type;
+        public String id;
+        public String parentId;
+        public String projectId;
+        public String name;
+        public String description;
+        public String status;
+        public String dueDate;
+        public String difficulty;
+        public String taskType;
+    }
+
+    private record TaskRef(String id, String projectId) {}
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final IdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultChunkSize;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImportService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                             IdGenerator idGenerator, ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher,
+                             @Value("${godotmanager.bulk-import.chunk-size:1000}") int defaultChunkSize) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.idGenerator = idGenerator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+    /**
+     * @param chunkSize rows per transaction, defaults to {@code godotmanager.bulk-import.chunk-size} and is capped at
+     *                  {@link Constants#MAX_BULK_IMPORT_CHUNK_SIZE}
+     */
+    public BulkImportResponse importRows(InputStream input, Format format, Integer chunkSize) {
+        int resolvedChunkSize = resolveChunkSize(chunkSize);
+        long start = System.nanoTime();
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("bulk-import", ".ndjson");
+            validateAndSpool(input, format, spool);
+
+            BulkImportResponse response = writeChunks(spool, resolvedChunkSize);
+            response.setElapsedNanos(System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException ignored) {
+                    // Left to the temp directory cleanup
+                }
+            }
+        }
+    }
+
+    /**--------------------------------------------- Validation ------------------------------------------------------*/
+
+    private void validateAndSpool(InputStream input, Format format, Path spool) throws IOException {
+        Map<String, String> projectRefs = new HashMap<>();
+        Map<String, TaskRef> taskRefs = new HashMap<>();
+        Set<String> existingProjectIds = new HashSet<>();
+        Map<String, String> existingTaskProjectIds = new HashMap<>();
+
+        ObjectReader reader = format == Format.CSV
+            ? CSV_MAPPER.readerFor(BulkImportRow.class).with(CsvSchema.emptySchema().withHeader())
+            : objectMapper.readerFor(BulkImportRow.class);
+
+        long rowNumber = 0;
+        try (MappingIterator<BulkImportRow> rows = reader.readValues(new BufferedInputStream(input));
+             OutputStream output = new BufferedOutputStream(Files.newOutputStream(spool));
+             SequenceWriter writer = objectMapper.writerFor(ResolvedRow.class).withRootValueSeparator("\n")
+                 .writeValues(output)) {
+            while (rows.hasNextValue()) {
+                BulkImportRow row = rows.nextValue();
+                rowNumber++;
+                try {
+                    writer.write(resolve(row, projectRefs, taskRefs, existingProjectIds, existingTaskProjectIds));
+                } catch (InvalidProjectRequestException e) {
+                    throw new InvalidProjectRequestException("Row " + rowNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidProjectRequestException("Row " + (rowNumber + 1) + " is malformed: "
+                + e.getOriginalMessage());
+        }
+    }
+
+    private ResolvedRow resolve(BulkImportRow row, Map<String, String> projectRefs, Map<String, TaskRef> taskRefs,
+                                Set<String> existingProjectIds, Map<String, String> existingTaskProjectIds) {
+        String type = blankToNull(row.getType());
+        String ref = blankToNull(row.getRef());
+        String parent = blankToNull(row.getParent());
+
+        ResolvedRow resolved = new ResolvedRow();
+        resolved.type = type;
+        resolved.id = idGenerator.newId();
+        resolved.name = blankToNull(row.getName());
+        resolved.description = blankToNull(row.getDescription());
+        resolved.status = blankToNull(row.getStatus());
+        resolved.dueDate = blankToNull(row.getDueDate());
+        resolved.difficulty = blankToNull(row.getDifficulty());
+
+        if (resolved.name == null) {
+            throw new InvalidProjectRequestException("Name cannot be empty or null");
+        }
+        if (resolved.dueDate != null) {
+            ProjectService.parseDueDate(resolved.dueDate);
+        }
+
+        if (TYPE_PROJECT.equals(type)) {
+            if (resolved.description == null) {
+                throw new InvalidProjectRequestException("Project description cannot be empty or null");
+            }
+            if (ref != null && projectRefs.putIfAbsent(ref, resolved.id) != null) {
+                throw new InvalidProjectRequestException("Duplicate project ref: " + ref);
+            }
+        } else if (TYPE_TASK.equals(type)) {
+            resolved.taskType = blankToNull(row.getTaskType()) != null ? row.getTaskType().trim()
+                : Constants.TASK_TYPE_ACTIVE;
+            ProjectService.validateTaskType(resolved.taskType);
+            resolved.parentId = projectRefs.get(requireParent(parent));
+            resolved.projectId = resolved.parentId;
+            if (resolved.parentId == null) {
+                if (!existingProjectIds.contains(parent)) {
+                    if (!projectRepository.existsById(parent)) {
+                        throw new InvalidProjectRequestException("Unknown parent project: " + parent);
+                    }
+                    existingProjectIds.add(parent);
+                }
+                resolved.parentId = parent;
+                resolved.projectId = parent;
+            }
+            if (ref != null && taskRefs.putIfAbsent(ref, new TaskRef(resolved.id, resolved.projectId)) != null) {
+                throw new InvalidProjectRequestException("Duplicate task ref: " + ref);
+            }
+        } else if (TYPE_SUBTASK.equals(type)) {
+            TaskRef taskRef = taskRefs.get(requireParent(parent));
+            if (taskRef != null) {
+                resolved.parentId = taskRef.id();
+                resolved.projectId = taskRef.projectId();
+            } else {
+                String projectId = existingTaskProjectIds.get(parent);
+                if (projectId == null) {
+                    Optional<String> taskProjectId = taskRepository.findProjectIdById(parent);
+                    if (taskProjectId.isEmpty()) {
+                        throw new InvalidProjectRequestException("Unknown parent task: " + parent);
+                    }
+                    projectId = taskProjectId.get();
+                    existingTaskProjectIds.put(parent, projectId);
+                }
+                resolved.parentId = parent;
+                resolved.projectId = projectId;
+            }
+        } else {
+            throw new InvalidProjectRequestException("Type must be " + TYPE_PROJECT + ", " + TYPE_TASK + " or "
+                + TYPE_SUBTASK + " but was " + type);
+        }
+
+        return resolved;
+    }
+
+    private static String requireParent(String parent) {
+        if (parent == null) {
+            throw new InvalidProjectRequestException("Parent cannot be empty or null");
+        }
+        return parent;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private int resolveChunkSize(Integer chunkSize) {
+        if (chunkSize == null) {
+            return defaultChunkSize;
+        } else if (chunkSize < 1) {
+            throw new InvalidProjectRequestException("Chunk size must be at least 1");
+        }
+
+        return Math.min(chunkSize, Constants.MAX_BULK_IMPORT_CHUNK_SIZE);
+    }
+
+    /**----------------------------------------------- Writing -------------------------------------------------------*/
+
+    private BulkImportResponse writeChunks(Path spool, int chunkSize) throws IOException {
+        BulkImportResponse response = new BulkImportResponse();
+        List<ResolvedRow> chunk = new ArrayList<>(chunkSize);
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(spool));
+             MappingIterator<ResolvedRow> rows = objectMapper.readerFor(ResolvedRow.class).readValues(input)) {
+            while (rows.hasNextValue()) {
+                chunk.add(rows.nextValue());
+                if (chunk.size() == chunkSize || !rows.hasNextValue()) {
+                    writeChunk(chunk, response);
+                    chunk.clear();
+                }
+            }
+        }
+        return response;
+    }
+
+    private void writeChunk(List<ResolvedRow> chunk, BulkImportResponse response) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> createdProjectIds = new HashSet<>();
+                Set<String> touchedProjectIds = new LinkedHashSet<>();
+                for (ResolvedRow row : chunk) {
+                    entityManager.persist(toEntity(row));
+                    if (TYPE_PROJECT.equals(row.type)) {
+                        createdProjectIds.add(row.id);
+                        // Tasks of new projects may follow in later chunks, so clients fetch the project as a whole
+                        eventPublisher.publishEvent(new ProjectChangedEvent(row.id, EntityType.PROJECT, row.id,
+                            ChangeType.CREATED, List.of(ProjectChangedEvent.TASKS_FIELD), null));
+                    } else {
+                        touchedProjectIds.add(row.projectId);
+                    }
+                }
+                entityManager.flush();
+
+                // Includes projects created by an earlier chunk of this import; those created by this chunk are
+                // already announced as a whole above
+                touchedProjectIds.removeAll(createdProjectIds);
+                Instant now = Instant.now();
+                for (String projectId : touchedProjectIds) {
+                    projectRepository.touch(projectId, now);
+                    eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
+                }
+                entityManager.clear();
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidProjectRequestException("Chunk " + (response.getChunks() + 1) + " could not be written, "
+                + response.getRows() + " rows of the previous chunks were imported: "
+                + e.getMostSpecificCause().getMessage());
+        }
+
+        chunk.forEach(row -> {
+            switch (row.type) {
+                case TYPE_PROJECT -> response.incrementProjects();
+                case TYPE_TASK -> response.incrementTasks();
+                default -> response.incrementSubtasks();
+            }
+        });
+        response.incrementChunks();
+    }
+
+    private Object toEntity(ResolvedRow row) {
+        return switch (row.type) {
+            case TYPE_PROJECT -> new Project.Builder()
+                .withId(row.id)
+                .withName(row.name)
+                .withDescription(row.description)
+                .build();
+            case TYPE_TASK -> new Task.Builder()
+                .withId(row.id)
+                .withName(row.name)
+                .withDescription(row.description)
+                .withStatus(row.status)
+                .withDueDate(row.dueDate != null ? ProjectService.parseDueDate(row.dueDate) : null)
+                .withDifficulty(row.difficulty)
+                .withTaskType(row.taskType)
+                .withProject(entityManager.getReference(Project.class, row.parentId))
+                .build();
+            default -> new Subtask.Builder()
+                .withId(row.id)
+                .withName(row.name)
+                .withDescription(row.description)
+                .withStatus(row.status)
+                .withDueDate(row.dueDate != null ? ProjectService.parseDueDate(row.dueDate) : null)
+                .withDifficulty(row.difficulty)
+                .withTask(entityManager.getReference(Task.class, row.parentId))
+                .build();
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.dto.project.ChangeEventResponse;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.projection.ProjectVersion;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes every committed {@link EntityChangedEvent} to the Server-Sent Events subscribers of {@code /changes}.
+ * <p>
+ * Writers never wait for subscribers: each subscriber has a bounded buffer that is drained by its own delivery task.
+ * When a slow subscriber's buffer is full, its pending events are dropped and it receives a single {@code resync}
+ * event instead, after which it should refetch what it shows and continue with the following events.
+ * <p>
+ * The changes of a transaction are collected and published together once it has committed, so subscribers never see
+ * changes that were rolled back and missing project versions are looked up with one query per transaction. Changes
+ * published outside a transaction (e.g. single repository saves) are published right away.
+ */
+@Service
+public class ChangeFeedService {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESYNC_EVENT = "resync";
+
+    private record QueuedChange(long sequence, ChangeEventResponse change) {}
+
+    private final ProjectRepository projectRepository;
+    private final Executor deliveryExecutor;
+    private final int bufferSize;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public ChangeFeedService(ProjectRepository projectRepository) {
+        this(projectRepository, Executors.newVirtualThreadPerTaskExecutor(), Constants.CHANGE_FEED_BUFFER_SIZE);
+    }
+
+    public ChangeFeedService(ProjectRepository projectRepository, Executor deliveryExecutor, int bufferSize) {
+        this.projectRepository = projectRepository;
+        this.deliveryExecutor = deliveryExecutor;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Registers the emitter until it completes, times out or fails to write.
+     */
+    public SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void publish(EntityChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            publishCommitted(List.of(event));
+            return;
+        }
+
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+        pendingChanges.events.add(event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (deliveryExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void publishCommitted(List<EntityChangedEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> versions = findMissingVersions(events);
+        for (EntityChangedEvent event : events) {
+            QueuedChange queuedChange = new QueuedChange(sequence.incrementAndGet(), toResponse(event, versions));
+            subscribers.forEach(subscriber -> subscriber.offer(queuedChange));
+        }
+    }
+
+    /**
+     * Bulk version updates do not read the new version back, so the versions of the projects concerned are read in one
+     * query; only done when someone is listening.
+     */
+    private Map<String, Long> findMissingVersions(List<EntityChangedEvent> events) {
+        Set<String> projectIds = new LinkedHashSet<>();
+        for (EntityChangedEvent event : events) {
+            String projectId = projectIdOf(event);
+            if (event.getVersion() == null && projectId != null && !isProjectDeletion(event)) {
+                projectIds.add(projectId);
+            }
+        }
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Long> versions = new HashMap<>();
+        for (ProjectVersion projectVersion : projectRepository.findVersionsByIdIn(projectIds)) {
+            versions.put(projectVersion.getId(), projectVersion.getVersion());
+        }
+        return versions;
+    }
+
+    private static ChangeEventResponse toResponse(EntityChangedEvent event, Map<String, Long> versions) {
+        String projectId = projectIdOf(event);
+        Long version = event.getVersion();
+        if (version == null && projectId != null && !isProjectDeletion(event)) {
+            version = versions.get(projectId);
+        }
+
+        return new ChangeEventResponse(event.getEntityType().name().toLowerCase(), event.getEntityId(), projectId,
+            event.getChangeType().name().toLowerCase(), version, event.getChangedFields());
+    }
+
+    private static String projectIdOf(EntityChangedEvent event) {
+        return event instanceof ProjectChangedEvent projectEvent ? projectEvent.getProjectId() : null;
+    }
+
+    private static boolean isProjectDeletion(EntityChangedEvent event) {
+        return event.getEntityType() == EntityType.PROJECT && event.getChangeType() == ChangeType.DELETED;
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            publishCommitted(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeFeedService.this);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<QueuedChange> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicLong droppedChanges = new AtomicLong();
+        private final AtomicBoolean delivering = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(QueuedChange queuedChange) {
+            if (!buffer.offer(queuedChange)) {
+                // The subscriber cannot keep up; it has to resync anyway, so the buffered changes are of no use
+                droppedChanges.addAndGet(buffer.size() + 1L);
+                buffer.clear();
+            }
+            scheduleDelivery();
+        }
+
+        private void scheduleDelivery() {
+            if (delivering.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            try {
+                while (true) {
+                    long dropped = droppedChanges.getAndSet(0);
+                    if (dropped > 0) {
+                        emitter.send(SseEmitter.event()
+                            .name(RESYNC_EVENT)
+                            .data(Map.of("dropped_changes", dropped), MediaType.APPLICATION_JSON));
+                    }
+                    QueuedChange queuedChange = buffer.poll();
+                    if (queuedChange == null) {
+                        break;
+                    }
+                    emitter.send(SseEmitter.event()
+                        .id(String.valueOf(queuedChange.sequence()))
+                        .name(CHANGE_EVENT)
+                        .data(queuedChange.change(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter has already completed
+                subscribers.remove(this);
+                return;
+            } finally {
+                delivering.set(false);
+            }
+
+            // A change offered between the last poll and the reset above would otherwise wait for the next one
+            if (!buffer.isEmpty() || droppedChanges.get() > 0) {
+                scheduleDelivery();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every {@link EntityChangedEvent} in the {@code change_log} table, read back by {@link SyncService} and by the
+ * in-memory indexes that follow it.
+ * <p>
+ * The changes of a transaction are collected and written right before it commits, under a single new value of the
+ * change sequence and with one batch insert. Taking the value locks the sequence row until the commit, so concurrent
+ * writers commit in sequence order. The pending entity changes are flushed first, so every writer locks its own rows
+ * before the sequence row and never waits for a row lock while holding it. Changes published outside a transaction get
+ * a transaction of their own.
+ * <p>
+ * Only the newest {@link Constants#MAX_SYNC_CHANGES} rows are kept: readers that are further behind reload everything
+ * anyway. Older rows are deleted periodically, and the sequence value they reach up to is recorded so that a reader
+ * behind it is told to reload rather than handed an incomplete list.
+ */
+@Service
+public class ChangeLogService {
+
+    /**
+     * One logged change; {@code tasksChanged} marks a project whose whole task list may have changed.
+     */
+    public record LoggedChange(EntityType entityType, String entityId, String projectId, boolean tasksChanged) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ChangeLogService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener
+    public void record(EntityChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(List.of(event)));
+            return;
+        }
+
+        PendingChanges pendingChanges = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pendingChanges == null) {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+        pendingChanges.events.add(event);
+    }
+
+    /**
+     * @return the sequence value of the latest committed change, 0 if nothing changed yet
+     */
+    public long getLastSequence() {
+        Long lastValue = jdbcTemplate.queryForObject("select last_value from change_sequence where id = 1",
+            Long.class);
+        return lastValue != null ? lastValue : 0;
+    }
+
+    /**
+     * Changes committed after sequence value {@code since} up to and including {@code last}, in commit order. Returns
+     * at most {@code limit} changes, so callers can pass one more than they accept to detect a backlog that is too
+     * large.
+     *
+     * @return null if changes after {@code since} have already been pruned
+     */
+    public List<LoggedChange> findChanges(long since, long last, int limit) {
+        List<LoggedChange> changes = jdbcTemplate.query("""
+                select entity_type, entity_id, project_id, tasks_changed from change_log
+                where seq > ? and seq <= ? order by seq, id limit ?
+                """,
+            (resultSet, rowNumber) -> new LoggedChange(EntityType.valueOf(resultSet.getString(1)),
+                resultSet.getString(2), resultSet.getString(3), resultSet.getBoolean(4)),
+            since, last, limit);
+        // Read after the rows: the pruned value is committed before the rows are deleted, so rows that were missing
+        // above are always covered by it
+        return since < getPrunedSequence() ? null : changes;
+    }
+
+    @Scheduled(fixedDelayString = "${godotmanager.change-log.prune-interval:PT1H}",
+        initialDelayString = "${godotmanager.change-log.prune-interval:PT1H}")
+    public void prune() {
+        prune(Constants.MAX_SYNC_CHANGES);
+    }
+
+    /**
+     * Deletes all but the newest {@code retainedChanges} rows, always removing whole sequence values.
+     *
+     * @return the number of deleted rows
+     */
+    public int prune(int retainedChanges) {
+        List<Long> cut = jdbcTemplate.queryForList("select seq from change_log order by seq desc, id desc "
+            + "limit 1 offset ?", Long.class, retainedChanges);
+        if (cut.isEmpty()) {
+            return 0;
+        }
+
+        long prunedSequence = cut.get(0);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+            "update change_sequence set pruned_value = ? where id = 1 and pruned_value < ?",
+            prunedSequence, prunedSequence));
+        Integer deleted = transactionTemplate.execute(status ->
+            jdbcTemplate.update("delete from change_log where seq <= ?", prunedSequence));
+        return deleted != null ? deleted : 0;
+    }
+
+    private long getPrunedSequence() {
+        Long prunedValue = jdbcTemplate.queryForObject("select pruned_value from change_sequence where id = 1",
+            Long.class);
+        return prunedValue != null ? prunedValue : 0;
+    }
+
+    private void write(List<EntityChangedEvent> events) {
+        jdbcTemplate.update("update change_sequence set last_value = last_value + 1 where id = 1");
+        long sequence = getLastSequence();
+
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (EntityChangedEvent event : events) {
+            String projectId = event instanceof ProjectChangedEvent projectEvent ? projectEvent.getProjectId() : null;
+            boolean tasksChanged = event.getEntityType() == EntityType.PROJECT
+                && event.getChangedFields().contains(ProjectChangedEvent.TASKS_FIELD);
+            rows.add(new Object[] {sequence, event.getEntityType().name(), event.getEntityId(), projectId,
+                event.getChangeType().name(), tasksChanged});
+        }
+        jdbcTemplate.batchUpdate("insert into change_log (seq, entity_type, entity_id, project_id, change_type, "
+            + "tasks_changed) values (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+        private final List<EntityChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Hibernate would only flush in the commit itself, after this callback has taken the sequence row lock
+            if (!readOnly) {
+                entityManager.flush();
+            }
+            write(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLogService.this);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.dto.project.DataImportResponse;
+import com.potatobuddy.godotmanager.exceptions.DuplicateEntryException;
+import com.potatobuddy.godotmanager.exceptions.InvalidImportException;
+import com.potatobuddy.godotmanager.model.CompressedTextConverter;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves the whole dataset between instances as newline-delimited JSON: one object per row, tagged with a
+ * {@value #TYPE_FIELD} field and otherwise keyed by column name. Both directions work on plain JDBC, so neither
+ * entities nor more than one fetch or batch of rows are held in memory.
+ * <p>
+ * Records are written parents first (projects, tasks, subtasks, then journal entries), which is also the order the
+ * import needs for its foreign keys. Imported projects and journal entries are published as created, so that the change
+ * feed and sync clients pick them up.
+ */
+@Service
+public class DataTransferService {
+
+    public static final String TYPE_FIELD = "type";
+
+    // COMPRESSED_TEXT is exported plain and stored through CompressedTextConverter
+    private enum ColumnType { STRING, COMPRESSED_TEXT, DATE, TIMESTAMP, LONG }
+
+    private record Column(String name, ColumnType type) {}
+
+    private enum RecordType {
+        PROJECT("project", "projects", List.of(
+            new Column("project_id", ColumnType.STRING),
+            new Column("name", ColumnType.STRING),
+            new Column("description", ColumnType.STRING),
+            new Column("version", ColumnType.LONG),
+            new Column("last_modified", ColumnType.TIMESTAMP))),
+        TASK("task", "tasks", List.of(
+            new Column("task_id", ColumnType.STRING),
+            new Column("project_id", ColumnType.STRING),
+            new Column("task_name", ColumnType.STRING),
+            new Column("task_description", ColumnType.STRING),
+            new Column("task_status", ColumnType.STRING),
+            new Column("task_due_date", ColumnType.DATE),
+            new Column("task_difficulty", ColumnType.STRING),
+            new Column("task_type", ColumnType.STRING))),
+        SUBTASK("subtask", "subtasks", List.of(
+            new Column("subtask_id", ColumnType.STRING),
+            new Column("task_id", ColumnType.STRING),
+            new Column("subtask_name", ColumnType.STRING),
+            new Column("subtask_description", ColumnType.STRING),
+            new Column("subtask_status", ColumnType.STRING),
+            new Column("subtask_due_date", ColumnType.DATE),
+            new Column("subtask_difficulty", ColumnType.STRING))),
+        JOURNAL_ENTRY("journal_entry", "journal_entry", List.of(
+            new Column("journal_id", ColumnType.STRING),
+            new Column("date", ColumnType.DATE),
+            new Column("body", ColumnType.COMPRESSED_TEXT)),
+            // Not exported; derived from the body on import like on any other write
+            List.of("preview", "word_count"));
+
+        private final String typeName;
+        private final List<Column> columns;
+        private final List<String> derivedColumns;
+        private final String selectSql;
+        private final String insertSql;
+
+        RecordType(String typeName, String table, List<Column> columns) {
+            this(typeName, table, columns, List.of());
+        }
+
+        RecordType(String typeName, String table, List<Column> columns, List<String> derivedColumns) {
+            this.typeName = typeName;
+            this.columns = columns;
+            this.derivedColumns = derivedColumns;
+            List<String> names = columns.stream().map(Column::name).toList();
+            // The first column is the primary key
+            this.selectSql = "select " + String.join(", ", names) + " from " + table + " order by " + names.get(0);
+            List<String> insertNames = new ArrayList<>(names);
+            insertNames.addAll(derivedColumns);
+            this.insertSql = "insert into " + table + " (" + String.join(", ", insertNames) + ") values ("
+                + String.join(", ", insertNames.stream().map(name -> "?").toList()) + ")";
+        }
+
+        static RecordType fromTypeName(String typeName) {
+            for (RecordType recordType : values()) {
+                if (recordType.typeName.equals(typeName)) {
+                    return recordType;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DataTransferService(DataSource dataSource, ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Constants.EXPORT_FETCH_SIZE);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Writes every row as one line of JSON. Runs in a single read-only transaction so that all tables are read from
+     * the same snapshot where the database supports it. The stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            for (RecordType recordType : RecordType.values()) {
+                jdbcTemplate.query(recordType.selectSql, (RowCallbackHandler) resultSet -> {
+                    try {
+                        writeRecord(generator, recordType, resultSet);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Inserts the records of an export in batches of {@link Constants#IMPORT_BATCH_SIZE}, all or nothing. Records must
+     * come after the rows they reference and may not replace existing rows. Projects that already existed and receive
+     * tasks or subtasks get a new version, like any other write to them.
+     */
+    @Transactional
+    public DataImportResponse importNdjson(InputStream inputStream) {
+        ImportBatch batch = new ImportBatch();
+        try (MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(inputStream)) {
+            long line = 0;
+            while (records.hasNextValue()) {
+                JsonNode record = records.nextValue();
+                line++;
+                if (!record.isObject()) {
+                    throw new InvalidImportException("Record " + line + " is not a JSON object");
+                }
+                RecordType recordType = RecordType.fromTypeName(record.path(TYPE_FIELD).asText());
+                if (recordType == null) {
+                    throw new InvalidImportException("Record " + line + " has an unknown " + TYPE_FIELD + ": "
+                        + record.get(TYPE_FIELD));
+                }
+                if (batch.recordType != recordType || batch.rows.size() >= Constants.IMPORT_BATCH_SIZE) {
+                    batch.flush();
+                    batch.recordType = recordType;
+                }
+                batch.rows.add(toRow(recordType, record, line, batch.startedAt));
+            }
+            batch.flush();
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException("Malformed record: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return batch.response;
+    }
+
+    private static void writeRecord(JsonGenerator generator, RecordType recordType, ResultSet resultSet)
+            throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeStringField(TYPE_FIELD, recordType.typeName);
+        for (int i = 0; i < recordType.columns.size(); i++) {
+            Column column = recordType.columns.get(i);
+            int index = i + 1;
+            generator.writeFieldName(column.name());
+            switch (column.type()) {
+                case STRING -> generator.writeString(resultSet.getString(index));
+                case COMPRESSED_TEXT ->
+                    generator.writeString(CompressedTextConverter.decode(resultSet.getString(index)));
+                case DATE -> {
+                    Date date = resultSet.getDate(index);
+                    generator.writeString(date != null ? date.toLocalDate().toString() : null);
+                }
+                case TIMESTAMP -> {
+                    Timestamp timestamp = resultSet.getTimestamp(index);
+                    generator.writeString(timestamp != null ? timestamp.toInstant().toString() : null);
+                }
+                case LONG -> {
+                    long value = resultSet.getLong(index);
+                    if (resultSet.wasNull()) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNumber(value);
+                    }
+                }
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Converts a record to insert parameters. Missing fields are null, except that a project without a version starts
+     * at 0 and one without a modification time is stamped with the time of the import.
+     */
+    private static Object[] toRow(RecordType recordType, JsonNode record, long line, Instant importedAt) {
+        Object[] row = new Object[recordType.columns.size() + recordType.derivedColumns.size()];
+        for (int i = 0; i < recordType.columns.size(); i++) {
+            Column column = recordType.columns.get(i);
+            JsonNode value = record.get(column.name());
+            boolean missing = value == null || value.isNull();
+            try {
+                row[i] = switch (column.type()) {
+                    case STRING -> missing ? null : value.asText();
+                    case COMPRESSED_TEXT -> missing ? null : CompressedTextConverter.encode(value.asText());
+                    case DATE -> missing ? null : Date.valueOf(LocalDate.parse(value.asText()));
+                    case TIMESTAMP -> Timestamp.from(missing ? importedAt : Instant.parse(value.asText()));
+                    case LONG -> {
+                        if (!missing && !value.canConvertToLong()) {
+                            throw new InvalidImportException("Record " + line + " has a non-numeric "
+                                + column.name());
+                        }
+                        yield missing ? 0L : value.asLong();
+                    }
+                };
+            } catch (DateTimeParseException e) {
+                throw new InvalidImportException("Record " + line + " has an invalid " + column.name() + ": "
+                    + value.asText());
+            }
+        }
+        if (row[0] == null || ((String) row[0]).isBlank()) {
+            throw new InvalidImportException("Record " + line + " has no " + recordType.columns.get(0).name());
+        }
+        if (recordType == RecordType.JOURNAL_ENTRY) {
+            // Derived from the plain body, the column already holds it encoded
+            String body = record.path("body").asText(null);
+            row[3] = JournalPreview.preview(body);
+            row[4] = JournalPreview.wordCount(body);
+        }
+        return row;
+    }
+
+    /**
+     * Consecutive records of one type waiting to be sent as a JDBC batch, plus what the import has done so far.
+     */
+    private class ImportBatch {
+        private final Instant startedAt = Instant.now();
+        private final DataImportResponse response = new DataImportResponse();
+        // Only ids of projects, there are far fewer of them than of tasks and subtasks
+        private final Set<String> importedProjectIds = new HashSet<>();
+        private RecordType recordType;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                jdbcTemplate.batchUpdate(recordType.insertSql, rows);
+            } catch (DuplicateKeyException e) {
+                throw new DuplicateEntryException("A " + recordType.typeName + " of this import already exists");
+            } catch (DataIntegrityViolationException e) {
+                throw new InvalidImportException("A " + recordType.typeName
+                    + " of this import references a row that neither exists nor precedes it");
+            }
+
+            switch (recordType) {
+                case PROJECT -> {
+                    rows.forEach(row -> {
+                        importedProjectIds.add((String) row[0]);
+                        eventPublisher.publishEvent(new ProjectChangedEvent((String) row[0], EntityType.PROJECT,
+                            (String) row[0], ChangeType.CREATED, List.of(ProjectChangedEvent.TASKS_FIELD), null));
+                    });
+                    response.addProjects(rows.size());
+                }
+                case TASK -> {
+                    Set<String> projectIds = new LinkedHashSet<>();
+                    rows.forEach(row -> projectIds.add((String) row[1]));
+                    touchExistingProjects(projectIds);
+                    response.addTasks(rows.size());
+                }
+                case SUBTASK -> {
+                    Set<String> taskIds = new LinkedHashSet<>();
+                    rows.forEach(row -> taskIds.add((String) row[1]));
+                    touchExistingProjects(new LinkedHashSet<>(namedParameterJdbcTemplate.queryForList(
+                        "select distinct project_id from tasks where task_id in (:taskIds)",
+                        new MapSqlParameterSource("taskIds", taskIds), String.class)));
+                    response.addSubtasks(rows.size());
+                }
+                case JOURNAL_ENTRY -> {
+                    rows.forEach(row -> eventPublisher.publishEvent(
+                        new JournalEntryChangedEvent((String) row[0], ChangeType.CREATED, List.of())));
+                    response.addJournalEntries(rows.size());
+                }
+            }
+            rows.clear();
+        }
+
+        private void touchExistingProjects(Set<String> projectIds) {
+            projectIds.removeAll(importedProjectIds);
+            projectIds.remove(null);
+            if (projectIds.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.from(startedAt);
+            jdbcTemplate.batchUpdate(
+                "update projects set version = version + 1, last_modified = ? where project_id = ?",
+                projectIds.stream().map(id -> new Object[] {now, id}).toList());
+            projectIds.forEach(id -> eventPublisher.publishEvent(new ProjectChangedEvent(id)));
+        }
+    }
+}
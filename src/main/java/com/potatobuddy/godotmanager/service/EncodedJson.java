@@ -0,0 +1,35 @@
+package com.potatobuddy.godotmanager.service;
+
+/**
+ * A response body serialized once, together with its gzip encoding when it is large enough to be worth compressing.
+ */
+public class EncodedJson {
+
+    private final String eTag;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public EncodedJson(String eTag, byte[] json, byte[] gzip) {
+        this.eTag = eTag;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * @return the entity tag of the version that was serialized
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * @return the gzip encoded body, or null if the body is sent uncompressed
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+}
@@ -0,0 +1,53 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.util.List;
+
+/**
+ * Published by every write to a project, task, subtask or journal entry, describing what changed. Listeners that
+ * mirror the data (caches, the change feed) act on it once the writing transaction has committed.
+ */
+public class EntityChangedEvent {
+
+    public enum EntityType { PROJECT, TASK, SUBTASK, JOURNAL_ENTRY }
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final EntityType entityType;
+    private final String entityId;
+    private final ChangeType changeType;
+    private final List<String> changedFields;
+    private final Long version;
+
+    /**
+     * @param changedFields names of the changed fields of an update, empty for creations and deletions
+     * @param version version of the changed data after the write, or null if it was not read back
+     */
+    public EntityChangedEvent(EntityType entityType, String entityId, ChangeType changeType,
+                              List<String> changedFields, Long version) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.changedFields = changedFields != null ? List.copyOf(changedFields) : List.of();
+        this.version = version;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,9 @@
+package com.potatobuddy.godotmanager.service;
+
+/**
+ * Source of the application-assigned primary keys of projects, tasks, subtasks and journal entries.
+ */
+public interface IdGenerator {
+
+    String newId();
+}
@@ -0,0 +1,139 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.model.CompressedTextConverter;
+import com.potatobuddy.godotmanager.model.Constants;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses the bodies of journal entries written before {@link CompressedTextConverter} was in place (or imported
+ * below its threshold by an older version). Runs once in the background after startup, a batch of entries at a time;
+ * new and edited entries are compressed as they are written.
+ * <p>
+ * Also publishes the {@code journal.body.compression.*} metrics: bytes in and out of compression, and the time spent
+ * compressing and decompressing.
+ */
+@Service
+public class JournalCompressionService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalCompressionService.class);
+
+    private record StoredBody(String id, String body, long version) {}
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Executor executor;
+
+    @Autowired
+    public JournalCompressionService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, Executors.newSingleThreadExecutor());
+    }
+
+    public JournalCompressionService(NamedParameterJdbcTemplate jdbcTemplate, Executor executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.execute(() -> {
+            try {
+                compressExisting();
+            } catch (RuntimeException e) {
+                // Entries compressed so far stay compressed; the rest is tried again at the next startup
+                log.error("Compressing existing journal bodies failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Compresses every stored body that is long enough and not compressed yet, walking the entries by id. An entry
+     * edited in the meantime is left alone, since its new body was compressed when it was written. Edits are detected
+     * by the entry's version rather than by comparing bodies, which a case- or accent-insensitive collation would let
+     * through.
+     *
+     * @return the number of bodies compressed
+     */
+    public synchronized int compressExisting() {
+        int compressed = 0;
+        String lastId = "";
+        while (true) {
+            List<StoredBody> batch = jdbcTemplate.query("""
+                    select journal_id, body, version from journal_entry
+                    where journal_id > :lastId and char_length(body) >= :threshold and body not like :compressed
+                    order by journal_id
+                    limit :limit""",
+                new MapSqlParameterSource()
+                    .addValue("lastId", lastId)
+                    .addValue("threshold", Constants.JOURNAL_COMPRESSION_THRESHOLD)
+                    .addValue("compressed", CompressedTextConverter.MARKER + "%")
+                    .addValue("limit", Constants.STREAM_FETCH_SIZE),
+                (resultSet, rowNum) -> new StoredBody(resultSet.getString(1), resultSet.getString(2),
+                    resultSet.getLong(3)));
+            if (batch.isEmpty()) {
+                return compressed;
+            }
+
+            for (StoredBody storedBody : batch) {
+                String encoded = CompressedTextConverter.encode(storedBody.body());
+                // Bodies that do not shrink stay as they are
+                if (!encoded.equals(storedBody.body())) {
+                    // Same content, so the version stays
+                    compressed += jdbcTemplate.update(
+                        "update journal_entry set body = :encoded where journal_id = :id and version = :version",
+                        Map.of("encoded", encoded, "id", storedBody.id(), "version", storedBody.version()));
+                }
+            }
+            lastId = batch.get(batch.size() - 1).id();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("journal.body.compression.input", this,
+                service -> CompressedTextConverter.getCompressedInputBytes())
+            .description("UTF-8 size of the journal bodies stored compressed")
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionCounter.builder("journal.body.compression.output", this,
+                service -> CompressedTextConverter.getCompressedOutputBytes())
+            .description("Stored size of the compressed journal bodies")
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionTimer.builder("journal.body.compression.time", this,
+                service -> CompressedTextConverter.getCompressCount(),
+                service -> CompressedTextConverter.getCompressNanos(), TimeUnit.NANOSECONDS)
+            .description("Time spent compressing journal bodies")
+            .tag("operation", "compress")
+            .register(registry);
+        FunctionTimer.builder("journal.body.compression.time", this,
+                service -> CompressedTextConverter.getDecompressCount(),
+                service -> CompressedTextConverter.getDecompressNanos(), TimeUnit.NANOSECONDS)
+            .description("Time spent decompressing journal bodies")
+            .tag("operation", "decompress")
+            .register(registry);
+    }
+}
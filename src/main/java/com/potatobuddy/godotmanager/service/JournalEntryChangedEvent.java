@@ -0,0 +1,18 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.util.List;
+
+/**
+ * Creation or edit of a journal entry.
+ */
+public class JournalEntryChangedEvent extends EntityChangedEvent {
+
+    public JournalEntryChangedEvent(String journalEntryId, ChangeType changeType, List<String> changedFields) {
+        this(journalEntryId, changeType, changedFields, null);
+    }
+
+    public JournalEntryChangedEvent(String journalEntryId, ChangeType changeType, List<String> changedFields,
+                                    Long version) {
+        super(EntityType.JOURNAL_ENTRY, journalEntryId, changeType, changedFields, version);
+    }
+}
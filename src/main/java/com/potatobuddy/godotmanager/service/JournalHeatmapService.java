@@ -0,0 +1,89 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.config.CacheConfig;
+import com.potatobuddy.godotmanager.dto.project.JournalDayActivityResponse;
+import com.potatobuddy.godotmanager.dto.project.JournalHeatmapResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entries and words per day over a year, for the journaling heatmap. Computed by one GROUP BY over the date index that
+ * sums the stored word counts, so no body is read.
+ * <p>
+ * Heatmaps are cached by year. Any committed journal write invalidates all years, since an edit may move an entry from
+ * one year to another.
+ */
+@Service
+public class JournalHeatmapService {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final CacheManager cacheManager;
+    private final Clock clock;
+    // Keys are generation and year; bumping the generation retires every year at once, including a heatmap that is
+    // still being put by a read that raced the write
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public JournalHeatmapService(JournalEntryRepository journalEntryRepository, CacheManager cacheManager) {
+        this(journalEntryRepository, cacheManager, Clock.systemDefaultZone());
+    }
+
+    public JournalHeatmapService(JournalEntryRepository journalEntryRepository, CacheManager cacheManager,
+                                 Clock clock) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.cacheManager = cacheManager;
+        this.clock = clock;
+    }
+
+    /**
+     * @param year calendar year, the current one if null
+     */
+    @Transactional(readOnly = true)
+    public JournalHeatmapResponse getHeatmap(Integer year) {
+        int resolvedYear = year != null ? year : Year.now(clock).getValue();
+        if (resolvedYear < 1 || resolvedYear > 9999) {
+            throw new InvalidProjectRequestException("Year must be between 1 and 9999");
+        }
+
+        String key = generation.get() + "/" + resolvedYear;
+        Cache cache = cacheManager.getCache(CacheConfig.JOURNAL_HEATMAP);
+        Cache.ValueWrapper cached = cache != null ? cache.get(key) : null;
+        if (cached != null) {
+            return (JournalHeatmapResponse) cached.get();
+        }
+
+        Year calendarYear = Year.of(resolvedYear);
+        JournalHeatmapResponse heatmap = new JournalHeatmapResponse(resolvedYear,
+            journalEntryRepository.findDayActivity(calendarYear.atDay(1), calendarYear.atMonth(12).atEndOfMonth())
+                .stream()
+                .map(JournalDayActivityResponse::new)
+                .toList());
+        if (cache != null) {
+            cache.put(key, heatmap);
+        }
+        return heatmap;
+    }
+
+    /**
+     * Bumps the generation once the write is visible, then drops the retired entries.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void invalidate(JournalEntryChangedEvent event) {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(CacheConfig.JOURNAL_HEATMAP);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.model.Constants;
+
+/**
+ * Derives the preview and word count stored alongside each journal entry, so that listings never need to read bodies.
+ */
+public final class JournalPreview {
+
+    private JournalPreview() {}
+
+    /**
+     * The start of the body with all whitespace collapsed to single spaces, cut after at most
+     * {@link Constants#JOURNAL_PREVIEW_LENGTH} characters at a word boundary where possible and marked with an ellipsis
+     * if anything was cut.
+     */
+    public static String preview(String body) {
+        if (body == null) {
+            return null;
+        }
+        String collapsed = body.strip().replaceAll("\\s+", " ");
+        if (collapsed.length() <= Constants.JOURNAL_PREVIEW_LENGTH) {
+            return collapsed;
+        }
+
+        int end = collapsed.lastIndexOf(' ', Constants.JOURNAL_PREVIEW_LENGTH);
+        if (end <= 0) {
+            end = Constants.JOURNAL_PREVIEW_LENGTH;
+            // Never split a surrogate pair
+            if (Character.isLowSurrogate(collapsed.charAt(end))) {
+                end--;
+            }
+        }
+        return collapsed.substring(0, end) + "\u2026";
+    }
+
+    /**
+     * Number of whitespace-separated words.
+     */
+    public static int wordCount(String body) {
+        if (body == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < body.length(); i++) {
+            boolean whitespace = Character.isWhitespace(body.charAt(i));
+            if (!whitespace && !inWord) {
+                count++;
+            }
+            inWord = !whitespace;
+        }
+        return count;
+    }
+}
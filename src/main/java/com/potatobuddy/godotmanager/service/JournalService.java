@@ -1,28 +1,50 @@
 package com.potatobuddy.godotmanager.service;
 
 import com.potatobuddy.godotmanager.dto.project.EditJournalEntryRequest;
+import com.potatobuddy.godotmanager.dto.project.JournalPageResponse;
 import com.potatobuddy.godotmanager.dto.project.JournalResponse;
+import com.potatobuddy.godotmanager.dto.project.JournalSummaryResponse;
 import com.potatobuddy.godotmanager.dto.project.NewJournalEntryRequest;
 import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.exceptions.JournalEntryNotFoundException;
+import com.potatobuddy.godotmanager.exceptions.PatchConflictException;
+import com.potatobuddy.godotmanager.model.Constants;
 import com.potatobuddy.godotmanager.model.JournalEntry;
 import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.repository.projection.JournalSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class JournalService {
 
     private JournalEntryRepository journalEntryRepository;
+    private IdGenerator idGenerator;
+    private ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public JournalService(JournalEntryRepository journalEntryRepository) {
+    public JournalService(JournalEntryRepository journalEntryRepository, IdGenerator idGenerator,
+                          ApplicationEventPublisher eventPublisher) {
         this.journalEntryRepository = journalEntryRepository;
+        this.idGenerator = idGenerator;
+        this.eventPublisher = eventPublisher;
     }
 
     public JournalResponse createNewJournalEntry(NewJournalEntryRequest newJournalEntryRequest) {
@@ -35,20 +57,28 @@ public class JournalService {
         }
 
         JournalEntry newJournalEntry = new JournalEntry.Builder()
-            .withId(UUID.randomUUID().toString())
+            .withId(idGenerator.newId())
             .withDate(LocalDate.parse(newJournalEntryRequest.getDate(), DateTimeFormatter.ISO_LOCAL_DATE))
             .withBody(newJournalEntryRequest.getBody())
+            .withPreview(JournalPreview.preview(newJournalEntryRequest.getBody()))
+            .withWordCount(JournalPreview.wordCount(newJournalEntryRequest.getBody()))
             .build();
 
         JournalEntry savedJournalEntry = journalEntryRepository.save(newJournalEntry);
+        eventPublisher.publishEvent(new JournalEntryChangedEvent(savedJournalEntry.getId(), ChangeType.CREATED,
+            List.of(), savedJournalEntry.getVersion()));
 
-        return new JournalResponse.Builder()
-            .withId(savedJournalEntry.getId())
-            .withDate(savedJournalEntry.getDate().toString())
-            .withBody(savedJournalEntry.getBody())
-            .build();
+        return journalToJournalResponse(savedJournalEntry);
     }
 
+    /**
+     * Overwrites date and body of an existing entry. If the request names the version it started from, the edit only
+     * applies while the entry is still at that version.
+     *
+     * @throws JournalEntryNotFoundException if there is no entry with the id
+     * @throws PatchConflictException if the entry has changed since the requested version
+     */
+    @Transactional
     public JournalResponse editJournalEntry(EditJournalEntryRequest editJournalEntryRequest) {
         if (editJournalEntryRequest.getId() == null || editJournalEntryRequest.getId().isEmpty()
             || editJournalEntryRequest.getId().isBlank()) {
@@ -61,15 +91,40 @@ public class JournalService {
             throw new InvalidProjectRequestException("Journal entry body cannot be empty or null");
         }
 
-        JournalEntry journalEntry = new JournalEntry.Builder()
-            .withId(editJournalEntryRequest.getId())
-            .withDate(LocalDate.parse(editJournalEntryRequest.getDate(), DateTimeFormatter.ISO_LOCAL_DATE))
-            .withBody(editJournalEntryRequest.getBody())
-            .build();
+        // One conditional UPDATE; the entry is only looked up again to explain why nothing was updated, or for the new
+        // version when the request did not name the one it started from
+        String id = editJournalEntryRequest.getId();
+        LocalDate date = LocalDate.parse(editJournalEntryRequest.getDate(), DateTimeFormatter.ISO_LOCAL_DATE);
+        String body = editJournalEntryRequest.getBody();
+        String preview = JournalPreview.preview(body);
+        int wordCount = JournalPreview.wordCount(body);
+        Long version = editJournalEntryRequest.getVersion();
+        int updated = version == null
+            ? journalEntryRepository.update(id, date, body, preview, wordCount)
+            : journalEntryRepository.updateIfVersion(id, version, date, body, preview, wordCount);
+        if (updated == 0) {
+            if (version != null && journalEntryRepository.existsById(id)) {
+                throw new PatchConflictException("Journal entry " + id + " has changed since version " + version);
+            }
+            throw new JournalEntryNotFoundException("Journal entry not found: " + id);
+        }
 
-        JournalEntry savedJournalEntry = journalEntryRepository.save(journalEntry);
+        // The updated row stays locked until commit, so the version read back is the one this edit wrote
+        long newVersion = version != null ? version + 1 : journalEntryRepository.findVersionById(id)
+            .orElseThrow(() -> new JournalEntryNotFoundException("Journal entry not found: " + id));
 
-        return journalToJournalResponse(savedJournalEntry);
+        // Without reading the entry the changed fields are unknown, so both are reported
+        eventPublisher.publishEvent(new JournalEntryChangedEvent(id, ChangeType.UPDATED,
+            List.of("entry_date", "entry_body"), newVersion));
+
+        return new JournalResponse.Builder()
+            .withId(id)
+            .withDate(date.toString())
+            .withBody(body)
+            .withPreview(preview)
+            .withWordCount(wordCount)
+            .withVersion(newVersion)
+            .build();
     }
 
     public List<JournalResponse> getAllJournalEntries() {
@@ -78,11 +133,103 @@ public class JournalService {
             .toList();
     }
 
-    private static JournalResponse journalToJournalResponse(JournalEntry journalEntry) {
+    @Transactional(readOnly = true)
+    public JournalResponse getJournalEntry(String id) {
+        return journalEntryRepository.findById(id)
+            .map(JournalService::journalToJournalResponse)
+            .orElseThrow(() -> new JournalEntryNotFoundException("Journal entry not found: " + id));
+    }
+
+    /**
+     * Returns one page of journal entries, newest first, with their previews; bodies are fetched one at a time through
+     * {@link #getJournalEntry(String)}. The page is read with a keyset query (before the date and id
+     * of the last entry of the previous page) on the date index, so the cost of a page does not grow with its position.
+     *
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param size requested page size, defaults to {@link Constants#DEFAULT_PAGE_SIZE} and is capped at
+     *             {@link Constants#MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public JournalPageResponse getJournalPage(String cursor, Integer size) {
+        int pageSize = ProjectService.resolvePageSize(size);
+        // Fetch one extra row to find out whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<JournalSummary> journalEntries;
+        if (cursor == null || cursor.isBlank()) {
+            journalEntries = journalEntryRepository.findAllByOrderByDateDescIdDesc(limit);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            LocalDate date = keys == null ? null : parseCursorDate(keys[0]);
+            if (date == null) {
+                throw new InvalidProjectRequestException("Invalid page cursor: " + cursor);
+            }
+            journalEntries = journalEntryRepository.findPageAfter(date, keys[1], limit);
+        }
+
+        boolean hasMore = journalEntries.size() > pageSize;
+        List<JournalSummary> page = hasMore ? journalEntries.subList(0, pageSize) : journalEntries;
+        String nextCursor = null;
+        if (hasMore) {
+            JournalSummary last = page.get(page.size() - 1);
+            nextCursor = PageCursor.encode(last.getDate().toString(), last.getId());
+        }
+
+        return new JournalPageResponse(
+            page.stream().map(JournalSummaryResponse::new).toList(),
+            nextCursor);
+    }
+
+    /**
+     * Returns the journal entries dated from {@code from} through {@code to}, newest first, e.g. those of a week or a
+     * month, with their previews. The range may span at most {@link Constants#MAX_JOURNAL_RANGE_DAYS} days.
+     */
+    @Transactional(readOnly = true)
+    public List<JournalSummaryResponse> getJournalEntriesBetween(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new InvalidProjectRequestException("Journal range needs both a start and an end date");
+        } else if (from.isAfter(to)) {
+            throw new InvalidProjectRequestException("Journal range start must not be after its end");
+        } else if (ChronoUnit.DAYS.between(from, to) >= Constants.MAX_JOURNAL_RANGE_DAYS) {
+            throw new InvalidProjectRequestException(
+                "Journal range cannot span more than " + Constants.MAX_JOURNAL_RANGE_DAYS + " days");
+        }
+
+        return journalEntryRepository.findByDateBetweenOrderByDateDescIdDesc(from, to).stream()
+            .map(JournalSummaryResponse::new)
+            .toList();
+    }
+
+    /**
+     * Hands every journal entry, ordered by date, to {@code action} while reading them from an open cursor. Each entry
+     * is detached once mapped, so memory use does not depend on the number of entries.
+     */
+    @Transactional(readOnly = true)
+    public void forEachJournalEntry(Consumer<JournalResponse> action) {
+        try (Stream<JournalEntry> journalEntries = journalEntryRepository.streamAll()) {
+            journalEntries.forEach(journalEntry -> {
+                action.accept(journalToJournalResponse(journalEntry));
+                entityManager.detach(journalEntry);
+            });
+        }
+    }
+
+    private static LocalDate parseCursorDate(String date) {
+        try {
+            return LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static JournalResponse journalToJournalResponse(JournalEntry journalEntry) {
         return new JournalResponse.Builder()
             .withId(journalEntry.getId())
             .withDate(journalEntry.getDate().toString())
             .withBody(journalEntry.getBody())
+            .withPreview(journalEntry.getPreview())
+            .withWordCount(journalEntry.getWordCount())
+            .withVersion(journalEntry.getVersion())
             .build();
     }
 }
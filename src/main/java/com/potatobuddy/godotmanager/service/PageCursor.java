@@ -0,0 +1,33 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by keyset-paginated listings. A cursor holds the sort key(s) of
+ * the last row of the previous page; clients must treat it as an opaque token and pass it back unchanged.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private PageCursor() {}
+
+    public static String encode(String... keys) {
+        String joined = String.join(SEPARATOR, keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded keys, or null if the cursor is malformed or does not hold the expected number of keys
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = joined.split(SEPARATOR, -1);
+            return keys.length == expectedKeys ? keys : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable prefix index over names: the normalized names sorted in one array, with their display form and number of
+ * occurrences in parallel arrays. A lookup is a binary search for the first name with the prefix followed by a scan of
+ * the matching range, keeping the most frequent names in a small heap.
+ */
+final class PrefixIndex {
+
+    static final PrefixIndex EMPTY = new PrefixIndex(Map.of());
+
+    /**
+     * A name and how many entities carry it.
+     */
+    record Entry(String name, int count) {}
+
+    // Most frequent first, then alphabetical
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt(Entry::count).reversed()
+        .thenComparing(Entry::name, String.CASE_INSENSITIVE_ORDER);
+
+    private final String[] keys;
+    private final String[] names;
+    private final int[] counts;
+
+    /**
+     * @param entries entries by {@link #normalize normalized} name
+     */
+    PrefixIndex(Map<String, Entry> entries) {
+        keys = entries.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        names = new String[keys.length];
+        counts = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Entry entry = entries.get(keys[i]);
+            names[i] = entry.name();
+            counts[i] = entry.count();
+        }
+    }
+
+    static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return up to {@code limit} names starting with {@code prefix} (ignoring case), most frequent first
+     */
+    List<Entry> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int index = Arrays.binarySearch(keys, key);
+        // Not found: the insertion point is the first key greater than the prefix
+        int start = index >= 0 ? index : -index - 1;
+
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int i = start; i < keys.length && keys[i].startsWith(key); i++) {
+            best.add(new Entry(names[i], counts[i]));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Entry> suggestions = new ArrayList<>(best);
+        suggestions.sort(RANKING);
+        return suggestions;
+    }
+}
@@ -0,0 +1,32 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.util.List;
+
+/**
+ * Change to a project, its tasks or its subtasks. Listeners that keep derived copies of a project (e.g. caches) drop
+ * them once the writing transaction has committed. The version is the project's, which every change below it bumps.
+ */
+public class ProjectChangedEvent extends EntityChangedEvent {
+
+    /** Changed field of a project event whose tasks or subtasks changed without being named one by one. */
+    public static final String TASKS_FIELD = "project_tasks";
+
+    private final String projectId;
+
+    public ProjectChangedEvent(String projectId, EntityType entityType, String entityId, ChangeType changeType,
+                               List<String> changedFields, Long version) {
+        super(entityType, entityId, changeType, changedFields, version);
+        this.projectId = projectId;
+    }
+
+    /**
+     * An update of the project's tasks as a whole, without details, e.g. rows added to it by an import.
+     */
+    public ProjectChangedEvent(String projectId) {
+        this(projectId, EntityType.PROJECT, projectId, ChangeType.UPDATED, List.of(TASKS_FIELD), null);
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+}
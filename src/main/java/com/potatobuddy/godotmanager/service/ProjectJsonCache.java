@@ -0,0 +1,78 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.config.CacheConfig;
+import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps {@code GET /project/{id}} responses as already serialized (and gzipped) bytes, so a hot read skips both the
+ * database and Jackson. Entries are evicted on every {@link ProjectChangedEvent}; a miss is rebuilt from the
+ * version-keyed aggregate cache of {@link ProjectService#getProjectAtVersion}.
+ */
+@Service
+public class ProjectJsonCache {
+
+    // Below this size gzip saves less than the cost of the extra header and decompression
+    static final int GZIP_MIN_BYTES = 512;
+
+    private ProjectService projectService;
+    private ObjectMapper objectMapper;
+    private CacheManager cacheManager;
+
+    @Autowired
+    public ProjectJsonCache(ProjectService projectService, ObjectMapper objectMapper, CacheManager cacheManager) {
+        this.projectService = projectService;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Returns the serialized project. A cached entry is only used if it is still at {@code eTag}, the version the
+     * caller just read. Anything else, such as an entry put back by a read that raced a write, is rebuilt from the
+     * database, and the rebuilt entry is only cached if it is at {@code eTag} too; a project that changed again in
+     * between is served but left for the next request to cache.
+     */
+    public EncodedJson getProjectJson(String id, String eTag) {
+        Cache cache = cacheManager.getCache(CacheConfig.PROJECT_JSON);
+        Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+        if (cached != null && ((EncodedJson) cached.get()).getETag().equals(eTag)) {
+            return (EncodedJson) cached.get();
+        }
+
+        EncodedJson encoded = encode(projectService.getProjectAtVersion(id, eTag));
+        if (cache != null && encoded.getETag().equals(eTag)) {
+            cache.put(id, encoded);
+        }
+        return encoded;
+    }
+
+    private EncodedJson encode(ProjectResponse response) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            return new EncodedJson(ProjectService.projectETag(response.getVersion()), json,
+                json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize project response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,570 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.dto.project.ProjectChangeCounts;
+import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.exceptions.DuplicateEntryException;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.exceptions.PatchConflictException;
+import com.potatobuddy.godotmanager.exceptions.ProjectNotFoundException;
+import com.potatobuddy.godotmanager.exceptions.TaskNotFoundException;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Applies RFC 7396 merge patches and RFC 6902 JSON Patch documents directly to the managed project graph. Only the
+ * fields a patch actually changes are written back by Hibernate's dirty checking. The response is the full project,
+ * so the aggregate is always loaded in one go.
+ */
+@Service
+public class ProjectPatchService {
+
+    static final String PROJECT_ID = "project_id";
+    static final String PROJECT_NAME = "project_name";
+    static final String PROJECT_DESCRIPTION = "project_description";
+    static final String PROJECT_TASKS = "project_tasks";
+    static final String SUBTASKS = "subtasks";
+    // JSON Pointer token for the end of an array
+    static final String APPEND = "-";
+
+    private ProjectRepository projectRepository;
+    private ProjectService projectService;
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    public ProjectPatchService(ProjectRepository projectRepository, ProjectService projectService,
+                               ObjectMapper objectMapper) {
+        this.projectRepository = projectRepository;
+        this.projectService = projectService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**------------------------------------------- Merge Patch -------------------------------------------------------*/
+
+    /**
+     * Applies a JSON merge patch. Members that are left out stay untouched; {@code project_tasks} replaces the task
+     * list as a whole (as arrays do in a merge patch) but is applied as a delta, so only changed tasks are written.
+     */
+    @Transactional
+    public ProjectResponse mergePatchProject(String id, JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new InvalidProjectRequestException("Merge patch must be a JSON object");
+        }
+
+        Project project = loadProject(id);
+        ProjectChangeCounts changes = new ProjectChangeCounts();
+
+        Iterator<Map.Entry<String, JsonNode>> members = mergePatch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            JsonNode value = member.getValue();
+            switch (member.getKey()) {
+                case PROJECT_ID -> checkProjectId(project, value);
+                case PROJECT_NAME, PROJECT_DESCRIPTION -> setProjectField(project, member.getKey(), value, changes);
+                case PROJECT_TASKS -> projectService.applyTasks(project, readList(value, Task.class), changes);
+                default -> throw new InvalidProjectRequestException("Unknown project field: " + member.getKey());
+            }
+        }
+
+        if (changes.hasChanges()) {
+            projectService.markProjectChanged(project, changes.getChangedFields());
+        }
+
+        ProjectResponse response = ProjectService.projectToProjectResponse(project);
+        response.setAppliedChanges(changes);
+        return response;
+    }
+
+    /**-------------------------------------------- JSON Patch -------------------------------------------------------*/
+
+    /**
+     * Applies a JSON Patch document. Tasks and subtasks are addressed by their id rather than their position, since
+     * the order of the lists is not stable between requests (e.g. {@code /project_tasks/{taskId}/subtasks/-}); a
+     * numeric segment that matches no id falls back to the position. {@code add}, {@code remove}, {@code replace} and
+     * {@code test} are supported. New tasks and subtasks can only be appended with {@code -}: the lists keep no order,
+     * so an insert at a position could not be honoured. The patch is applied atomically: a failing operation rolls
+     * back the whole document.
+     */
+    @Transactional
+    public ProjectResponse jsonPatchProject(String id, JsonNode jsonPatch) {
+        if (jsonPatch == null || !jsonPatch.isArray()) {
+            throw new InvalidProjectRequestException("JSON Patch must be an array of operations");
+        }
+
+        Project project = loadProject(id);
+        PatchChanges changes = new PatchChanges();
+
+        for (JsonNode operation : jsonPatch) {
+            applyOperation(project, operation, changes);
+        }
+
+        ProjectChangeCounts counts = changes.toCounts();
+        if (counts.hasChanges()) {
+            projectService.markProjectChanged(project, counts.getChangedFields());
+        }
+
+        ProjectResponse response = ProjectService.projectToProjectResponse(project);
+        response.setAppliedChanges(counts);
+        return response;
+    }
+
+    private void applyOperation(Project project, JsonNode operation, PatchChanges changes) {
+        String op = operation.path("op").asText();
+        if (!operation.hasNonNull("path")) {
+            throw new InvalidProjectRequestException("JSON Patch operation is missing a path");
+        }
+        String path = operation.get("path").asText();
+        List<String> segments = parsePointer(path);
+        JsonNode value = operation.get("value");
+
+        switch (op) {
+            case "add", "replace", "remove", "test" -> {}
+            case "move", "copy" -> throw new InvalidProjectRequestException("JSON Patch operation " + op + " is not supported");
+            default -> throw new InvalidProjectRequestException("Unknown JSON Patch operation: " + op);
+        }
+        if (!op.equals("remove") && value == null) {
+            throw new InvalidProjectRequestException("JSON Patch operation " + op + " at " + path + " needs a value");
+        }
+
+        if (segments.size() == 1) {
+            applyProjectOperation(project, op, segments.get(0), value, path, changes);
+        } else if (segments.get(0).equals(PROJECT_TASKS)) {
+            applyTaskOperation(project, op, segments, value, path, changes);
+        } else {
+            throw new InvalidProjectRequestException("Unknown JSON Patch path: " + path);
+        }
+    }
+
+    private void applyProjectOperation(Project project, String op, String field, JsonNode value, String path,
+                                       PatchChanges changes) {
+        switch (field) {
+            case PROJECT_ID -> {
+                if (!op.equals("test")) {
+                    throw new InvalidProjectRequestException("Project ID cannot be changed");
+                }
+                testValue(path, project.getId(), value);
+            }
+            case PROJECT_NAME, PROJECT_DESCRIPTION -> {
+                String current = field.equals(PROJECT_NAME) ? project.getName() : project.getDescription();
+                switch (op) {
+                    case "test" -> testValue(path, current, value);
+                    case "remove" -> throw new InvalidProjectRequestException("Project field " + field + " cannot be removed");
+                    default -> setProjectField(project, field, value, changes.counts);
+                }
+            }
+            case PROJECT_TASKS -> {
+                if (!op.equals("add") && !op.equals("replace")) {
+                    throw new InvalidProjectRequestException("JSON Patch operation " + op + " is not supported on " + path);
+                }
+                projectService.applyTasks(project, readList(value, Task.class), changes.counts);
+            }
+            default -> throw new InvalidProjectRequestException("Unknown JSON Patch path: " + path);
+        }
+    }
+
+    private void applyTaskOperation(Project project, String op, List<String> segments, JsonNode value, String path,
+                                    PatchChanges changes) {
+        if (segments.size() == 2) {
+            if (op.equals("add")) {
+                if (!segments.get(1).equals(APPEND)) {
+                    throw new InvalidProjectRequestException("New tasks are added at /" + PROJECT_TASKS + "/-");
+                }
+                addTask(project, value, changes);
+                return;
+            }
+
+            Task task = resolveTask(project, segments.get(1), path);
+            switch (op) {
+                case "remove" -> {
+                    // Orphan removal deletes the task and its subtasks
+                    project.getTasks().remove(task);
+                    task.setProject(null);
+                    changes.counts.incrementTasksDeleted();
+                }
+                case "replace" -> replaceTask(task, value, changes);
+                default -> throw new InvalidProjectRequestException("JSON Patch operation " + op + " is not supported on " + path);
+            }
+            return;
+        }
+
+        Task task = resolveTask(project, segments.get(1), path);
+        String field = segments.get(2);
+
+        if (!field.equals(SUBTASKS)) {
+            if (segments.size() != 3) {
+                throw new InvalidProjectRequestException("Unknown JSON Patch path: " + path);
+            }
+            applyFieldOperation(op, path, value, taskFieldValue(task, field),
+                fieldValue -> setTaskField(task, field, fieldValue), () -> changes.updatedTasks.add(task));
+            return;
+        }
+
+        if (segments.size() == 3) {
+            if (!op.equals("add") && !op.equals("replace")) {
+                throw new InvalidProjectRequestException("JSON Patch operation " + op + " is not supported on " + path);
+            }
+            projectService.applySubtasks(task, readList(value, Subtask.class), changes.counts);
+            return;
+        }
+
+        if (segments.size() == 4) {
+            if (op.equals("add")) {
+                if (!segments.get(3).equals(APPEND)) {
+                    throw new InvalidProjectRequestException("New subtasks are added at " + SUBTASKS + "/-");
+                }
+                addSubtask(task, value, changes);
+                return;
+            }
+
+            Subtask subtask = resolveSubtask(task, segments.get(3), path);
+            switch (op) {
+                case "remove" -> {
+                    task.getSubtasks().remove(subtask);
+                    subtask.setTask(null);
+                    changes.counts.incrementSubtasksDeleted();
+                }
+                case "replace" -> {
+                    Subtask incomingSubtask = readValue(value, Subtask.class);
+                    checkSameId(subtask.getId(), incomingSubtask.getId(), path);
+                    requireName(incomingSubtask.getName(), "Subtask");
+                    if (!subtask.mergeFields(incomingSubtask).isEmpty()) {
+                        changes.updatedSubtasks.add(subtask);
+                    }
+                }
+                default -> throw new InvalidProjectRequestException("JSON Patch operation " + op + " is not supported on " + path);
+            }
+            return;
+        }
+
+        if (segments.size() != 5) {
+            throw new InvalidProjectRequestException("Unknown JSON Patch path: " + path);
+        }
+        Subtask subtask = resolveSubtask(task, segments.get(3), path);
+        String subtaskField = segments.get(4);
+        applyFieldOperation(op, path, value, subtaskFieldValue(subtask, subtaskField),
+            fieldValue -> setSubtaskField(subtask, subtaskField, fieldValue), () -> changes.updatedSubtasks.add(subtask));
+    }
+
+    /**
+     * Runs a scalar field operation: {@code test} compares against the current value, {@code remove} clears the field
+     * and {@code add}/{@code replace} set it. The change is only recorded when the value actually differs.
+     */
+    private static void applyFieldOperation(String op, String path, JsonNode value, String current,
+                                            FieldSetter setter, Runnable onChange) {
+        boolean changed = switch (op) {
+            case "test" -> {
+                testValue(path, current, value);
+                yield false;
+            }
+            case "remove" -> setter.set(null);
+            default -> setter.set(patchText(value, path));
+        };
+        if (changed) {
+            onChange.run();
+        }
+    }
+
+    private void addTask(Project project, JsonNode value, PatchChanges changes) {
+        Task newTask = readValue(value, Task.class);
+        requireName(newTask.getName(), "Task");
+        if (newTask.getTaskType() == null) {
+            newTask.setTaskType(Constants.TASK_TYPE_ACTIVE);
+        }
+        ProjectService.validateTaskType(newTask.getTaskType());
+
+        if (newTask.getId() == null || newTask.getId().isEmpty()) {
+            projectService.assignTaskId(newTask);
+        } else if (findTask(project, newTask.getId()) != null) {
+            throw new DuplicateEntryException("Task with id: " + newTask.getId() + " already exists in project "
+                + project.getName());
+        }
+
+        if (newTask.getSubtasks() == null) {
+            newTask.setSubtasks(new ArrayList<>());
+        }
+        for (Subtask newSubtask : newTask.getSubtasks()) {
+            if (newSubtask.getId() == null || newSubtask.getId().isEmpty()) {
+                projectService.assignSubtaskId(newSubtask);
+            }
+            newSubtask.setTask(newTask);
+            changes.counts.incrementSubtasksInserted();
+        }
+        project.addTask(newTask);
+        changes.counts.incrementTasksInserted();
+    }
+
+    private void replaceTask(Task task, JsonNode value, PatchChanges changes) {
+        Task incomingTask = readValue(value, Task.class);
+        checkSameId(task.getId(), incomingTask.getId(), "task");
+        requireName(incomingTask.getName(), "Task");
+        if (incomingTask.getTaskType() != null) {
+            ProjectService.validateTaskType(incomingTask.getTaskType());
+        }
+
+        if (!task.mergeFields(incomingTask).isEmpty()) {
+            changes.updatedTasks.add(task);
+        }
+        // A replaced task without a subtasks member has no subtasks
+        List<Subtask> incomingSubtasks = incomingTask.getSubtasks() != null ? incomingTask.getSubtasks() : List.of();
+        projectService.applySubtasks(task, incomingSubtasks, changes.counts);
+    }
+
+    private void addSubtask(Task task, JsonNode value, PatchChanges changes) {
+        Subtask newSubtask = readValue(value, Subtask.class);
+        requireName(newSubtask.getName(), "Subtask");
+
+        if (newSubtask.getId() == null || newSubtask.getId().isEmpty()) {
+            projectService.assignSubtaskId(newSubtask);
+        } else if (task.getSubtasks().stream().anyMatch(subtask -> newSubtask.getId().equals(subtask.getId()))) {
+            throw new DuplicateEntryException("Subtask with id: " + newSubtask.getId() + " already exists in task "
+                + task.getName());
+        }
+
+        task.addSubtask(newSubtask);
+        changes.counts.incrementSubtasksInserted();
+    }
+
+    /**---------------------------------------------- Fields ---------------------------------------------------------*/
+
+    private static void setProjectField(Project project, String field, JsonNode value, ProjectChangeCounts changes) {
+        if (value == null || !value.isTextual() || value.asText().isBlank()) {
+            throw new InvalidProjectRequestException("Project field " + field + " cannot be empty or null");
+        }
+
+        String text = value.asText();
+        if (field.equals(PROJECT_NAME) && !text.equals(project.getName())) {
+            project.setName(text);
+            changes.markProjectUpdated(PROJECT_NAME);
+        } else if (field.equals(PROJECT_DESCRIPTION) && !text.equals(project.getDescription())) {
+            project.setDescription(text);
+            changes.markProjectUpdated(PROJECT_DESCRIPTION);
+        }
+    }
+
+    private static String taskFieldValue(Task task, String field) {
+        return switch (field) {
+            case "name" -> task.getName();
+            case "description" -> task.getDescription();
+            case "status" -> task.getStatus();
+            case "dueDate" -> task.getDueDate() != null ? task.getDueDate().toString() : null;
+            case "difficulty" -> task.getDifficulty();
+            case "task_type" -> task.getTaskType();
+            default -> throw new InvalidProjectRequestException("Unknown task field: " + field);
+        };
+    }
+
+    /**
+     * Sets one field through {@link Task#mergeFields}, so setting a field to its current value leaves the task clean.
+     */
+    private static boolean setTaskField(Task task, String field, String value) {
+        Task.Builder source = new Task.Builder()
+            .withName(task.getName())
+            .withDescription(task.getDescription())
+            .withStatus(task.getStatus())
+            .withDueDate(task.getDueDate())
+            .withDifficulty(task.getDifficulty())
+            .withTaskType(task.getTaskType());
+
+        switch (field) {
+            case "name" -> source.withName(requireName(value, "Task"));
+            case "description" -> source.withDescription(value);
+            case "status" -> source.withStatus(value);
+            case "dueDate" -> source.withDueDate(value != null ? ProjectService.parseDueDate(value) : null);
+            case "difficulty" -> source.withDifficulty(value);
+            case "task_type" -> {
+                ProjectService.validateTaskType(value);
+                source.withTaskType(value);
+            }
+            default -> throw new InvalidProjectRequestException("Unknown task field: " + field);
+        }
+
+        return !task.mergeFields(source.build()).isEmpty();
+    }
+
+    private static String subtaskFieldValue(Subtask subtask, String field) {
+        return switch (field) {
+            case "name" -> subtask.getName();
+            case "description" -> subtask.getDescription();
+            case "status" -> subtask.getStatus();
+            case "dueDate" -> subtask.getDueDate() != null ? subtask.getDueDate().toString() : null;
+            case "difficulty" -> subtask.getDifficulty();
+            default -> throw new InvalidProjectRequestException("Unknown subtask field: " + field);
+        };
+    }
+
+    private static boolean setSubtaskField(Subtask subtask, String field, String value) {
+        Subtask.Builder source = new Subtask.Builder()
+            .withName(subtask.getName())
+            .withDescription(subtask.getDescription())
+            .withStatus(subtask.getStatus())
+            .withDueDate(subtask.getDueDate())
+            .withDifficulty(subtask.getDifficulty());
+
+        switch (field) {
+            case "name" -> source.withName(requireName(value, "Subtask"));
+            case "description" -> source.withDescription(value);
+            case "status" -> source.withStatus(value);
+            case "dueDate" -> source.withDueDate(value != null ? ProjectService.parseDueDate(value) : null);
+            case "difficulty" -> source.withDifficulty(value);
+            default -> throw new InvalidProjectRequestException("Unknown subtask field: " + field);
+        }
+
+        return !subtask.mergeFields(source.build()).isEmpty();
+    }
+
+    /**------------------------------------------- Utility Methods ---------------------------------------------------*/
+
+    /**
+     * Loads the full aggregate: the response carries every task, so loading them later would only add statements.
+     */
+    private Project loadProject(String id) {
+        if (id == null || id.isEmpty() || id.isBlank()) {
+            throw new InvalidProjectRequestException("Project ID cannot be empty or null");
+        }
+
+        return projectRepository.findById(id)
+            .orElseThrow(() -> new ProjectNotFoundException("Project not found with ID: " + id));
+    }
+
+    private static Task resolveTask(Project project, String reference, String path) {
+        Task task = findTask(project, reference);
+        if (task == null && isIndex(reference) && Integer.parseInt(reference) < project.getTasks().size()) {
+            task = project.getTasks().get(Integer.parseInt(reference));
+        }
+        if (task == null) {
+            throw new TaskNotFoundException("Task not found with ID: " + reference + " for path " + path);
+        }
+        return task;
+    }
+
+    private static Task findTask(Project project, String taskId) {
+        for (Task task : project.getTasks()) {
+            if (taskId.equals(task.getId())) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private static Subtask resolveSubtask(Task task, String reference, String path) {
+        List<Subtask> subtasks = task.getSubtasks();
+        for (Subtask subtask : subtasks) {
+            if (reference.equals(subtask.getId())) {
+                return subtask;
+            }
+        }
+        if (isIndex(reference) && Integer.parseInt(reference) < subtasks.size()) {
+            return subtasks.get(Integer.parseInt(reference));
+        }
+        throw new TaskNotFoundException("Subtask not found with ID: " + reference + " for path " + path);
+    }
+
+    /**
+     * Splits a JSON Pointer (RFC 6901) into its unescaped reference tokens.
+     */
+    static List<String> parsePointer(String pointer) {
+        if (pointer.isEmpty() || pointer.charAt(0) != '/') {
+            throw new InvalidProjectRequestException("JSON Patch path must start with '/': " + pointer);
+        }
+
+        List<String> segments = new ArrayList<>();
+        for (String token : pointer.substring(1).split("/", -1)) {
+            segments.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+        return segments;
+    }
+
+    private static boolean isIndex(String segment) {
+        return !segment.isEmpty() && segment.length() < 10 && segment.chars().allMatch(Character::isDigit);
+    }
+
+    private static void testValue(String path, String current, JsonNode expected) {
+        String expectedText = expected.isNull() ? null : expected.asText();
+        if (!Objects.equals(current, expectedText)) {
+            throw new PatchConflictException("Test failed at " + path + ": expected " + expectedText
+                + " but was " + current);
+        }
+    }
+
+    private static String patchText(JsonNode value, String path) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isValueNode()) {
+            throw new InvalidProjectRequestException("Value at " + path + " must be a string");
+        }
+        return value.asText();
+    }
+
+    private static String requireName(String name, String entity) {
+        if (name == null || name.isBlank()) {
+            throw new InvalidProjectRequestException(entity + " name cannot be empty or null");
+        }
+        return name;
+    }
+
+    private static void checkProjectId(Project project, JsonNode value) {
+        if (!value.isTextual() || !project.getId().equals(value.asText())) {
+            throw new InvalidProjectRequestException("Project ID cannot be changed");
+        }
+    }
+
+    private static void checkSameId(String currentId, String incomingId, String path) {
+        if (incomingId != null && !incomingId.equals(currentId)) {
+            throw new InvalidProjectRequestException("ID of " + path + " cannot be changed");
+        }
+    }
+
+    private <T> T readValue(JsonNode value, Class<T> type) {
+        if (value == null || !value.isObject()) {
+            throw new InvalidProjectRequestException("Expected a JSON object for " + type.getSimpleName().toLowerCase());
+        }
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidProjectRequestException("Invalid " + type.getSimpleName().toLowerCase() + ": "
+                + e.getOriginalMessage());
+        }
+    }
+
+    private <T> List<T> readList(JsonNode value, Class<T> type) {
+        if (value == null || !value.isArray()) {
+            throw new InvalidProjectRequestException("Expected a JSON array of " + type.getSimpleName().toLowerCase() + "s");
+        }
+        List<T> items = new ArrayList<>();
+        for (JsonNode item : value) {
+            items.add(readValue(item, type));
+        }
+        return items;
+    }
+
+    @FunctionalInterface
+    private interface FieldSetter {
+        boolean set(String value);
+    }
+
+    /**
+     * Change counts of a JSON Patch; several operations on the same row count as a single update.
+     */
+    private static class PatchChanges {
+        private final ProjectChangeCounts counts = new ProjectChangeCounts();
+        private final Set<Task> updatedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Set<Subtask> updatedSubtasks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private ProjectChangeCounts toCounts() {
+            updatedTasks.forEach(task -> counts.incrementTasksUpdated());
+            updatedSubtasks.forEach(subtask -> counts.incrementSubtasksUpdated());
+            return counts;
+        }
+    }
+}
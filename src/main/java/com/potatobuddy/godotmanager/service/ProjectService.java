@@ -1,34 +1,76 @@
 package com.potatobuddy.godotmanager.service;
 
+import com.potatobuddy.godotmanager.config.CacheConfig;
 import com.potatobuddy.godotmanager.dto.project.NewProjectRequest;
+import com.potatobuddy.godotmanager.dto.project.ProjectChangeCounts;
+import com.potatobuddy.godotmanager.dto.project.ProjectPageResponse;
 import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.dto.project.ProjectSummaryResponse;
+import com.potatobuddy.godotmanager.dto.project.SubtaskRequest;
+import com.potatobuddy.godotmanager.dto.project.TaskRequest;
 import com.potatobuddy.godotmanager.dto.project.UpdateProjectRequest;
+import com.potatobuddy.godotmanager.dto.project.VersionTag;
 import com.potatobuddy.godotmanager.exceptions.DuplicateEntryException;
 import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
 import com.potatobuddy.godotmanager.exceptions.ProjectNotFoundException;
+import com.potatobuddy.godotmanager.exceptions.TaskNotFoundException;
+import com.potatobuddy.godotmanager.model.Constants;
 import com.potatobuddy.godotmanager.model.Project;
 import com.potatobuddy.godotmanager.model.Subtask;
 import com.potatobuddy.godotmanager.model.Task;
 import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.repository.projection.ProjectVersion;
+import com.potatobuddy.godotmanager.repository.projection.TaskStatusCount;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProjectService {
 
     private ProjectRepository projectRepository;
+    private TaskRepository taskRepository;
+    private SubtaskRepository subtaskRepository;
+    private IdGenerator idGenerator;
+    private ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                          SubtaskRepository subtaskRepository, IdGenerator idGenerator,
+                          ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.subtaskRepository = subtaskRepository;
+        this.idGenerator = idGenerator;
+        this.eventPublisher = eventPublisher;
     }
 
     /**------------------------------------------- Project Methods ---------------------------------------------------*/
 
+    @Transactional
     public ProjectResponse createProject(NewProjectRequest newProjectRequest) {
         if (newProjectRequest.getName() == null || newProjectRequest.getName().isEmpty() || newProjectRequest.getName().isBlank()) {
             throw new InvalidProjectRequestException("Project name cannot be empty or null");
@@ -37,22 +79,112 @@ public class ProjectService {
         }
 
         Project newProject = new Project.Builder()
-            .withId(UUID.randomUUID().toString())
+            .withId(idGenerator.newId())
             .withName(newProjectRequest.getName())
             .withDescription(newProjectRequest.getDescription())
             .build();
 
         Project savedProject = projectRepository.save(newProject);
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId(), EntityType.PROJECT,
+            savedProject.getId(), ChangeType.CREATED, List.of(), savedProject.getVersion()));
 
         return projectToProjectResponse(savedProject);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getAllProjects() {
         return projectRepository.findAll().stream()
             .map(ProjectService::projectToProjectResponse)
             .toList();
     }
 
+    /**
+     * Hands every project to {@code action} while reading them from an open cursor, so memory use does not depend on
+     * the number of projects. Projects are mapped in chunks: the tasks of a chunk are batch-loaded with one query and
+     * their subtasks with one subselect, then the chunk is detached before the next one is read.
+     */
+    @Transactional(readOnly = true)
+    public void forEachProject(Consumer<ProjectResponse> action) {
+        List<Project> chunk = new ArrayList<>(Constants.STREAM_FETCH_SIZE);
+        try (Stream<Project> projects = projectRepository.streamAll()) {
+            Iterator<Project> iterator = projects.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == Constants.STREAM_FETCH_SIZE || !iterator.hasNext()) {
+                    chunk.forEach(project -> action.accept(projectToProjectResponse(project)));
+                    // Detaching cascades to the tasks and subtasks
+                    chunk.forEach(entityManager::detach);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns one page of projects ordered by id. The page is read with a keyset query (id > last id of the previous
+     * page) so the cost of a page does not grow with its position, and only the projects of this page are loaded.
+     *
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param size requested page size, defaults to {@link Constants#DEFAULT_PAGE_SIZE} and is capped at
+     *             {@link Constants#MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public ProjectPageResponse getProjectPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to find out whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Project> projects;
+        if (cursor == null || cursor.isBlank()) {
+            projects = projectRepository.findAllByOrderByIdAsc(limit);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 1);
+            if (keys == null) {
+                throw new InvalidProjectRequestException("Invalid page cursor: " + cursor);
+            }
+            projects = projectRepository.findByIdGreaterThanOrderByIdAsc(keys[0], limit);
+        }
+
+        boolean hasMore = projects.size() > pageSize;
+        List<Project> page = hasMore ? projects.subList(0, pageSize) : projects;
+        String nextCursor = hasMore ? PageCursor.encode(page.get(page.size() - 1).getId()) : null;
+
+        return new ProjectPageResponse(
+            page.stream().map(ProjectService::projectToProjectResponse).toList(),
+            nextCursor);
+    }
+
+    /**
+     * Returns name, description and task counts of every project. The counts are computed by two aggregate queries
+     * (one row per project and one row per project and status), so no Task or Subtask rows are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectSummaryResponse> getProjectSummaries() {
+        Map<String, Map<String, Long>> statusCountsByProject = new HashMap<>();
+        for (TaskStatusCount statusCount : projectRepository.findTaskStatusCounts()) {
+            statusCountsByProject.computeIfAbsent(statusCount.getProjectId(), projectId -> new LinkedHashMap<>())
+                .put(statusCount.getStatus(), statusCount.getTaskCount());
+        }
+
+        return projectRepository.findProjectTaskCounts(Constants.TASK_TYPE_ACTIVE, Constants.TASK_TYPE_BACKLOG,
+                Constants.TASK_STATUS_FINISHED, LocalDate.now()).stream()
+            .map(counts -> new ProjectSummaryResponse.Builder()
+                .withId(counts.getId())
+                .withName(counts.getName())
+                .withDescription(counts.getDescription())
+                .withTaskCount(counts.getTaskCount())
+                .withActiveTaskCount(counts.getActiveTaskCount())
+                .withBacklogTaskCount(counts.getBacklogTaskCount())
+                .withOverdueTaskCount(counts.getOverdueTaskCount())
+                .withStatusCounts(statusCountsByProject.getOrDefault(counts.getId(), Map.of()))
+                .build())
+            .toList();
+    }
+
+    /**
+     * Returns the full project, always read from the database.
+     */
+    @Transactional(readOnly = true)
     public ProjectResponse getProjectById(String id) {
         if (id == null || id.isEmpty() || id.isBlank()) {
             throw new InvalidProjectRequestException("Project ID cannot be empty or null");
@@ -64,6 +196,52 @@ public class ProjectService {
         return projectToProjectResponse(project);
     }
 
+    /**
+     * Returns the full project the caller expects at {@code eTag}, as read by {@link #getProjectVersionTag}. The
+     * assembled response is cached by id and version, and only if it really is at that version: a project that changed
+     * again in between is returned but not cached. An entry therefore always holds the state its key names, and
+     * entries of older versions are simply no longer looked up.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, key = "#id + '/' + #eTag",
+        unless = "!#eTag.equals(T(com.potatobuddy.godotmanager.service.ProjectService).projectETag(#result.version))")
+    public ProjectResponse getProjectAtVersion(String id, String eTag) {
+        return getProjectById(id);
+    }
+
+    /**
+     * Version of a single project for conditional requests; reads only the project row's version columns.
+     */
+    @Transactional(readOnly = true)
+    public VersionTag getProjectVersionTag(String id) {
+        if (id == null || id.isEmpty() || id.isBlank()) {
+            throw new InvalidProjectRequestException("Project ID cannot be empty or null");
+        }
+
+        ProjectVersion version = projectRepository.findVersionById(id)
+            .orElseThrow(() -> new ProjectNotFoundException("Project not found with ID: " + id));
+
+        return new VersionTag(projectETag(version.getVersion()), version.getLastModified());
+    }
+
+    /**
+     * Version of the whole project list: a digest over every project's id and version, which changes with any
+     * create, update or delete. Reads one index-sized row per project instead of the full aggregates.
+     * <p>
+     * Carries no last-modified time: the newest one among the remaining projects does not advance when a project is
+     * deleted, so an {@code If-Modified-Since} check against it would answer 304 for a list that lost an entry.
+     */
+    @Transactional(readOnly = true)
+    public VersionTag getAllProjectsVersionTag() {
+        MessageDigest digest = sha256();
+        for (ProjectVersion version : projectRepository.findAllVersions()) {
+            digest.update((version.getId() + ':' + version.getVersion() + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+
+        return new VersionTag(HexFormat.of().formatHex(digest.digest(), 0, 16), null);
+    }
+
+    @Transactional
     public void deleteProject(String id) {
         if (id == null || id.isEmpty() || id.isBlank()) {
             throw new InvalidProjectRequestException("Project ID cannot be empty or null");
@@ -74,8 +252,11 @@ public class ProjectService {
         }
 
         projectRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, EntityType.PROJECT, id, ChangeType.DELETED, List.of(),
+            null));
     }
 
+    @Transactional
     public ProjectResponse updateProject(UpdateProjectRequest updateProjectRequest) {
         // Null checks
         if (updateProjectRequest.getId() == null || updateProjectRequest.getId().isEmpty() || updateProjectRequest.getId().isBlank()) {
@@ -91,71 +272,461 @@ public class ProjectService {
         Project projectToUpdate = projectRepository.findById(updateProjectRequest.getId())
             .orElseThrow(() -> new ProjectNotFoundException("Project not found with ID: " + updateProjectRequest.getId()));
 
-        // Update the project fields
-        projectToUpdate.setName(updateProjectRequest.getName());
-        projectToUpdate.setDescription(updateProjectRequest.getDescription());
+        ProjectChangeCounts changes = new ProjectChangeCounts();
 
-        // Map for checking Duplicates
-        List<String> ids = new ArrayList<>();
+        // Update the project fields that changed
+        if (!Objects.equals(projectToUpdate.getName(), updateProjectRequest.getName())) {
+            projectToUpdate.setName(updateProjectRequest.getName());
+            changes.markProjectUpdated(ProjectPatchService.PROJECT_NAME);
+        }
+        if (!Objects.equals(projectToUpdate.getDescription(), updateProjectRequest.getDescription())) {
+            projectToUpdate.setDescription(updateProjectRequest.getDescription());
+            changes.markProjectUpdated(ProjectPatchService.PROJECT_DESCRIPTION);
+        }
+
+        // A request without a task list leaves the tasks untouched
+        if (updateProjectRequest.getTasks() != null) {
+            applyTasks(projectToUpdate, updateProjectRequest.getTasks(), changes);
+        }
+
+        // The project is managed, so this only cascades to the newly added tasks and subtasks
+        Project savedProject = projectRepository.save(projectToUpdate);
+        if (changes.hasChanges()) {
+            markProjectChanged(savedProject, changes.getChangedFields());
+        }
+
+        ProjectResponse response = projectToProjectResponse(savedProject);
+        response.setAppliedChanges(changes);
+        return response;
+    }
 
-        // Clear existing tasks (if necessary) and add updated tasks
-        projectToUpdate.getTasks().clear();
+    /**
+     * Applies the incoming task list to the project as a delta: tasks and subtasks are matched by id, matched ones only
+     * get their changed fields written, new ones are inserted and the ones missing from the list are deleted. Untouched
+     * rows cause no SQL at all.
+     *
+     * @throws DuplicateEntryException if a task or subtask id occurs twice in the list
+     * @throws InvalidProjectRequestException if a new task or subtask brings an id that is already taken elsewhere
+     */
+    void applyTasks(Project project, List<Task> incomingTasks, ProjectChangeCounts changes) {
+        Map<String, Task> existingTasks = new HashMap<>();
+        for (Task existingTask : project.getTasks()) {
+            if (existingTask.getId() != null) {
+                existingTasks.put(existingTask.getId(), existingTask);
+            }
+        }
 
-        for (Task incomingTask : updateProjectRequest.getTasks()) {
+        // Map for checking Duplicates
+        Set<String> ids = new HashSet<>();
+        Set<String> subtaskIds = new HashSet<>();
+        // Ids the request chose itself for new rows; they must not be taken by a task or subtask elsewhere
+        Set<String> newTaskIds = new HashSet<>();
+        Set<String> newSubtaskIds = new HashSet<>();
+        // Resulting task list in request order, compared by identity since the entities' equals is value based
+        List<Task> resultingTasks = new ArrayList<>();
+        Set<Task> retainedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // Copy first, the incoming list may be the project's own collection
+        for (Task incomingTask : new ArrayList<>(incomingTasks)) {
             // If a task doesn't have an ID, generate one
-            if (incomingTask.getId() == null || incomingTask.getId().isEmpty()) {
+            boolean generatedId = incomingTask.getId() == null || incomingTask.getId().isEmpty();
+            if (generatedId) {
                 assignTaskId(incomingTask);
             }
 
             // Check for duplicate entry
-            if (ids.contains(incomingTask.getId())) {
+            if (!ids.add(incomingTask.getId())) {
                 throw new DuplicateEntryException("Task with id: " + incomingTask.getId() + " and name "
-                    + incomingTask.getName() + " in project " + updateProjectRequest.getName()
+                    + incomingTask.getName() + " in project " + project.getName()
                     + " is duplicated between active and backlog tasks!");
-            } else {
-                ids.add(incomingTask.getId());
             }
 
             // Set the project relationship for each Task
-            incomingTask.setProject(projectToUpdate);
+            incomingTask.setProject(project);
 
-            // Handle subtasks for each task
-            for (Subtask incomingSubtask : incomingTask.getSubtasks()) {
-                if (incomingSubtask.getId() == null || incomingSubtask.getId().isEmpty()) {
-                    assignSubtaskId(incomingSubtask);
+            Task existingTask = existingTasks.get(incomingTask.getId());
+            if (existingTask == null) {
+                if (!generatedId) {
+                    newTaskIds.add(incomingTask.getId());
+                }
+                // New task, inserted together with all of its subtasks
+                if (incomingTask.getSubtasks() == null) {
+                    incomingTask.setSubtasks(new ArrayList<>());
                 }
+                for (Subtask incomingSubtask : incomingTask.getSubtasks()) {
+                    if (incomingSubtask.getId() == null || incomingSubtask.getId().isEmpty()) {
+                        assignSubtaskId(incomingSubtask);
+                    } else {
+                        checkDuplicateSubtask(incomingSubtask, subtaskIds);
+                        newSubtaskIds.add(incomingSubtask.getId());
+                    }
+                    incomingSubtask.setTask(incomingTask);
+                    changes.incrementSubtasksInserted();
+                }
+                resultingTasks.add(incomingTask);
+                changes.incrementTasksInserted();
+            } else {
+                if (!existingTask.mergeFields(incomingTask).isEmpty()) {
+                    changes.incrementTasksUpdated();
+                }
+                if (incomingTask.getSubtasks() != null) {
+                    applySubtasks(existingTask, incomingTask.getSubtasks(), changes, subtaskIds, newSubtaskIds);
+                }
+                resultingTasks.add(existingTask);
+                retainedTasks.add(existingTask);
+            }
+        }
+
+        rejectTakenIds(newTaskIds, newSubtaskIds);
 
-                // Set the task relationship correctly for each subtask
-                incomingSubtask.setTask(incomingTask);
+        for (Task existingTask : existingTasks.values()) {
+            if (!retainedTasks.contains(existingTask)) {
+                // Orphan removal deletes the task and its subtasks
+                existingTask.setProject(null);
+                changes.incrementTasksDeleted();
             }
+        }
+
+        // The collection is the inverse side, so reordering it issues no SQL
+        project.getTasks().clear();
+        resultingTasks.forEach(project::addTask);
+    }
 
-            // Add the task (with subtasks) to the project
-            projectToUpdate.addTask(incomingTask);
+    /**
+     * Applies the incoming subtask list to the task as a delta, like {@link #applyTasks} does for tasks.
+     *
+     * @throws DuplicateEntryException if a subtask id occurs twice in the list
+     * @throws InvalidProjectRequestException if a new subtask brings an id that is already taken by another task's
+     * subtask
+     */
+    void applySubtasks(Task task, List<Subtask> incomingSubtasks, ProjectChangeCounts changes) {
+        Set<String> newSubtaskIds = new HashSet<>();
+        applySubtasks(task, incomingSubtasks, changes, new HashSet<>(), newSubtaskIds);
+        rejectTakenIds(Set.of(), newSubtaskIds);
+    }
+
+    private void applySubtasks(Task task, List<Subtask> incomingSubtasks, ProjectChangeCounts changes,
+                               Set<String> subtaskIds, Set<String> newSubtaskIds) {
+        Map<String, Subtask> existingSubtasks = new HashMap<>();
+        for (Subtask existingSubtask : task.getSubtasks()) {
+            if (existingSubtask.getId() != null) {
+                existingSubtasks.put(existingSubtask.getId(), existingSubtask);
+            }
         }
 
-        // Save the updated project and return the response
-        Project savedProject = projectRepository.save(projectToUpdate);
+        List<Subtask> resultingSubtasks = new ArrayList<>();
+        Set<Subtask> retainedSubtasks = Collections.newSetFromMap(new IdentityHashMap<>());
 
-        return projectToProjectResponse(savedProject);
+        for (Subtask incomingSubtask : new ArrayList<>(incomingSubtasks)) {
+            boolean generatedId = incomingSubtask.getId() == null || incomingSubtask.getId().isEmpty();
+            if (generatedId) {
+                assignSubtaskId(incomingSubtask);
+            } else {
+                checkDuplicateSubtask(incomingSubtask, subtaskIds);
+            }
+
+            Subtask existingSubtask = existingSubtasks.get(incomingSubtask.getId());
+            if (existingSubtask == null) {
+                if (!generatedId) {
+                    newSubtaskIds.add(incomingSubtask.getId());
+                }
+                resultingSubtasks.add(incomingSubtask);
+                changes.incrementSubtasksInserted();
+            } else {
+                if (!existingSubtask.mergeFields(incomingSubtask).isEmpty()) {
+                    changes.incrementSubtasksUpdated();
+                }
+                resultingSubtasks.add(existingSubtask);
+                retainedSubtasks.add(existingSubtask);
+            }
+        }
+
+        for (Subtask existingSubtask : existingSubtasks.values()) {
+            if (!retainedSubtasks.contains(existingSubtask)) {
+                existingSubtask.setTask(null);
+                changes.incrementSubtasksDeleted();
+            }
+        }
+
+        task.getSubtasks().clear();
+        resultingSubtasks.forEach(task::addSubtask);
+    }
+
+    private static void checkDuplicateSubtask(Subtask subtask, Set<String> subtaskIds) {
+        if (!subtaskIds.add(subtask.getId())) {
+            throw new DuplicateEntryException("Subtask with id: " + subtask.getId() + " and name " + subtask.getName()
+                + " is duplicated in the request!");
+        }
+    }
+
+    /**
+     * Rejects ids that a request chose for new tasks or subtasks but that already belong to a task of another project
+     * or a subtask of another task; inserting them would fail on the primary key, or silently move the row. One
+     * index-only query per kind, and none when every new row had its id generated.
+     */
+    private void rejectTakenIds(Set<String> newTaskIds, Set<String> newSubtaskIds) {
+        if (!newTaskIds.isEmpty()) {
+            List<String> taken = taskRepository.findExistingIds(newTaskIds);
+            if (!taken.isEmpty()) {
+                throw new InvalidProjectRequestException("Task ids already belong to another project: " + taken);
+            }
+        }
+        if (!newSubtaskIds.isEmpty()) {
+            List<String> taken = subtaskRepository.findExistingIds(newSubtaskIds);
+            if (!taken.isEmpty()) {
+                throw new InvalidProjectRequestException("Subtask ids already belong to another task: " + taken);
+            }
+        }
+    }
+
+    /**--------------------------------------------- Task Methods ----------------------------------------------------*/
+
+    /**
+     * Adds a single task to a project without loading the project's other tasks.
+     */
+    @Transactional
+    public Task createTask(String projectId, TaskRequest taskRequest) {
+        if (projectId == null || projectId.isEmpty() || projectId.isBlank()) {
+            throw new InvalidProjectRequestException("Project ID cannot be empty or null");
+        } else if (taskRequest.getName() == null || taskRequest.getName().isEmpty() || taskRequest.getName().isBlank()) {
+            throw new InvalidProjectRequestException("Task name cannot be empty or null");
+        }
+
+        if (!projectRepository.existsById(projectId)) {
+            throw new ProjectNotFoundException("Project not found with ID: " + projectId);
+        }
+
+        Task newTask = new Task.Builder()
+            .withTaskType(Constants.TASK_TYPE_ACTIVE)
+            .withProject(projectRepository.getReferenceById(projectId))
+            .build();
+        assignTaskId(newTask);
+        applyTaskRequest(newTask, taskRequest);
+        markProjectChanged(projectId, EntityType.TASK, newTask.getId(), ChangeType.CREATED, List.of());
+
+        return taskRepository.save(newTask);
+    }
+
+    /**
+     * Applies the non-null fields of the request to a single task; only the task row is read and written.
+     */
+    @Transactional
+    public Task updateTask(String projectId, String taskId, TaskRequest taskRequest) {
+        Task task = findTask(projectId, taskId);
+        if (taskRequest.getName() != null && taskRequest.getName().isBlank()) {
+            throw new InvalidProjectRequestException("Task name cannot be empty");
+        }
+
+        List<String> changedFields = applyTaskRequest(task, taskRequest);
+        if (!changedFields.isEmpty()) {
+            markProjectChanged(projectId, EntityType.TASK, taskId, ChangeType.UPDATED, changedFields);
+        }
+
+        return task;
+    }
+
+    @Transactional
+    public void deleteTask(String projectId, String taskId) {
+        taskRepository.delete(findTask(projectId, taskId));
+        markProjectChanged(projectId, EntityType.TASK, taskId, ChangeType.DELETED, List.of());
+    }
+
+    /**------------------------------------------- Subtask Methods ---------------------------------------------------*/
+
+    @Transactional
+    public Subtask createSubtask(String projectId, String taskId, SubtaskRequest subtaskRequest) {
+        if (subtaskRequest.getName() == null || subtaskRequest.getName().isEmpty() || subtaskRequest.getName().isBlank()) {
+            throw new InvalidProjectRequestException("Subtask name cannot be empty or null");
+        }
+        validateTaskIds(projectId, taskId);
+
+        if (!taskRepository.existsByIdAndProjectId(taskId, projectId)) {
+            throw new TaskNotFoundException("Task not found with ID: " + taskId + " in project " + projectId);
+        }
+
+        Subtask newSubtask = new Subtask.Builder()
+            .withTask(taskRepository.getReferenceById(taskId))
+            .build();
+        assignSubtaskId(newSubtask);
+        applySubtaskRequest(newSubtask, subtaskRequest);
+        markProjectChanged(projectId, EntityType.SUBTASK, newSubtask.getId(), ChangeType.CREATED, List.of());
+
+        return subtaskRepository.save(newSubtask);
+    }
+
+    @Transactional
+    public Subtask updateSubtask(String projectId, String taskId, String subtaskId, SubtaskRequest subtaskRequest) {
+        Subtask subtask = findSubtask(projectId, taskId, subtaskId);
+        if (subtaskRequest.getName() != null && subtaskRequest.getName().isBlank()) {
+            throw new InvalidProjectRequestException("Subtask name cannot be empty");
+        }
+
+        List<String> changedFields = applySubtaskRequest(subtask, subtaskRequest);
+        if (!changedFields.isEmpty()) {
+            markProjectChanged(projectId, EntityType.SUBTASK, subtaskId, ChangeType.UPDATED, changedFields);
+        }
+
+        return subtask;
+    }
+
+    @Transactional
+    public void deleteSubtask(String projectId, String taskId, String subtaskId) {
+        subtaskRepository.delete(findSubtask(projectId, taskId, subtaskId));
+        markProjectChanged(projectId, EntityType.SUBTASK, subtaskId, ChangeType.DELETED, List.of());
     }
 
     /**------------------------------------------- Utility Methods ---------------------------------------------------*/
 
+    /**
+     * Maps a project to its response, initializing the lazy task and subtask collections on the way. Must be called
+     * inside the transaction that loaded the project, since the response is serialized after the session is closed.
+     */
     public static ProjectResponse projectToProjectResponse(Project project) {
+        List<Task> tasks = project.getTasks();
+        // Touching the first subtask collection loads the subtasks of all loaded tasks in one subselect
+        tasks.forEach(task -> Hibernate.initialize(task.getSubtasks()));
+
         return new ProjectResponse.Builder()
             .withId(project.getId())
             .withName(project.getName())
             .withDescription(project.getDescription())
-            .withTasks(project.getTasks())
+            .withTasks(tasks)
+            .withVersion(project.getVersion())
+            .build();
+    }
+
+    /**
+     * Records a change of a loaded project or anything below it: bumps the project's version with the row write and
+     * notifies listeners.
+     *
+     * @param changedFields JSON names of the changed project fields, see {@link ProjectChangeCounts#getChangedFields}
+     */
+    void markProjectChanged(Project project, List<String> changedFields) {
+        project.touch(Instant.now());
+        // Write now rather than at commit, so the response and the event carry the new version
+        projectRepository.flush();
+        eventPublisher.publishEvent(new ProjectChangedEvent(project.getId(), EntityType.PROJECT, project.getId(),
+            ChangeType.UPDATED, changedFields, project.getVersion()));
+    }
+
+    /**
+     * Same as {@link #markProjectChanged(Project, List)} for a project that is not loaded, when a single task or
+     * subtask changed. The new version is not read back.
+     */
+    void markProjectChanged(String projectId, EntityType entityType, String entityId, ChangeType changeType,
+                            List<String> changedFields) {
+        projectRepository.touch(projectId, Instant.now());
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId, entityType, entityId, changeType, changedFields,
+            null));
+    }
+
+    public static String projectETag(Long version) {
+        return String.valueOf(version);
+    }
+
+    private Task findTask(String projectId, String taskId) {
+        validateTaskIds(projectId, taskId);
+
+        return taskRepository.findByIdAndProjectId(taskId, projectId)
+            .orElseThrow(() -> new TaskNotFoundException("Task not found with ID: " + taskId + " in project " + projectId));
+    }
+
+    private Subtask findSubtask(String projectId, String taskId, String subtaskId) {
+        validateTaskIds(projectId, taskId);
+        if (subtaskId == null || subtaskId.isEmpty() || subtaskId.isBlank()) {
+            throw new InvalidProjectRequestException("Subtask ID cannot be empty or null");
+        }
+
+        return subtaskRepository.findByIdAndTaskIdAndTaskProjectId(subtaskId, taskId, projectId)
+            .orElseThrow(() -> new TaskNotFoundException("Subtask not found with ID: " + subtaskId + " in task " + taskId));
+    }
+
+    private static void validateTaskIds(String projectId, String taskId) {
+        if (projectId == null || projectId.isEmpty() || projectId.isBlank()) {
+            throw new InvalidProjectRequestException("Project ID cannot be empty or null");
+        } else if (taskId == null || taskId.isEmpty() || taskId.isBlank()) {
+            throw new InvalidProjectRequestException("Task ID cannot be empty or null");
+        }
+    }
+
+    /**
+     * Copies the non-null fields of the request onto the task.
+     *
+     * @return the names of the fields that changed
+     */
+    private static List<String> applyTaskRequest(Task task, TaskRequest taskRequest) {
+        if (taskRequest.getTaskType() != null) {
+            validateTaskType(taskRequest.getTaskType());
+        }
+
+        Task source = new Task.Builder()
+            .withName(taskRequest.getName() != null ? taskRequest.getName() : task.getName())
+            .withDescription(taskRequest.getDescription() != null ? taskRequest.getDescription() : task.getDescription())
+            .withStatus(taskRequest.getStatus() != null ? taskRequest.getStatus() : task.getStatus())
+            .withDueDate(taskRequest.getDueDate() != null ? parseDueDate(taskRequest.getDueDate()) : task.getDueDate())
+            .withDifficulty(taskRequest.getDifficulty() != null ? taskRequest.getDifficulty() : task.getDifficulty())
+            .withTaskType(taskRequest.getTaskType() != null ? taskRequest.getTaskType() : task.getTaskType())
+            .build();
+
+        return task.mergeFields(source);
+    }
+
+    /**
+     * Copies the non-null fields of the request onto the subtask.
+     *
+     * @return the names of the fields that changed
+     */
+    private static List<String> applySubtaskRequest(Subtask subtask, SubtaskRequest subtaskRequest) {
+        Subtask source = new Subtask.Builder()
+            .withName(subtaskRequest.getName() != null ? subtaskRequest.getName() : subtask.getName())
+            .withDescription(subtaskRequest.getDescription() != null ? subtaskRequest.getDescription() : subtask.getDescription())
+            .withStatus(subtaskRequest.getStatus() != null ? subtaskRequest.getStatus() : subtask.getStatus())
+            .withDueDate(subtaskRequest.getDueDate() != null ? parseDueDate(subtaskRequest.getDueDate()) : subtask.getDueDate())
+            .withDifficulty(subtaskRequest.getDifficulty() != null ? subtaskRequest.getDifficulty() : subtask.getDifficulty())
             .build();
+
+        return subtask.mergeFields(source);
+    }
+
+    static void validateTaskType(String taskType) {
+        if (!Constants.TASK_TYPE_ACTIVE.equals(taskType) && !Constants.TASK_TYPE_BACKLOG.equals(taskType)) {
+            throw new InvalidProjectRequestException("Task type must be " + Constants.TASK_TYPE_ACTIVE + " or "
+                + Constants.TASK_TYPE_BACKLOG + " but was " + taskType);
+        }
+    }
+
+    static LocalDate parseDueDate(String dueDate) {
+        try {
+            return LocalDate.parse(dueDate, DateTimeFormatter.ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new InvalidProjectRequestException("Invalid due date: " + dueDate);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static int resolvePageSize(Integer size) {
+        if (size == null) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        } else if (size < 1) {
+            throw new InvalidProjectRequestException("Page size must be at least 1");
+        }
+
+        return Math.min(size, Constants.MAX_PAGE_SIZE);
     }
 
-    private void assignTaskId(Task task) {
-        task.setId(UUID.randomUUID().toString());
+    void assignTaskId(Task task) {
+        task.setId(idGenerator.newId());
     }
 
-    private void assignSubtaskId(Subtask subtask) {
-        subtask.setId(UUID.randomUUID().toString());
+    void assignSubtaskId(Subtask subtask) {
+        subtask.setId(idGenerator.newId());
     }
 }
 
@@ -0,0 +1,14 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs, the ids used before time-ordered ids were introduced.
+ */
+public class RandomUuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
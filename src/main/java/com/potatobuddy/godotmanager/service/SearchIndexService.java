@@ -0,0 +1,457 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.dto.project.SearchResponse;
+import com.potatobuddy.godotmanager.dto.project.SearchResultResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.model.CompressedTextConverter;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.service.ChangeLogService.LoggedChange;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded Lucene index over project, task and subtask names and descriptions and journal entry bodies, served by
+ * {@code /search} with BM25 ranking and prefix matching.
+ * <p>
+ * The index follows the {@code change_log} written by {@link ChangeLogService}: after each commit, the entities logged
+ * since the last indexed change sequence are re-read and their documents replaced or deleted, and the sequence is
+ * stored with the Lucene commit. Searches first apply whatever is still pending, so they always see committed writes.
+ * With {@code godotmanager.search.index-dir} set, the index lives on disk and a restart only replays the changes made
+ * while it was down; otherwise (or when the log cannot tell what changed) it is rebuilt from the tables.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_PROJECT_ID = "project_id";
+    private static final String FIELD_TASK_ID = "task_id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_BODY = "body";
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final String COMMIT_SEQUENCE = "sequence";
+    private static final String COMMIT_FORMAT = "format";
+    // Bumped whenever the documents change shape, so that older indexes are rebuilt
+    private static final String INDEX_FORMAT = "1";
+
+    // Names weigh more than descriptions, whole words more than prefixes
+    private static final float TITLE_BOOST = 2f;
+    private static final float PREFIX_BOOST = 0.5f;
+
+    private static final String PROJECT_SQL = "select project_id, name, description from projects";
+    private static final String TASK_SQL = "select task_id, project_id, task_name, task_description from tasks";
+    private static final String SUBTASK_SQL = "select s.subtask_id, s.task_id, t.project_id, s.subtask_name, "
+        + "s.subtask_description from subtasks s join tasks t on t.task_id = s.task_id";
+    private static final String JOURNAL_SQL = "select journal_id, date, body from journal_entry";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeLogService changeLogService;
+    private final String indexDir;
+    private final Executor catchUpExecutor;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean catchUpScheduled = new AtomicBoolean();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private long indexedSequence;
+    private int rebuildCount;
+
+    @Autowired
+    public SearchIndexService(NamedParameterJdbcTemplate jdbcTemplate, ChangeLogService changeLogService,
+                              @Value("${godotmanager.search.index-dir:}") String indexDir) {
+        this(jdbcTemplate, changeLogService, indexDir, Executors.newSingleThreadExecutor());
+    }
+
+    public SearchIndexService(NamedParameterJdbcTemplate jdbcTemplate, ChangeLogService changeLogService,
+                              String indexDir, Executor catchUpExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLogService = changeLogService;
+        this.indexDir = indexDir;
+        this.catchUpExecutor = catchUpExecutor;
+    }
+
+    /**
+     * Opens the index and brings it up to date: by replaying the change log when the stored sequence allows it,
+     * otherwise by a full rebuild.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        directory = indexDir == null || indexDir.isBlank()
+            ? new ByteBuffersDirectory()
+            : FSDirectory.open(Path.of(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        Map<String, String> commitData = new HashMap<>();
+        Iterable<Map.Entry<String, String>> liveCommitData = writer.getLiveCommitData();
+        if (liveCommitData != null) {
+            liveCommitData.forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        }
+
+        String storedSequence = commitData.get(COMMIT_SEQUENCE);
+        // A sequence ahead of the database means the index belongs to a different (e.g. restored) database
+        if (!INDEX_FORMAT.equals(commitData.get(COMMIT_FORMAT)) || storedSequence == null
+            || Long.parseLong(storedSequence) > changeLogService.getLastSequence()) {
+            rebuild();
+        } else {
+            indexedSequence = Long.parseLong(storedSequence);
+            catchUp();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (catchUpExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Schedules a catch-up after each commit; catch-ups requested while one is pending are coalesced into it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(EntityChangedEvent event) {
+        if (catchUpScheduled.compareAndSet(false, true)) {
+            catchUpExecutor.execute(() -> {
+                catchUpScheduled.set(false);
+                try {
+                    catchUp();
+                } catch (RuntimeException e) {
+                    // The index stays at its last sequence, so the next change or search retries the same changes
+                    log.warn("Search index catch-up failed, retrying with the next change or search", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * @param text  words to find; every word must match a whole word or the start of one
+     * @param type  project, task, subtask or journal_entry, all if null
+     * @param limit results returned, {@link Constants#DEFAULT_PAGE_SIZE} if null and at most
+     *              {@link Constants#MAX_PAGE_SIZE}
+     */
+    public SearchResponse search(String text, String type, Integer limit) {
+        int resolvedLimit = ProjectService.resolvePageSize(limit);
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            throw new InvalidProjectRequestException("Search text cannot be empty");
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new BooleanQuery.Builder()
+                .add(new BoostQuery(new TermQuery(new Term(FIELD_TITLE, term)), TITLE_BOOST), Occur.SHOULD)
+                .add(new TermQuery(new Term(FIELD_BODY, term)), Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(new Term(FIELD_TITLE, term)), TITLE_BOOST * PREFIX_BOOST),
+                    Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(new Term(FIELD_BODY, term)), PREFIX_BOOST), Occur.SHOULD)
+                .build(), Occur.MUST);
+        }
+        if (type != null && !type.isBlank()) {
+            query.add(new TermQuery(new Term(FIELD_TYPE, typeName(parseType(type)))), Occur.FILTER);
+        }
+
+        catchUp();
+        try {
+            return new SearchResponse(text, search(query.build(), resolvedLimit));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Applies the changes committed since the last indexed sequence. Falls back to a rebuild when more changes are
+     * pending than {@link Constants#MAX_SYNC_CHANGES} or some have already been pruned from the log.
+     */
+    public synchronized void catchUp() {
+        long lastSequence = changeLogService.getLastSequence();
+        if (lastSequence == indexedSequence) {
+            return;
+        }
+
+        try {
+            List<LoggedChange> changes = changeLogService.findChanges(indexedSequence, lastSequence,
+                Constants.MAX_SYNC_CHANGES + 1);
+            if (changes == null || changes.size() > Constants.MAX_SYNC_CHANGES) {
+                rebuild();
+                return;
+            }
+
+            apply(changes);
+            commit(lastSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Number of full rebuilds since the index was opened, 1 if it was rebuilt on opening.
+     */
+    public synchronized int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**--------------------------------------------- Indexing --------------------------------------------------------*/
+
+    private synchronized void rebuild() throws IOException {
+        // Changes committed while the tables are read are replayed by the next catch-up
+        long lastSequence = changeLogService.getLastSequence();
+        writer.deleteAll();
+        index(PROJECT_SQL, Map.of(), this::projectDocument);
+        index(TASK_SQL, Map.of(), this::taskDocument);
+        index(SUBTASK_SQL, Map.of(), this::subtaskDocument);
+        index(JOURNAL_SQL, Map.of(), this::journalDocument);
+        rebuildCount++;
+        commit(lastSequence);
+    }
+
+    private void apply(List<LoggedChange> changes) throws IOException {
+        Map<EntityType, Set<String>> ids = new HashMap<>();
+        Set<String> wholeProjects = new LinkedHashSet<>();
+        for (LoggedChange change : changes) {
+            if (change.tasksChanged()) {
+                wholeProjects.add(change.entityId());
+            } else {
+                ids.computeIfAbsent(change.entityType(), entityType -> new LinkedHashSet<>()).add(change.entityId());
+            }
+        }
+
+        // Whatever is not found again has been deleted; deleting a project or task takes its children along
+        for (EntityType entityType : EntityType.values()) {
+            Set<String> changedIds = entityType == EntityType.PROJECT
+                ? union(ids.get(EntityType.PROJECT), wholeProjects)
+                : ids.getOrDefault(entityType, Set.of());
+            for (String id : changedIds) {
+                writer.deleteDocuments(new Term(FIELD_KEY, key(entityType, id)));
+                if (entityType == EntityType.PROJECT) {
+                    writer.deleteDocuments(new Term(FIELD_PROJECT_ID, id));
+                } else if (entityType == EntityType.TASK) {
+                    writer.deleteDocuments(new Term(FIELD_TASK_ID, id));
+                }
+            }
+        }
+
+        Set<String> projectIds = union(ids.get(EntityType.PROJECT), wholeProjects);
+        Set<String> taskIds = ids.getOrDefault(EntityType.TASK, Set.of());
+        Set<String> subtaskIds = ids.getOrDefault(EntityType.SUBTASK, Set.of());
+        if (!projectIds.isEmpty()) {
+            index(PROJECT_SQL + " where project_id in (:ids)", Map.of("ids", projectIds), this::projectDocument);
+            // Children of projects or tasks whose documents were just deleted along with them are indexed again
+            index(TASK_SQL + " where project_id in (:ids)", Map.of("ids", projectIds), this::taskDocument);
+            index(SUBTASK_SQL + " where t.project_id in (:ids)", Map.of("ids", projectIds), this::subtaskDocument);
+        }
+        if (!taskIds.isEmpty()) {
+            index(TASK_SQL + " where task_id in (:ids) and project_id not in (:skip)",
+                Map.of("ids", taskIds, "skip", nonEmpty(projectIds)), this::taskDocument);
+            index(SUBTASK_SQL + " where s.task_id in (:ids) and t.project_id not in (:skip)",
+                Map.of("ids", taskIds, "skip", nonEmpty(projectIds)), this::subtaskDocument);
+        }
+        if (!subtaskIds.isEmpty()) {
+            index(SUBTASK_SQL + " where s.subtask_id in (:ids) and s.task_id not in (:skipTasks) "
+                    + "and t.project_id not in (:skip)",
+                Map.of("ids", subtaskIds, "skipTasks", nonEmpty(taskIds), "skip", nonEmpty(projectIds)),
+                this::subtaskDocument);
+        }
+        Set<String> journalIds = ids.getOrDefault(EntityType.JOURNAL_ENTRY, Set.of());
+        if (!journalIds.isEmpty()) {
+            index(JOURNAL_SQL + " where journal_id in (:ids)", Map.of("ids", journalIds), this::journalDocument);
+        }
+    }
+
+    private interface DocumentMapper {
+        Document map(ResultSet resultSet) throws SQLException;
+    }
+
+    private void index(String sql, Map<String, ?> parameters, DocumentMapper mapper) {
+        jdbcTemplate.query(sql, parameters, (RowCallbackHandler) resultSet -> {
+            Document document = mapper.map(resultSet);
+            try {
+                writer.updateDocument(new Term(FIELD_KEY, document.get(FIELD_KEY)), document);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void commit(long sequence) throws IOException {
+        writer.setLiveCommitData(Map.of(COMMIT_SEQUENCE, Long.toString(sequence), COMMIT_FORMAT, INDEX_FORMAT)
+            .entrySet());
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+        indexedSequence = sequence;
+    }
+
+    private Document projectDocument(ResultSet resultSet) throws SQLException {
+        return document(EntityType.PROJECT, resultSet.getString(1), resultSet.getString(1), null,
+            resultSet.getString(2), resultSet.getString(3));
+    }
+
+    private Document taskDocument(ResultSet resultSet) throws SQLException {
+        return document(EntityType.TASK, resultSet.getString(1), resultSet.getString(2), null,
+            resultSet.getString(3), resultSet.getString(4));
+    }
+
+    private Document subtaskDocument(ResultSet resultSet) throws SQLException {
+        return document(EntityType.SUBTASK, resultSet.getString(1), resultSet.getString(3), resultSet.getString(2),
+            resultSet.getString(4), resultSet.getString(5));
+    }
+
+    private Document journalDocument(ResultSet resultSet) throws SQLException {
+        return document(EntityType.JOURNAL_ENTRY, resultSet.getString(1), null, null, resultSet.getString(2),
+            CompressedTextConverter.decode(resultSet.getString(3)));
+    }
+
+    private static Document document(EntityType entityType, String id, String projectId, String taskId,
+                                     String title, String body) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_KEY, key(entityType, id), Field.Store.YES));
+        document.add(new StringField(FIELD_TYPE, typeName(entityType), Field.Store.YES));
+        document.add(new StringField(FIELD_ID, id, Field.Store.YES));
+        if (projectId != null) {
+            document.add(new StringField(FIELD_PROJECT_ID, projectId, Field.Store.YES));
+        }
+        if (taskId != null) {
+            document.add(new StringField(FIELD_TASK_ID, taskId, Field.Store.YES));
+        }
+        if (title != null) {
+            document.add(new TextField(FIELD_TITLE, title, Field.Store.YES));
+        }
+        if (body != null) {
+            document.add(new TextField(FIELD_BODY, body, Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**--------------------------------------------- Searching -------------------------------------------------------*/
+
+    private List<SearchResultResponse> search(Query query, int limit) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, limit);
+            List<SearchResultResponse> results = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document document = searcher.storedFields().document(scoreDoc.doc);
+                results.add(new SearchResultResponse.Builder()
+                    .withType(document.get(FIELD_TYPE))
+                    .withId(document.get(FIELD_ID))
+                    .withProjectId(document.get(FIELD_PROJECT_ID))
+                    .withTaskId(document.get(FIELD_TASK_ID))
+                    .withTitle(document.get(FIELD_TITLE))
+                    .withScore(scoreDoc.score)
+                    .build());
+            }
+            return results;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        try (TokenStream tokens = analyzer.tokenStream(FIELD_BODY, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static EntityType parseType(String type) {
+        for (EntityType entityType : EntityType.values()) {
+            if (typeName(entityType).equals(type)) {
+                return entityType;
+            }
+        }
+        throw new InvalidProjectRequestException("Unknown search type: " + type);
+    }
+
+    private static String typeName(EntityType entityType) {
+        return entityType.name().toLowerCase();
+    }
+
+    private static String key(EntityType entityType, String id) {
+        return typeName(entityType) + ":" + id;
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> union = new HashSet<>(second);
+        if (first != null) {
+            union.addAll(first);
+        }
+        return union;
+    }
+
+    // "not in ()" is not valid SQL, so empty exclusions hold an id no row has
+    private static Collection<String> nonEmpty(Set<String> ids) {
+        return ids.isEmpty() ? List.of("") : ids;
+    }
+}
@@ -0,0 +1,212 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.dto.project.JournalResponse;
+import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.dto.project.SyncResponse;
+import com.potatobuddy.godotmanager.dto.project.SyncSubtaskResponse;
+import com.potatobuddy.godotmanager.dto.project.SyncTaskResponse;
+import com.potatobuddy.godotmanager.dto.project.TombstoneResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.model.JournalEntry;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.service.ChangeLogService.LoggedChange;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "what changed since token t" from the change log written by {@link ChangeLogService}. Only the entities
+ * named in the log are loaded, so the response is proportional to the number of changes rather than to the dataset.
+ */
+@Service
+public class SyncService {
+
+    private final ChangeLogService changeLogService;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final SubtaskRepository subtaskRepository;
+    private final JournalEntryRepository journalEntryRepository;
+
+    public SyncService(ChangeLogService changeLogService, ProjectRepository projectRepository,
+                       TaskRepository taskRepository, SubtaskRepository subtaskRepository,
+                       JournalEntryRepository journalEntryRepository) {
+        this.changeLogService = changeLogService;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.subtaskRepository = subtaskRepository;
+        this.journalEntryRepository = journalEntryRepository;
+    }
+
+    /**
+     * @param since token of a previous sync, or null to only obtain a token (with {@code full_resync} set)
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChangesSince(String since) {
+        long lastSequence = changeLogService.getLastSequence();
+        String token = PageCursor.encode(Long.toString(lastSequence));
+        Long sinceSequence = since == null || since.isBlank() ? null : decodeToken(since);
+        // A token from the future belongs to a different (e.g. restored) database
+        if (sinceSequence == null || sinceSequence > lastSequence) {
+            return new SyncResponse.Builder().withToken(token).withFullResync(true).build();
+        }
+
+        List<LoggedChange> loggedChanges = changeLogService.findChanges(sinceSequence, lastSequence,
+            Constants.MAX_SYNC_CHANGES + 1);
+        if (loggedChanges == null || loggedChanges.size() > Constants.MAX_SYNC_CHANGES) {
+            return new SyncResponse.Builder().withToken(token).withFullResync(true).build();
+        }
+
+        // One entry per entity; a project whose tasks changed in bulk at any point is sent with its tasks
+        Map<EntityType, Map<String, LoggedChange>> changes = new LinkedHashMap<>();
+        Set<String> projectsWithTasks = new HashSet<>();
+        for (LoggedChange loggedChange : loggedChanges) {
+            changes.computeIfAbsent(loggedChange.entityType(), type -> new LinkedHashMap<>())
+                .put(loggedChange.entityId(), loggedChange);
+            if (loggedChange.tasksChanged()) {
+                projectsWithTasks.add(loggedChange.entityId());
+            }
+        }
+
+        List<TombstoneResponse> deleted = new ArrayList<>();
+        return new SyncResponse.Builder()
+            .withToken(token)
+            .withProjects(loadProjects(changes.getOrDefault(EntityType.PROJECT, Map.of()), projectsWithTasks, deleted))
+            .withTasks(loadTasks(changes.getOrDefault(EntityType.TASK, Map.of()), projectsWithTasks, deleted))
+            .withSubtasks(loadSubtasks(changes.getOrDefault(EntityType.SUBTASK, Map.of()), projectsWithTasks, deleted))
+            .withJournalEntries(loadJournalEntries(changes.getOrDefault(EntityType.JOURNAL_ENTRY, Map.of()), deleted))
+            .withDeleted(deleted)
+            .build();
+    }
+
+    private List<ProjectResponse> loadProjects(Map<String, LoggedChange> changes, Set<String> projectsWithTasks,
+                                               List<TombstoneResponse> deleted) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        List<ProjectResponse> projects = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        List<String> withTasks = changes.keySet().stream().filter(projectsWithTasks::contains).toList();
+        List<String> withoutTasks = changes.keySet().stream().filter(id -> !projectsWithTasks.contains(id)).toList();
+        if (!withTasks.isEmpty()) {
+            for (Project project : projectRepository.findWithTasksByIdIn(withTasks)) {
+                projects.add(ProjectService.projectToProjectResponse(project));
+                found.add(project.getId());
+            }
+        }
+        if (!withoutTasks.isEmpty()) {
+            for (Project project : projectRepository.findByIdIn(withoutTasks)) {
+                projects.add(new ProjectResponse.Builder()
+                    .withId(project.getId())
+                    .withName(project.getName())
+                    .withDescription(project.getDescription())
+                    .withVersion(project.getVersion())
+                    .build());
+                found.add(project.getId());
+            }
+        }
+        addTombstones(changes, found, deleted);
+        return projects;
+    }
+
+    private List<SyncTaskResponse> loadTasks(Map<String, LoggedChange> changes, Set<String> projectsWithTasks,
+                                             List<TombstoneResponse> deleted) {
+        List<String> ids = idsOutside(changes, projectsWithTasks);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<SyncTaskResponse> tasks = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        for (Task task : taskRepository.findAllById(ids)) {
+            // Touching the first subtask collection loads the subtasks of all loaded tasks in one subselect
+            Hibernate.initialize(task.getSubtasks());
+            tasks.add(new SyncTaskResponse(task.getProject().getId(), task));
+            found.add(task.getId());
+        }
+        addTombstones(changes, found, deleted);
+        return tasks;
+    }
+
+    private List<SyncSubtaskResponse> loadSubtasks(Map<String, LoggedChange> changes, Set<String> projectsWithTasks,
+                                                   List<TombstoneResponse> deleted) {
+        List<String> ids = idsOutside(changes, projectsWithTasks);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<SyncSubtaskResponse> subtasks = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        for (Subtask subtask : subtaskRepository.findAllById(ids)) {
+            subtasks.add(new SyncSubtaskResponse(changes.get(subtask.getId()).projectId(), subtask.getTask().getId(),
+                subtask));
+            found.add(subtask.getId());
+        }
+        addTombstones(changes, found, deleted);
+        return subtasks;
+    }
+
+    private List<JournalResponse> loadJournalEntries(Map<String, LoggedChange> changes,
+                                                     List<TombstoneResponse> deleted) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        List<JournalResponse> journalEntries = new ArrayList<>();
+        Set<String> found = new HashSet<>();
+        for (JournalEntry journalEntry : journalEntryRepository.findAllById(changes.keySet())) {
+            journalEntries.add(JournalService.journalToJournalResponse(journalEntry));
+            found.add(journalEntry.getId());
+        }
+        addTombstones(changes, found, deleted);
+        return journalEntries;
+    }
+
+    /**
+     * Ids of changed tasks or subtasks that are not already sent as part of a project's full task list.
+     */
+    private static List<String> idsOutside(Map<String, LoggedChange> changes, Set<String> projectsWithTasks) {
+        return changes.values().stream()
+            .filter(change -> !projectsWithTasks.contains(change.projectId()))
+            .map(LoggedChange::entityId)
+            .toList();
+    }
+
+    /**
+     * Whatever was logged but no longer exists has been deleted since, whatever the logged kind of change.
+     */
+    private static void addTombstones(Map<String, LoggedChange> changes, Set<String> found,
+                                      List<TombstoneResponse> deleted) {
+        changes.values().stream()
+            .filter(change -> !found.contains(change.entityId()))
+            .forEach(change -> deleted.add(new TombstoneResponse(change.entityType().name().toLowerCase(),
+                change.entityId(), change.projectId())));
+    }
+
+    private static Long decodeToken(String token) {
+        String[] keys = PageCursor.decode(token, 1);
+        try {
+            if (keys != null) {
+                return Long.parseLong(keys[0]);
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below like any other malformed token
+        }
+        throw new InvalidProjectRequestException("Invalid sync token: " + token);
+    }
+}
@@ -0,0 +1,159 @@
+package com.potatobuddy.godotmanager.service;
+
+import com.potatobuddy.godotmanager.dto.project.SubtaskListItemResponse;
+import com.potatobuddy.godotmanager.dto.project.SubtaskPageResponse;
+import com.potatobuddy.godotmanager.dto.project.TaskListItemResponse;
+import com.potatobuddy.godotmanager.dto.project.TaskPageResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.potatobuddy.godotmanager.repository.TaskSpecifications.*;
+
+/**
+ * Finds tasks and subtasks across projects. Filters, sort and page are translated into a single SQL query plus a count
+ * query. Only the task or subtask rows (with the parent task of subtasks) are loaded, never projects or subtask lists.
+ */
+@Service
+public class TaskQueryService {
+
+    // Sort parameter names and the entity attributes they sort by
+    private static final Map<String, String> TASK_SORT_FIELDS = Map.of(
+        "name", "name",
+        "status", "status",
+        "due_date", "dueDate",
+        "difficulty", "difficulty",
+        "task_type", "taskType");
+    private static final Map<String, String> SUBTASK_SORT_FIELDS = Map.of(
+        "name", "name",
+        "status", "status",
+        "due_date", "dueDate",
+        "difficulty", "difficulty");
+    private static final String DEFAULT_SORT = "due_date";
+
+    private final TaskRepository taskRepository;
+    private final SubtaskRepository subtaskRepository;
+
+    public TaskQueryService(TaskRepository taskRepository, SubtaskRepository subtaskRepository) {
+        this.taskRepository = taskRepository;
+        this.subtaskRepository = subtaskRepository;
+    }
+
+    /**
+     * @param statuses     matches any of the statuses, all if null or empty
+     * @param difficulties matches any of the difficulties, all if null or empty
+     * @param dueFrom      first due date included, open if null
+     * @param dueTo        last due date included, open if null
+     * @param sort         {@code <field>[,asc|desc]}, defaults to the due date ascending; ties are broken by id
+     */
+    @Transactional(readOnly = true)
+    public TaskPageResponse queryTasks(String projectId, List<String> statuses, List<String> difficulties,
+                                       String taskType, LocalDate dueFrom, LocalDate dueTo,
+                                       Integer page, Integer size, String sort) {
+        validateDueRange(dueFrom, dueTo);
+        PageRequest pageRequest = PageRequest.of(resolvePage(page), ProjectService.resolvePageSize(size),
+            resolveSort(sort, TASK_SORT_FIELDS));
+
+        Specification<Task> specification = Specification.where(taskInProject(projectId))
+            .and(taskStatusIn(statuses))
+            .and(taskDifficultyIn(difficulties))
+            .and(taskTypeIs(taskType))
+            .and(taskDueBetween(dueFrom, dueTo));
+        Page<Task> tasks = taskRepository.findAll(specification, pageRequest);
+
+        return new TaskPageResponse(
+            tasks.getContent().stream().map(TaskQueryService::taskToListItem).toList(),
+            tasks.getNumber(), tasks.getSize(), tasks.getTotalElements(), tasks.hasNext());
+    }
+
+    /**
+     * Same filters as {@link #queryTasks}, without the task type.
+     */
+    @Transactional(readOnly = true)
+    public SubtaskPageResponse querySubtasks(String projectId, List<String> statuses, List<String> difficulties,
+                                             LocalDate dueFrom, LocalDate dueTo,
+                                             Integer page, Integer size, String sort) {
+        validateDueRange(dueFrom, dueTo);
+        PageRequest pageRequest = PageRequest.of(resolvePage(page), ProjectService.resolvePageSize(size),
+            resolveSort(sort, SUBTASK_SORT_FIELDS));
+
+        Specification<Subtask> specification = Specification.where(subtaskWithTask())
+            .and(subtaskInProject(projectId))
+            .and(subtaskStatusIn(statuses))
+            .and(subtaskDifficultyIn(difficulties))
+            .and(subtaskDueBetween(dueFrom, dueTo));
+        Page<Subtask> subtasks = subtaskRepository.findAll(specification, pageRequest);
+
+        return new SubtaskPageResponse(
+            subtasks.getContent().stream().map(TaskQueryService::subtaskToListItem).toList(),
+            subtasks.getNumber(), subtasks.getSize(), subtasks.getTotalElements(), subtasks.hasNext());
+    }
+
+    private static TaskListItemResponse taskToListItem(Task task) {
+        // Reading the id of the lazy project does not load it
+        return new TaskListItemResponse.Builder()
+            .withId(task.getId())
+            .withProjectId(task.getProject().getId())
+            .withName(task.getName())
+            .withStatus(task.getStatus())
+            .withDueDate(task.getDueDate())
+            .withDifficulty(task.getDifficulty())
+            .withTaskType(task.getTaskType())
+            .build();
+    }
+
+    private static SubtaskListItemResponse subtaskToListItem(Subtask subtask) {
+        return new SubtaskListItemResponse.Builder()
+            .withId(subtask.getId())
+            .withTaskId(subtask.getTask().getId())
+            .withProjectId(subtask.getTask().getProject().getId())
+            .withName(subtask.getName())
+            .withStatus(subtask.getStatus())
+            .withDueDate(subtask.getDueDate())
+            .withDifficulty(subtask.getDifficulty())
+            .build();
+    }
+
+    private static Sort resolveSort(String sort, Map<String, String> sortFields) {
+        String[] parts = (sort == null || sort.isBlank() ? DEFAULT_SORT : sort).split(",");
+        String field = sortFields.get(parts[0].trim());
+        if (field == null || parts.length > 2) {
+            throw new InvalidProjectRequestException("Cannot sort by: " + sort);
+        }
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                .orElseThrow(() -> new InvalidProjectRequestException("Invalid sort direction: " + sort));
+        }
+        // The id makes the order total, so rows neither repeat nor go missing between pages
+        return Sort.by(direction, field).and(Sort.by("id"));
+    }
+
+    private static int resolvePage(Integer page) {
+        if (page == null) {
+            return 0;
+        } else if (page < 0) {
+            throw new InvalidProjectRequestException("Page cannot be negative");
+        }
+        return page;
+    }
+
+    private static void validateDueRange(LocalDate dueFrom, LocalDate dueTo) {
+        if (dueFrom != null && dueTo != null && dueFrom.isAfter(dueTo)) {
+            throw new InvalidProjectRequestException("Due date range starts after it ends");
+        }
+    }
+}
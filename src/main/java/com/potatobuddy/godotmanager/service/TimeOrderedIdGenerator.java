@@ -0,0 +1,58 @@
+package com.potatobuddy.godotmanager.service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Version 7 UUIDs (RFC 9562): a 48 bit millisecond timestamp followed by random bits. New ids sort after older ones,
+ * so inserts append to the end of the primary key index instead of splitting random pages of it, and they keep the
+ * same 36 character text format as the random UUIDs already stored.
+ * <p>
+ * Ids generated within the same millisecond stay ordered by using the 12 bit {@code rand_a} field as a counter.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis = -1;
+    private int sequence;
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String newId() {
+        long millis;
+        int counter;
+        synchronized (this) {
+            millis = clock.millis();
+            if (millis > lastMillis) {
+                lastMillis = millis;
+                // Start below the middle of the range, leaving room for ids of the same millisecond
+                sequence = random.nextInt(MAX_SEQUENCE / 2);
+            } else if (sequence < MAX_SEQUENCE) {
+                // Same millisecond, or the clock went backwards
+                sequence++;
+            } else {
+                // Counter exhausted, borrow the next millisecond
+                lastMillis++;
+                sequence = 0;
+            }
+            millis = lastMillis;
+            counter = sequence;
+        }
+
+        long mostSigBits = (millis << 16) | 0x7000L | counter;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
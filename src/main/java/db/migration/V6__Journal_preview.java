@@ -0,0 +1,99 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Adds the preview and word count of journal entries and fills them in for the existing entries. Written in Java
+ * because both are derived from the body.
+ * <p>
+ * The derivation is a copy of {@code JournalPreview} as it was when this migration was written, and the sizes are
+ * fixed here rather than taken from {@code Constants}: a migration must keep doing what it did when it was first
+ * applied, whatever the application code turns into later.
+ */
+public class V6__Journal_preview extends BaseJavaMigration {
+
+    private static final int PREVIEW_LENGTH = 200;
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE journal_entry ADD COLUMN preview VARCHAR(255)");
+            statement.execute("ALTER TABLE journal_entry ADD COLUMN word_count INT NOT NULL DEFAULT 0");
+        }
+
+        // Walks the entries by id and writes each batch before reading the next, so at most one batch of bodies is held
+        // in memory
+        try (PreparedStatement select = connection.prepareStatement("SELECT journal_id, body FROM journal_entry "
+                + "WHERE journal_id > ? ORDER BY journal_id LIMIT " + BATCH_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                "UPDATE journal_entry SET preview = ?, word_count = ? WHERE journal_id = ?")) {
+            String lastId = "";
+            while (true) {
+                int rows = 0;
+                select.setString(1, lastId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getString(1);
+                        String body = resultSet.getString(2);
+                        update.setString(1, preview(body));
+                        update.setInt(2, wordCount(body));
+                        update.setString(3, lastId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows == 0) {
+                    break;
+                }
+                update.executeBatch();
+                if (rows < BATCH_SIZE) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String preview(String body) {
+        if (body == null) {
+            return null;
+        }
+        String collapsed = body.strip().replaceAll("\\s+", " ");
+        if (collapsed.length() <= PREVIEW_LENGTH) {
+            return collapsed;
+        }
+
+        int end = collapsed.lastIndexOf(' ', PREVIEW_LENGTH);
+        if (end <= 0) {
+            end = PREVIEW_LENGTH;
+            // Never split a surrogate pair
+            if (Character.isLowSurrogate(collapsed.charAt(end))) {
+                end--;
+            }
+        }
+        return collapsed.substring(0, end) + "\u2026";
+    }
+
+    private static int wordCount(String body) {
+        if (body == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < body.length(); i++) {
+            boolean whitespace = Character.isWhitespace(body.charAt(i));
+            if (!whitespace && !inWord) {
+                count++;
+            }
+            inWord = !whitespace;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,41 @@
+-- Schema as previously generated by hibernate ddl-auto. Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only receive the later migrations.
+
+CREATE TABLE projects (
+    project_id VARCHAR(255) NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    PRIMARY KEY (project_id)
+);
+
+CREATE TABLE tasks (
+    task_id VARCHAR(255) NOT NULL,
+    task_name VARCHAR(255),
+    task_description VARCHAR(255),
+    task_status VARCHAR(255),
+    task_due_date DATE,
+    task_difficulty VARCHAR(255),
+    task_type VARCHAR(255),
+    project_id VARCHAR(255),
+    PRIMARY KEY (task_id),
+    CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects (project_id)
+);
+
+CREATE TABLE subtasks (
+    subtask_id VARCHAR(255) NOT NULL,
+    subtask_name VARCHAR(255),
+    subtask_description VARCHAR(255),
+    subtask_status VARCHAR(255),
+    subtask_due_date DATE,
+    subtask_difficulty VARCHAR(255),
+    task_id VARCHAR(255),
+    PRIMARY KEY (subtask_id),
+    CONSTRAINT fk_subtasks_task FOREIGN KEY (task_id) REFERENCES tasks (task_id)
+);
+
+CREATE TABLE journal_entry (
+    journal_id VARCHAR(255) NOT NULL,
+    date DATE,
+    body TEXT,
+    PRIMARY KEY (journal_id)
+);
@@ -0,0 +1,13 @@
+-- Foreign keys: loading the tasks of a project and the subtasks of a task. The project index also serves the
+-- per-project status counts of the summaries.
+CREATE INDEX idx_tasks_project_status ON tasks (project_id, task_status);
+CREATE INDEX idx_subtasks_task ON subtasks (task_id);
+
+-- Due date ranges, optionally narrowed down by status (e.g. open tasks due this week, overdue tasks)
+CREATE INDEX idx_tasks_due_date ON tasks (task_due_date);
+CREATE INDEX idx_tasks_status_due_date ON tasks (task_status, task_due_date);
+CREATE INDEX idx_subtasks_due_date ON subtasks (subtask_due_date);
+CREATE INDEX idx_subtasks_status_due_date ON subtasks (subtask_status, subtask_due_date);
+
+-- Journal entries by date
+CREATE INDEX idx_journal_entry_date ON journal_entry (date);
@@ -0,0 +1,4 @@
+-- Version and modification time of a project and everything below it, used for ETag / Last-Modified
+ALTER TABLE projects ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE projects ADD COLUMN last_modified TIMESTAMP(6);
+UPDATE projects SET last_modified = CURRENT_TIMESTAMP;
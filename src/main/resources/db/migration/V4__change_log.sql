@@ -0,0 +1,23 @@
+-- Change log behind GET /sync. Every committed write transaction takes the next value of change_sequence and records
+-- one row per changed entity under it. The sequence row stays locked until the writer commits, so sequence values
+-- become visible in increasing order and a client that has seen value n has seen every change up to n.
+CREATE TABLE change_sequence (
+    id INT NOT NULL,
+    last_value BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO change_sequence (id, last_value) VALUES (1, 0);
+
+CREATE TABLE change_log (
+    id BIGINT AUTO_INCREMENT NOT NULL,
+    seq BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id VARCHAR(255) NOT NULL,
+    project_id VARCHAR(255),
+    change_type VARCHAR(10) NOT NULL,
+    tasks_changed BOOLEAN DEFAULT FALSE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_change_log_seq ON change_log (seq);
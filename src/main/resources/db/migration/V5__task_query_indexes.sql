@@ -0,0 +1,2 @@
+-- Task queries filtered by task type (e.g. active tasks due this week); the other filters use the indexes from V2
+CREATE INDEX idx_tasks_type_due_date ON tasks (task_type, task_due_date);
@@ -0,0 +1,3 @@
+-- Version of a journal entry, incremented by every edit; edits that name the version they started from are rejected
+-- once it has moved on
+ALTER TABLE journal_entry ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
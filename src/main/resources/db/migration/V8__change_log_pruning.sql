@@ -0,0 +1,3 @@
+-- Highest sequence value whose change_log rows may have been deleted. Changes since an older value can no longer be
+-- listed completely, so sync clients and indexes that are further behind reload everything instead
+ALTER TABLE change_sequence ADD COLUMN pruned_value BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,219 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.config.CacheConfig;
+import com.potatobuddy.godotmanager.dto.project.AgendaResponse;
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.service.AgendaService;
+import com.potatobuddy.godotmanager.service.ProjectChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.potatobuddy.godotmanager.TestFixtures.buildProject;
+import static com.potatobuddy.godotmanager.TestFixtures.buildTask;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The fixture project has open tasks due yesterday, today, in three days and in ten days, and a task finished
+ * yesterday. Each task has one subtask of the same status and due date.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class AgendaTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SubtaskRepository subtaskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Project project;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDate today = LocalDate.now();
+
+        project = buildProject("Test Project");
+        project.addTask(buildTask("Overdue", "In Progress", today.minusDays(1), "M", Constants.TASK_TYPE_ACTIVE));
+        project.addTask(buildTask("Today", "In Progress", today, "M", Constants.TASK_TYPE_ACTIVE));
+        project.addTask(buildTask("This Week", "Not Started", today.plusDays(3), "M", Constants.TASK_TYPE_ACTIVE));
+        project.addTask(buildTask("Next Week", "Not Started", today.plusDays(10), "M", Constants.TASK_TYPE_ACTIVE));
+        project.addTask(buildTask("Done", "Finished", today.minusDays(1), "M", Constants.TASK_TYPE_ACTIVE));
+        project = projectRepository.save(project);
+
+        // Rows written through the repository publish no change events
+        cacheManager.getCache(CacheConfig.AGENDA).clear();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+    }
+
+    /**---- Agenda ----*/
+    @Test
+    public void getAgenda_defaultWeek_returnsOpenWorkDueThisWeekAndOverdue() throws Exception {
+        mockMvc.perform(get("/agenda"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.date").value(LocalDate.now().toString()))
+            .andExpect(jsonPath("$.through").value(LocalDate.now().plusDays(6).toString()))
+            .andExpect(jsonPath("$.tasks.length()").value(3))
+            .andExpect(jsonPath("$.tasks[0].name").value("Overdue"))
+            .andExpect(jsonPath("$.tasks[0].overdue").value(true))
+            .andExpect(jsonPath("$.tasks[0].project_name").value("Test Project"))
+            .andExpect(jsonPath("$.tasks[1].name").value("Today"))
+            .andExpect(jsonPath("$.tasks[1].overdue").value(false))
+            .andExpect(jsonPath("$.tasks[2].name").value("This Week"))
+            .andExpect(jsonPath("$.subtasks.length()").value(3))
+            .andExpect(jsonPath("$.subtasks[0].task_id").value(project.getTasks().get(0).getId()));
+
+        // THEN one projection query for tasks and one for subtasks, no entities loaded
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void getAgenda_today_returnsOnlyTodayAndOverdue() throws Exception {
+        mockMvc.perform(get("/agenda").param("days", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(2))
+            .andExpect(jsonPath("$.tasks[1].name").value("Today"));
+    }
+
+    /**---- Caching ----*/
+    @Test
+    public void getAgenda_repeatedRead_servedFromCacheUntilProjectWrite() throws Exception {
+        // GIVEN
+        mockMvc.perform(get("/agenda")).andExpect(status().isOk());
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(get("/agenda"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(3));
+
+        // THEN
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        // WHEN the task due today is finished
+        mockMvc.perform(patch("/project/" + project.getId() + "/tasks/" + project.getTasks().get(1).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"Finished\"}"))
+            .andExpect(status().isOk());
+        statistics.clear();
+
+        // THEN
+        mockMvc.perform(get("/agenda"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(2));
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getAgenda_nextDay_recomputedForTheNewDate() {
+        // GIVEN
+        MutableClock clock = new MutableClock(Instant.now());
+        AgendaService agendaService = new AgendaService(taskRepository, subtaskRepository, cacheManager, clock);
+        AgendaResponse today = agendaService.getAgenda(null);
+
+        // WHEN
+        clock.instant = clock.instant.plus(1, ChronoUnit.DAYS);
+        statistics.clear();
+        AgendaResponse tomorrow = agendaService.getAgenda(null);
+
+        // THEN the task due today is now overdue
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(today.getDate().plusDays(1), tomorrow.getDate());
+        Assertions.assertFalse(today.getTasks().get(1).isOverdue());
+        Assertions.assertTrue(tomorrow.getTasks().get(1).isOverdue());
+    }
+
+    @Test
+    public void getAgenda_writeCommittedBeforePut_notServedFromCacheAfterwards() {
+        // GIVEN a write that commits, and invalidates, after an agenda was loaded but before it is put
+        AgendaService[] agendaService = new AgendaService[1];
+        SimpleCacheManager racingCacheManager = new SimpleCacheManager();
+        racingCacheManager.setCaches(List.of(new ConcurrentMapCache(CacheConfig.AGENDA) {
+            @Override
+            public void put(Object key, Object value) {
+                agendaService[0].invalidate(new ProjectChangedEvent(project.getId()));
+                super.put(key, value);
+            }
+        }));
+        racingCacheManager.afterPropertiesSet();
+        agendaService[0] = new AgendaService(taskRepository, subtaskRepository, racingCacheManager,
+            Clock.systemDefaultZone());
+        agendaService[0].getAgenda(null);
+
+        // WHEN
+        statistics.clear();
+        agendaService[0].getAgenda(null);
+
+        // THEN the agenda loaded before the write is not used again
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
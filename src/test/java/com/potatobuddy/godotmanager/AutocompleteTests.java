@@ -0,0 +1,180 @@
+package com.potatobuddy.godotmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.dto.project.AutocompleteResponse;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.service.AutocompleteService;
+import com.potatobuddy.godotmanager.service.ChangeLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Data is created through the endpoints, since only service writes reach the change log the suggestions follow. Each
+ * test uses its own prefix, so names left behind by other tests sharing the context cannot match.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AutocompleteTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!autocompleteService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+    }
+
+    /**---- Suggestions ----*/
+    @Test
+    public void autocomplete_prefix_ranksNamesByFrequency() throws Exception {
+        // GIVEN
+        String projectId = createProject("Quokka Quest");
+        createTask(projectId, "Quokka sprites");
+        createTask(projectId, "quokka Sprites");
+        createTask(projectId, "Quokka sounds");
+        createTask(projectId, "Wombat sprites");
+        autocompleteService.catchUp();
+
+        // WHEN
+        JsonNode suggestions = autocomplete("quok", null);
+
+        // THEN names are matched ignoring case and counted together
+        Assertions.assertEquals(3, suggestions.size(), suggestions.toString());
+        Assertions.assertEquals("Quokka sprites", suggestions.get(0).get("name").asText());
+        Assertions.assertEquals("task", suggestions.get(0).get("type").asText());
+        Assertions.assertEquals(2, suggestions.get(0).get("count").asInt());
+
+        // WHEN
+        JsonNode projects = autocomplete("QUOKKA", "project");
+
+        // THEN
+        Assertions.assertEquals(1, projects.size(), projects.toString());
+        Assertions.assertEquals("Quokka Quest", projects.get(0).get("name").asText());
+    }
+
+    @Test
+    public void autocomplete_afterRenameAndDelete_followsWrites() throws Exception {
+        // GIVEN
+        String projectId = createProject("Numbat Run");
+        String taskId = createTask(projectId, "Numbat jump");
+        autocompleteService.catchUp();
+
+        // WHEN
+        mockMvc.perform(patch("/project/" + projectId + "/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Numbat dash\"}"))
+            .andExpect(status().isOk());
+        autocompleteService.catchUp();
+
+        // THEN
+        Assertions.assertEquals(0, autocomplete("numbat j", null).size());
+        Assertions.assertEquals(1, autocomplete("numbat d", null).size());
+
+        // WHEN
+        mockMvc.perform(delete("/project/" + projectId))
+            .andExpect(status().isNoContent());
+        autocompleteService.catchUp();
+
+        // THEN the project takes its tasks along
+        Assertions.assertEquals(0, autocomplete("numbat", null).size());
+    }
+
+    @Test
+    public void suggest_startupLoadFailed_loadsAgainOnTheNextSuggestion() throws Exception {
+        // GIVEN a service whose first load fails, running its background work inline
+        createProject("Bilby Burrow");
+        ChangeLogService failingOnce = mock(ChangeLogService.class);
+        when(failingOnce.getLastSequence())
+            .thenThrow(new IllegalStateException("Database unavailable"))
+            .thenAnswer(invocation -> changeLogService.getLastSequence());
+        AutocompleteService service = new AutocompleteService(jdbcTemplate, failingOnce, Runnable::run);
+        service.start();
+        Assertions.assertFalse(service.isReady());
+
+        // WHEN
+        AutocompleteResponse response = service.suggest("bilby", AutocompleteService.TYPE_PROJECT, null);
+
+        // THEN
+        Assertions.assertTrue(service.isReady());
+        Assertions.assertTrue(response.isReady());
+        Assertions.assertEquals(1, response.getSuggestions().size());
+    }
+
+    @Test
+    public void autocomplete_blankPrefix_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/search/autocomplete").param("prefix", " "))
+            .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode autocomplete(String prefix, String type) throws Exception {
+        String json = mockMvc.perform(type == null
+                ? get("/search/autocomplete").param("prefix", prefix)
+                : get("/search/autocomplete").param("prefix", prefix).param("type", type))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode response = objectMapper.readTree(json);
+        Assertions.assertTrue(response.get("ready").asBoolean());
+        return response.get("suggestions");
+    }
+
+    private String createProject(String name) throws Exception {
+        String json = mockMvc.perform(post("/project/newProject")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    Map.of("project_name", name, "project_description", "Test Description"))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("project_id").asText();
+    }
+
+    private String createTask(String projectId, String name) throws Exception {
+        String json = mockMvc.perform(post("/project/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("name", name))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asText();
+    }
+}
@@ -0,0 +1,199 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class BulkImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Project existingProject;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        existingProject = new Project.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName("Existing Project")
+            .withDescription("Test Description")
+            .build();
+        existingProject.addTask(new Task.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName("Existing Task")
+            .withTaskType("active")
+            .build());
+        existingProject = projectRepository.save(existingProject);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+    }
+
+    /**---- JSON ----*/
+    @Test
+    public void bulkImport_jsonRowsWithRefs_createsHierarchy() throws Exception {
+        // GIVEN
+        String rows = """
+            [
+              {"type": "project", "ref": "p1", "name": "Imported", "description": "From the old tracker"},
+              {"type": "task", "ref": "t1", "parent": "p1", "name": "Level design", "due_date": "2024-05-01"},
+              {"type": "task", "parent": "p1", "name": "Sound", "task_type": "backlog"},
+              {"type": "subtask", "parent": "t1", "name": "Blockout", "difficulty": "S"}
+            ]
+            """;
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk").contentType(MediaType.APPLICATION_JSON).content(rows))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.projects").value(1))
+            .andExpect(jsonPath("$.tasks").value(2))
+            .andExpect(jsonPath("$.subtasks").value(1))
+            .andExpect(jsonPath("$.chunks").value(1))
+            .andExpect(jsonPath("$.rows_per_second").isNumber());
+
+        // THEN
+        Project imported = projectRepository.findAll().stream()
+            .filter(project -> project.getName().equals("Imported"))
+            .findFirst().orElseThrow();
+        Assertions.assertEquals(2, imported.getTasks().size());
+        Task levelDesign = imported.getTasks().stream()
+            .filter(task -> task.getName().equals("Level design"))
+            .findFirst().orElseThrow();
+        Assertions.assertEquals("active", levelDesign.getTaskType());
+        Assertions.assertEquals("Blockout", taskRepository.findByIdAndProjectId(levelDesign.getId(), imported.getId())
+            .orElseThrow().getSubtasks().get(0).getName());
+    }
+
+    @Test
+    public void bulkImport_manyTasks_insertsThemInJdbcBatches() throws Exception {
+        // GIVEN
+        StringBuilder rows = new StringBuilder("[{\"type\": \"project\", \"ref\": \"p\", \"name\": \"Big\", \"description\": \"d\"}");
+        for (int i = 0; i < 120; i++) {
+            rows.append(",{\"type\": \"task\", \"parent\": \"p\", \"name\": \"Task ").append(i).append("\"}");
+        }
+        rows.append("]");
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk").contentType(MediaType.APPLICATION_JSON).content(rows.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks").value(120));
+
+        // THEN one statement for the project and a single batched statement for all tasks, rather than one per row
+        Assertions.assertEquals(121, statistics.getEntityInsertCount());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void bulkImport_chunkSize_commitsEachChunkSeparately() throws Exception {
+        // GIVEN
+        String rows = """
+            [
+              {"type": "task", "parent": "%1$s", "name": "One"},
+              {"type": "task", "parent": "%1$s", "name": "Two"},
+              {"type": "task", "parent": "%1$s", "name": "Three"}
+            ]
+            """.formatted(existingProject.getId());
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk").param("chunkSize", "2")
+                .contentType(MediaType.APPLICATION_JSON).content(rows))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks").value(3))
+            .andExpect(jsonPath("$.chunks").value(2));
+
+        // THEN the existing project got a new version per chunk and is read fresh
+        Assertions.assertEquals(existingProject.getVersion() + 2,
+            projectRepository.findVersionById(existingProject.getId()).orElseThrow().getVersion());
+        mockMvc.perform(get("/project/" + existingProject.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_tasks.length()").value(4));
+    }
+
+    /**---- CSV ----*/
+    @Test
+    public void bulkImport_csvRows_addsSubtasksToExistingTask() throws Exception {
+        // GIVEN
+        String taskId = existingProject.getTasks().get(0).getId();
+        String rows = "type,parent,name,description,status,due_date\n"
+            + "subtask," + taskId + ",\"Collide, then bounce\",,In Progress,2024-06-01\n"
+            + "subtask," + taskId + ",Polish,,,\n";
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk").contentType("text/csv").content(rows))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subtasks").value(2));
+
+        // THEN
+        Task task = taskRepository.findByIdAndProjectId(taskId, existingProject.getId()).orElseThrow();
+        Assertions.assertEquals(2, task.getSubtasks().size());
+        Assertions.assertTrue(task.getSubtasks().stream().anyMatch(subtask -> subtask.getName().equals("Collide, then bounce")));
+    }
+
+    /**---- Validation ----*/
+    @Test
+    public void bulkImport_invalidRow_writesNothing() throws Exception {
+        // GIVEN
+        String rows = """
+            [
+              {"type": "project", "ref": "p1", "name": "Imported", "description": "d"},
+              {"type": "task", "parent": "p1", "name": "Fine"},
+              {"type": "task", "parent": "p1", "name": "Broken", "due_date": "tomorrow"}
+            ]
+            """;
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk").contentType(MediaType.APPLICATION_JSON).content(rows))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorMessage").value("Row 3: Invalid due date: tomorrow"));
+
+        // THEN
+        Assertions.assertEquals(1, projectRepository.count());
+        Assertions.assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    public void bulkImport_unknownParent_returnsBadRequest() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(post("/project/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\": \"subtask\", \"parent\": \"missing\", \"name\": \"Orphan\"}]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorMessage").value("Row 1: Unknown parent task: missing"));
+    }
+}
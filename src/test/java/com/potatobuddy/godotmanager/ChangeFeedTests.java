@@ -0,0 +1,225 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.dto.project.ChangeEventResponse;
+import com.potatobuddy.godotmanager.model.JournalEntry;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.projection.ProjectVersion;
+import com.potatobuddy.godotmanager.service.ChangeFeedService;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.EntityType;
+import com.potatobuddy.godotmanager.service.JournalEntryChangedEvent;
+import com.potatobuddy.godotmanager.service.ProjectChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ChangeFeedTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+    }
+
+    /**---- Delivery ----*/
+    @Test
+    public void subscribe_taskCreated_receivesChangeAfterCommit() throws Exception {
+        // GIVEN
+        Project project = projectRepository.save(new Project.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName("Test Project")
+            .withDescription("Test Description")
+            .build());
+        MvcResult subscription = mockMvc.perform(get("/changes"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // WHEN
+        mockMvc.perform(post("/project/" + project.getId() + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Task\"}"))
+            .andExpect(status().isOk());
+
+        // THEN
+        String stream = awaitContent(subscription, "event:change");
+        Assertions.assertTrue(stream.contains("\"entity_type\":\"task\""), stream);
+        Assertions.assertTrue(stream.contains("\"project_id\":\"" + project.getId() + "\""), stream);
+        Assertions.assertTrue(stream.contains("\"change\":\"created\""), stream);
+        Assertions.assertTrue(stream.contains("\"version\":" + (project.getVersion() + 1)), stream);
+
+        // WHEN the client disconnects
+        subscription.getRequest().getAsyncContext().complete();
+
+        // THEN
+        Assertions.assertEquals(0, changeFeedService.getSubscriberCount());
+    }
+
+    @Test
+    public void subscribe_journalEntryEditedWithoutVersion_receivesNewVersion() throws Exception {
+        // GIVEN
+        JournalEntry entry = journalEntryRepository.save(new JournalEntry.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withDate(LocalDate.of(2024, 5, 1))
+            .withBody("First draft")
+            .build());
+        MvcResult subscription = mockMvc.perform(get("/changes"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // WHEN
+        mockMvc.perform(put("/journal/updateJournalEntry/" + entry.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"entry_id\": \"" + entry.getId() + "\", \"entry_date\": \"2024-05-01\", "
+                    + "\"entry_body\": \"Second draft\"}"))
+            .andExpect(status().isOk());
+
+        // THEN
+        String stream = awaitContent(subscription, "event:change");
+        Assertions.assertTrue(stream.contains("\"entity_type\":\"journal_entry\""), stream);
+        Assertions.assertTrue(stream.contains("\"version\":" + (entry.getVersion() + 1)), stream);
+        subscription.getRequest().getAsyncContext().complete();
+    }
+
+    /**---- Backpressure ----*/
+    @Test
+    public void publish_subscriberFallsBehind_dropsBufferAndSendsResync() {
+        // GIVEN a feed whose deliveries only run when the test says so, with room for two changes per subscriber
+        List<Runnable> deliveries = new ArrayList<>();
+        ChangeFeedService feed = new ChangeFeedService(Mockito.mock(ProjectRepository.class), deliveries::add, 2);
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter);
+
+        // WHEN three changes arrive before the first delivery
+        for (int i = 1; i <= 3; i++) {
+            feed.publish(new JournalEntryChangedEvent("entry-" + i, ChangeType.CREATED, List.of()));
+        }
+        runAll(deliveries);
+        feed.publish(new JournalEntryChangedEvent("entry-4", ChangeType.UPDATED, List.of("entry_body")));
+        runAll(deliveries);
+
+        // THEN one resync replaces the dropped changes, later changes are delivered again
+        Assertions.assertEquals(2, emitter.events.size(), emitter.events.toString());
+        Assertions.assertTrue(emitter.events.get(0).contains("event:resync"), emitter.events.get(0));
+        Assertions.assertTrue(emitter.events.get(0).contains("dropped_changes=3"), emitter.events.get(0));
+        Assertions.assertTrue(emitter.events.get(1).contains("event:change"), emitter.events.get(1));
+        Assertions.assertTrue(emitter.events.get(1).contains("id:4"), emitter.events.get(1));
+    }
+
+    @Test
+    public void publish_noSubscribers_doesNotLookUpVersions() {
+        // GIVEN
+        ProjectRepository projectRepository = Mockito.mock(ProjectRepository.class);
+        ChangeFeedService feed = new ChangeFeedService(projectRepository, Runnable::run, 2);
+
+        // WHEN
+        feed.publish(new ProjectChangedEvent("project-1"));
+
+        // THEN
+        Mockito.verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    public void publish_severalChangesInOneTransaction_looksUpVersionsOnceAfterCommit() {
+        // GIVEN
+        ProjectRepository projectRepository = Mockito.mock(ProjectRepository.class);
+        ProjectVersion projectVersion = Mockito.mock(ProjectVersion.class);
+        Mockito.when(projectVersion.getId()).thenReturn("project-1");
+        Mockito.when(projectVersion.getVersion()).thenReturn(7L);
+        Mockito.when(projectRepository.findVersionsByIdIn(Mockito.anyCollection())).thenReturn(List.of(projectVersion));
+        ChangeFeedService feed = new ChangeFeedService(projectRepository, Runnable::run, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter);
+
+        // WHEN
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 1; i <= 3; i++) {
+                feed.publish(new ProjectChangedEvent("project-1", EntityType.TASK, "task-" + i, ChangeType.UPDATED,
+                    List.of("status"), null));
+            }
+            // THEN nothing is delivered before the commit
+            Assertions.assertTrue(emitter.events.isEmpty());
+        });
+
+        // THEN
+        Mockito.verify(projectRepository).findVersionsByIdIn(Set.of("project-1"));
+        Mockito.verifyNoMoreInteractions(projectRepository);
+        Assertions.assertEquals(3, emitter.events.size(), emitter.events.toString());
+        emitter.changes.forEach(change -> Assertions.assertEquals(7L, change.getVersion()));
+    }
+
+    private static void runAll(List<Runnable> deliveries) {
+        while (!deliveries.isEmpty()) {
+            deliveries.remove(0).run();
+        }
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        // An event is complete once the blank line after its data has been written
+        while (!(content.contains(expected) && content.endsWith("\n\n")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    /**
+     * Keeps the text of every event instead of writing it to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private final List<ChangeEventResponse> changes = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining()));
+            builder.build().stream()
+                .filter(part -> part.getData() instanceof ChangeEventResponse)
+                .forEach(part -> changes.add((ChangeEventResponse) part.getData()));
+        }
+    }
+}
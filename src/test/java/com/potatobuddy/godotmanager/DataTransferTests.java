@@ -0,0 +1,170 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.model.JournalEntry;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static com.potatobuddy.godotmanager.TestFixtures.buildProject;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DataTransferTests {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @BeforeEach
+    public void setup() {
+        for (int i = 0; i < 2; i++) {
+            projectRepository.save(buildProject("Test Project " + i, 2, 2));
+        }
+        journalEntryRepository.save(new JournalEntry.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withDate(LocalDate.of(2024, 3, 1))
+            .withBody("First line\nsecond line")
+            .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+    }
+
+    /**---- Export ----*/
+    @Test
+    public void exportData_writesOneRecordPerRowParentsFirst() throws Exception {
+        // WHEN
+        String[] lines = export(false).split("\n");
+
+        // THEN 2 projects, 2 tasks each with 2 subtasks each, 1 journal entry
+        Assertions.assertEquals(2 + 4 + 8 + 1, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"type\":\"project\""), lines[0]);
+        Assertions.assertTrue(lines[2].startsWith("{\"type\":\"task\""), lines[2]);
+        Assertions.assertTrue(lines[6].startsWith("{\"type\":\"subtask\""), lines[6]);
+        Assertions.assertTrue(lines[14].startsWith("{\"type\":\"journal_entry\""), lines[14]);
+        Assertions.assertTrue(lines[14].contains("\"date\":\"2024-03-01\""), lines[14]);
+    }
+
+    /**---- Import ----*/
+    @Test
+    public void importData_exportIntoEmptyDatabase_restoresAllRows() throws Exception {
+        // GIVEN
+        String export = export(false);
+        tearDown();
+
+        // WHEN
+        mockMvc.perform(post("/data/import").contentType(NDJSON).content(export))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.projects").value(2))
+            .andExpect(jsonPath("$.tasks").value(4))
+            .andExpect(jsonPath("$.subtasks").value(8))
+            .andExpect(jsonPath("$.journal_entries").value(1));
+
+        // THEN
+        Assertions.assertEquals(export, export(false));
+    }
+
+    @Test
+    public void importData_gzippedExport_restoresAllRows() throws Exception {
+        // GIVEN
+        String export = export(false);
+        byte[] gzippedExport = exportBytes(true);
+        tearDown();
+        try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedExport))) {
+            Assertions.assertEquals(export, new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // WHEN
+        mockMvc.perform(post("/data/import").contentType("application/gzip").content(gzippedExport))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subtasks").value(8));
+
+        // THEN
+        Assertions.assertEquals(export, export(false));
+    }
+
+    @Test
+    public void importData_existingRows_rejectsWholeImport() throws Exception {
+        // GIVEN
+        String newJournalEntry = "{\"type\":\"journal_entry\",\"journal_id\":\"new-entry\",\"date\":\"2024-03-02\"}\n";
+
+        // WHEN
+        mockMvc.perform(post("/data/import").contentType(NDJSON).content(newJournalEntry + export(false)))
+            .andExpect(status().isBadRequest());
+
+        // THEN
+        Assertions.assertFalse(journalEntryRepository.existsById("new-entry"));
+    }
+
+    @Test
+    public void importData_taskOfExistingProject_bumpsProjectVersion() throws Exception {
+        // GIVEN
+        Project project = projectRepository.findAll().get(0);
+        String task = "{\"type\":\"task\",\"task_id\":\"imported-task\",\"project_id\":\"" + project.getId()
+            + "\",\"task_name\":\"Imported\",\"task_type\":\"backlog\"}";
+
+        // WHEN
+        mockMvc.perform(post("/data/import").contentType(NDJSON).content(task))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks").value(1));
+
+        // THEN
+        Assertions.assertEquals(project.getVersion() + 1, projectRepository.findVersionById(project.getId())
+            .orElseThrow().getVersion());
+        mockMvc.perform(get("/project/" + project.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_tasks.length()").value(3));
+    }
+
+    @Test
+    public void importData_unknownType_returnsBadRequest() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(post("/data/import").contentType(NDJSON).content("{\"type\":\"milestone\",\"id\":\"1\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorMessage").value("Record 1 has an unknown type: \"milestone\""));
+    }
+
+    private String export(boolean gzip) throws Exception {
+        return new String(exportBytes(gzip), StandardCharsets.UTF_8);
+    }
+
+    private byte[] exportBytes(boolean gzip) throws Exception {
+        MvcResult result = mockMvc.perform(get("/data/export").param("gzip", String.valueOf(gzip)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,93 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.service.IdGenerator;
+import com.potatobuddy.godotmanager.service.RandomUuidIdGenerator;
+import com.potatobuddy.godotmanager.service.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insert throughput of random versus time-ordered primary keys. Not part of the regular test run; run it with
+ * {@code gradle benchmark}, against MySQL by pointing the datasource properties at a server.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class IdGeneratorBenchmarkTests {
+
+    private static final int WARMUP_PROJECTS = 2_000;
+    private static final int PROJECTS = 20_000;
+    private static final int TASKS_PER_PROJECT = 4;
+    private static final int BATCH = 500;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        deleteAll();
+    }
+
+    @Test
+    public void insertThroughput_randomVersusTimeOrdered() {
+        insert(new RandomUuidIdGenerator(), WARMUP_PROJECTS);
+        insert(new TimeOrderedIdGenerator(), WARMUP_PROJECTS);
+        deleteAll();
+
+        report("random (v4)", new RandomUuidIdGenerator());
+        report("time-ordered (v7)", new TimeOrderedIdGenerator());
+    }
+
+    private void report(String name, IdGenerator idGenerator) {
+        long rowsPerProject = 1 + TASKS_PER_PROJECT;
+        long start = System.nanoTime();
+        insert(idGenerator, PROJECTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-18s %,d rows in %.2f s, %,.0f rows/s%n", name, PROJECTS * rowsPerProject, seconds,
+            PROJECTS * rowsPerProject / seconds);
+        deleteAll();
+    }
+
+    private void deleteAll() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+    }
+
+    private void insert(IdGenerator idGenerator, int count) {
+        for (int done = 0; done < count; done += BATCH) {
+            List<Project> projects = new ArrayList<>();
+            for (int i = 0; i < BATCH; i++) {
+                Project project = new Project.Builder()
+                    .withId(idGenerator.newId())
+                    .withName("Benchmark Project")
+                    .withDescription("Benchmark Description")
+                    .build();
+                for (int j = 0; j < TASKS_PER_PROJECT; j++) {
+                    project.addTask(new Task.Builder()
+                        .withId(idGenerator.newId())
+                        .withName("Benchmark Task")
+                        .build());
+                }
+                projects.add(project);
+            }
+            transactionTemplate.executeWithoutResult(status -> projectRepository.saveAll(projects));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.service.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+public class IdGeneratorTests {
+
+    @Test
+    public void testTimeOrdered_versionAndVariant() {
+        // GIVEN
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator();
+
+        // WHEN
+        UUID id = UUID.fromString(idGenerator.newId());
+
+        // THEN
+        Assertions.assertEquals(7, id.version());
+        Assertions.assertEquals(2, id.variant());
+    }
+
+    @Test
+    public void testTimeOrdered_embedsTimestamp() {
+        // GIVEN
+        Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(Clock.fixed(now, ZoneOffset.UTC));
+
+        // WHEN
+        UUID id = UUID.fromString(idGenerator.newId());
+
+        // THEN
+        Assertions.assertEquals(now.toEpochMilli(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testTimeOrdered_sameMillisecond_idsSortInCreationOrder() {
+        // GIVEN a clock that never advances, so every id falls into the same millisecond
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(
+            Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC));
+
+        // WHEN more ids than the per-millisecond counter can hold
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(idGenerator.newId());
+        }
+
+        // THEN the text form sorts like the creation order and no id repeats
+        List<String> sortedIds = new ArrayList<>(ids);
+        sortedIds.sort(null);
+        Assertions.assertEquals(ids, sortedIds);
+        Assertions.assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+}
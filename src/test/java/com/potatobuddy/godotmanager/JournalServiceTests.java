@@ -1,4 +1,441 @@
 package com.potatobuddy.godotmanager;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.config.CacheConfig;
+import com.potatobuddy.godotmanager.model.CompressedTextConverter;
+import com.potatobuddy.godotmanager.model.JournalEntry;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.service.EntityChangedEvent.ChangeType;
+import com.potatobuddy.godotmanager.service.JournalCompressionService;
+import com.potatobuddy.godotmanager.service.JournalEntryChangedEvent;
+import com.potatobuddy.godotmanager.service.JournalHeatmapService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
 public class JournalServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private JournalCompressionService journalCompressionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        journalEntryRepository.deleteAll();
+        // Entries saved through the repository publish no events, so nothing else would clear it
+        cacheManager.getCache(CacheConfig.JOURNAL_HEATMAP).clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        journalEntryRepository.deleteAll();
+    }
+
+    /**---- Journal Page ----*/
+    @Test
+    public void getJournalPage_walksAllEntries_newestFirstWithoutGapsOrDuplicates() throws Exception {
+        // GIVEN two entries per day, so pages also split entries of the same date
+        for (int day = 1; day <= 5; day++) {
+            saveEntry("a" + day, LocalDate.of(2024, 3, day));
+            saveEntry("b" + day, LocalDate.of(2024, 3, day));
+        }
+
+        // WHEN
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = getJson(cursor == null
+                ? get("/journal/page").param("size", "3")
+                : get("/journal/page").param("size", "3").param("cursor", cursor));
+            page.get("journal_entries").forEach(entry -> ids.add(entry.get("entry_id").asText()));
+            cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        // THEN
+        Assertions.assertEquals(4, pages);
+        Assertions.assertEquals(List.of("b5", "a5", "b4", "a4", "b3", "a3", "b2", "a2", "b1", "a1"), ids);
+    }
+
+    @Test
+    public void getJournalPage_invalidCursor_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/journal/page").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getJournalPage_listsPreviewsAndWordCounts_withoutBodies() throws Exception {
+        // GIVEN
+        String longBody = "word ".repeat(300);
+        String id = createEntry("2024-05-01", "  Shipped   the\n\ninventory screen  ");
+        String longId = createEntry("2024-05-02", longBody);
+
+        // WHEN
+        JsonNode entries = getJson(get("/journal/page")).get("journal_entries");
+
+        // THEN whitespace is collapsed and long bodies are cut at a word boundary
+        Assertions.assertEquals(longId, entries.get(0).get("entry_id").asText());
+        Assertions.assertEquals(300, entries.get(0).get("word_count").asInt());
+        String longPreview = entries.get(0).get("entry_preview").asText();
+        Assertions.assertTrue(longPreview.length() <= 201 && longPreview.endsWith("word\u2026"), longPreview);
+        Assertions.assertEquals(id, entries.get(1).get("entry_id").asText());
+        Assertions.assertEquals("Shipped the inventory screen", entries.get(1).get("entry_preview").asText());
+        Assertions.assertEquals(4, entries.get(1).get("word_count").asInt());
+        Assertions.assertFalse(entries.get(1).has("entry_body"));
+
+        // WHEN the body is fetched on its own
+        JsonNode entry = getJson(get("/journal/" + longId));
+
+        // THEN
+        Assertions.assertEquals(longBody, entry.get("entry_body").asText());
+    }
+
+    @Test
+    public void editJournalEntry_body_updatesPreviewAndWordCount() throws Exception {
+        // GIVEN
+        String id = createEntry("2024-05-01", "First draft");
+
+        // WHEN
+        mockMvc.perform(put("/journal/updateJournalEntry/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    Map.of("entry_id", id, "entry_date", "2024-05-01", "entry_body", "Second and final draft"))))
+            .andExpect(status().isOk());
+
+        // THEN
+        JsonNode entry = getJson(get("/journal/range").param("from", "2024-05-01").param("to", "2024-05-01")).get(0);
+        Assertions.assertEquals("Second and final draft", entry.get("entry_preview").asText());
+        Assertions.assertEquals(4, entry.get("word_count").asInt());
+    }
+
+    /**---- Journal Edit ----*/
+    @Test
+    public void editJournalEntry_currentVersion_updatesInOneStatement() throws Exception {
+        // GIVEN
+        String id = createEntry("2024-05-01", "First draft");
+        long version = getJson(get("/journal/" + id)).get("entry_version").asLong();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // WHEN
+        JsonNode edited = putJson(id, Map.of("entry_id", id, "entry_date", "2024-05-02",
+            "entry_body", "Second draft", "entry_version", version), 200);
+
+        // THEN no select before the update
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(version + 1, edited.get("entry_version").asLong());
+        JsonNode entry = getJson(get("/journal/" + id));
+        Assertions.assertEquals("2024-05-02", entry.get("entry_date").asText());
+        Assertions.assertEquals("Second draft", entry.get("entry_body").asText());
+        Assertions.assertEquals(version + 1, entry.get("entry_version").asLong());
+    }
+
+    @Test
+    public void editJournalEntry_withoutVersion_returnsNewVersion() throws Exception {
+        // GIVEN
+        String id = createEntry("2024-05-01", "First draft");
+        long version = getJson(get("/journal/" + id)).get("entry_version").asLong();
+
+        // WHEN
+        JsonNode edited = putJson(id, Map.of("entry_id", id, "entry_date", "2024-05-01", "entry_body", "Second draft"),
+            200);
+
+        // THEN
+        Assertions.assertEquals(version + 1, edited.get("entry_version").asLong());
+        Assertions.assertEquals(version + 1, getJson(get("/journal/" + id)).get("entry_version").asLong());
+    }
+
+    @Test
+    public void editJournalEntry_staleVersion_returnsConflict() throws Exception {
+        // GIVEN
+        String id = createEntry("2024-05-01", "First draft");
+        long version = getJson(get("/journal/" + id)).get("entry_version").asLong();
+        putJson(id, Map.of("entry_id", id, "entry_date", "2024-05-01", "entry_body", "Edited elsewhere",
+            "entry_version", version), 200);
+
+        // WHEN
+        putJson(id, Map.of("entry_id", id, "entry_date", "2024-05-01", "entry_body", "Stale edit",
+            "entry_version", version), 409);
+
+        // THEN
+        Assertions.assertEquals("Edited elsewhere", getJson(get("/journal/" + id)).get("entry_body").asText());
+    }
+
+    @Test
+    public void editJournalEntry_unknownId_returnsNotFoundWithoutCreating() throws Exception {
+        // WHEN
+        putJson("missing", Map.of("entry_id", "missing", "entry_date", "2024-05-01", "entry_body", "Body"), 404);
+
+        // THEN
+        Assertions.assertFalse(journalEntryRepository.existsById("missing"));
+    }
+
+    @Test
+    public void editJournalEntry_longBody_isStoredCompressed() throws Exception {
+        // GIVEN
+        String id = createEntry("2024-05-01", "Short");
+        String longBody = "Polished the save system. ".repeat(100);
+
+        // WHEN
+        putJson(id, Map.of("entry_id", id, "entry_date", "2024-05-01", "entry_body", longBody), 200);
+
+        // THEN
+        Assertions.assertTrue(storedBody(id).startsWith(CompressedTextConverter.MARKER));
+        Assertions.assertEquals(longBody, getJson(get("/journal/" + id)).get("entry_body").asText());
+    }
+
+    @Test
+    public void getJournalEntry_unknownId_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/journal/missing"))
+            .andExpect(status().isNotFound());
+    }
+
+    /**---- Journal Range ----*/
+    @Test
+    public void getJournalEntriesBetween_week_returnsEntriesInRangeNewestFirst() throws Exception {
+        // GIVEN
+        saveEntry("before", LocalDate.of(2024, 3, 31));
+        saveEntry("first", LocalDate.of(2024, 4, 1));
+        saveEntry("last", LocalDate.of(2024, 4, 7));
+        saveEntry("after", LocalDate.of(2024, 4, 8));
+
+        // WHEN
+        JsonNode entries = getJson(get("/journal/range").param("from", "2024-04-01").param("to", "2024-04-07"));
+
+        // THEN both ends are included
+        Assertions.assertEquals(2, entries.size());
+        Assertions.assertEquals("last", entries.get(0).get("entry_id").asText());
+        Assertions.assertEquals("first", entries.get(1).get("entry_id").asText());
+    }
+
+    @Test
+    public void getJournalEntriesBetween_invalidRange_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/journal/range").param("from", "2024-04-07").param("to", "2024-04-01"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/journal/range").param("from", "2020-01-01").param("to", "2024-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**---- Body Compression ----*/
+    @Test
+    public void createJournalEntry_longBody_isStoredCompressedAndReadBackUnchanged() throws Exception {
+        // GIVEN
+        String longBody = "Today I reworked the dialogue system. ".repeat(100);
+
+        // WHEN
+        String longId = createEntry("2024-06-01", longBody);
+        String shortId = createEntry("2024-06-02", "Short note");
+
+        // THEN
+        String stored = storedBody(longId);
+        Assertions.assertTrue(stored.startsWith(CompressedTextConverter.MARKER));
+        Assertions.assertTrue(stored.length() < longBody.length() / 4, "stored " + stored.length() + " characters");
+        Assertions.assertEquals("Short note", storedBody(shortId));
+        Assertions.assertEquals(longBody, getJson(get("/journal/" + longId)).get("entry_body").asText());
+    }
+
+    @Test
+    public void compressExisting_compressesLongUncompressedBodiesOnce() throws Exception {
+        // GIVEN a long body written before compression was in place
+        String longBody = "Level two needs more enemies. ".repeat(100);
+        jdbcTemplate.update("insert into journal_entry (journal_id, date, body, word_count) values (?, ?, ?, ?)",
+            "old-entry", LocalDate.of(2023, 1, 1), longBody, 500);
+        saveEntry("short-entry", LocalDate.of(2023, 1, 2));
+
+        // WHEN
+        int compressed = journalCompressionService.compressExisting();
+
+        // THEN
+        Assertions.assertEquals(1, compressed);
+        Assertions.assertTrue(storedBody("old-entry").startsWith(CompressedTextConverter.MARKER));
+        Assertions.assertEquals("Entry short-entry", storedBody("short-entry"));
+        Assertions.assertEquals(longBody, getJson(get("/journal/old-entry")).get("entry_body").asText());
+        Assertions.assertEquals(0, journalCompressionService.compressExisting());
+    }
+
+    @Test
+    public void compressExisting_entryEditedAfterRead_keepsTheEdit() {
+        // GIVEN a long old body, and an edit that only changes its case between the read and the write of the batch
+        String longBody = "Level two needs more enemies. ".repeat(100);
+        String editedBody = longBody.toLowerCase();
+        jdbcTemplate.update("insert into journal_entry (journal_id, date, body, word_count) values (?, ?, ?, ?)",
+            "old-entry", LocalDate.of(2023, 1, 1), longBody, 500);
+        NamedParameterJdbcTemplate editingTemplate = new NamedParameterJdbcTemplate(jdbcTemplate) {
+            @Override
+            public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+                List<T> rows = super.query(sql, paramSource, rowMapper);
+                jdbcTemplate.update("update journal_entry set body = ?, version = version + 1 where journal_id = ?",
+                    editedBody, "old-entry");
+                return rows;
+            }
+        };
+
+        // WHEN
+        int compressed = new JournalCompressionService(editingTemplate, Runnable::run).compressExisting();
+
+        // THEN the compressed old body did not overwrite the edit
+        Assertions.assertEquals(0, compressed);
+        Assertions.assertEquals(editedBody, storedBody("old-entry"));
+    }
+
+    /**---- Heatmap ----*/
+    @Test
+    public void getHeatmap_year_countsEntriesAndWordsPerDay() throws Exception {
+        // GIVEN
+        createEntry("2024-02-10", "One two three");
+        createEntry("2024-02-10", "Four five");
+        createEntry("2024-07-01", "Six");
+        createEntry("2023-12-31", "Previous year");
+
+        // WHEN
+        JsonNode heatmap = getJson(get("/journal/heatmap").param("year", "2024"));
+
+        // THEN
+        Assertions.assertEquals(2024, heatmap.get("year").asInt());
+        Assertions.assertEquals(3, heatmap.get("total_entries").asLong());
+        Assertions.assertEquals(6, heatmap.get("total_words").asLong());
+        JsonNode days = heatmap.get("days");
+        Assertions.assertEquals(2, days.size());
+        Assertions.assertEquals("2024-02-10", days.get(0).get("date").asText());
+        Assertions.assertEquals(2, days.get(0).get("entries").asLong());
+        Assertions.assertEquals(5, days.get(0).get("words").asLong());
+        Assertions.assertEquals("2024-07-01", days.get(1).get("date").asText());
+    }
+
+    @Test
+    public void getHeatmap_cachedPerYear_untilAJournalWrite() throws Exception {
+        // GIVEN
+        String id = createEntry("2024-02-10", "One two three");
+        getJson(get("/journal/heatmap").param("year", "2024"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // WHEN
+        JsonNode cached = getJson(get("/journal/heatmap").param("year", "2024"));
+
+        // THEN
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, cached.get("total_entries").asLong());
+
+        // WHEN the entry moves to another year
+        putJson(id, Map.of("entry_id", id, "entry_date", "2025-01-01", "entry_body", "One two three"), 200);
+
+        // THEN
+        JsonNode oldYear = getJson(get("/journal/heatmap").param("year", "2024"));
+        Assertions.assertEquals(0, oldYear.get("total_entries").asLong());
+        Assertions.assertEquals(3, getJson(get("/journal/heatmap").param("year", "2025")).get("total_words").asLong());
+    }
+
+    @Test
+    public void getHeatmap_writeCommittedBeforePut_notServedFromCacheAfterwards() throws Exception {
+        // GIVEN a write that commits, and invalidates, after a heatmap was loaded but before it is put
+        createEntry("2024-02-10", "One two three");
+        JournalHeatmapService[] heatmapService = new JournalHeatmapService[1];
+        SimpleCacheManager racingCacheManager = new SimpleCacheManager();
+        racingCacheManager.setCaches(List.of(new ConcurrentMapCache(CacheConfig.JOURNAL_HEATMAP) {
+            @Override
+            public void put(Object key, Object value) {
+                heatmapService[0].invalidate(new JournalEntryChangedEvent("racing-entry", ChangeType.UPDATED,
+                    List.of()));
+                super.put(key, value);
+            }
+        }));
+        racingCacheManager.afterPropertiesSet();
+        heatmapService[0] = new JournalHeatmapService(journalEntryRepository, racingCacheManager);
+        heatmapService[0].getHeatmap(2024);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // WHEN
+        heatmapService[0].getHeatmap(2024);
+
+        // THEN the heatmap loaded before the write is not used again
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private String storedBody(String id) {
+        return jdbcTemplate.queryForObject("select body from journal_entry where journal_id = ?", String.class, id);
+    }
+
+    private void saveEntry(String id, LocalDate date) {
+        journalEntryRepository.save(new JournalEntry.Builder()
+            .withId(id)
+            .withDate(date)
+            .withBody("Entry " + id)
+            .build());
+    }
+
+    private String createEntry(String date, String body) throws Exception {
+        String json = mockMvc.perform(post("/journal/newJournalEntry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("entry_date", date, "entry_body", body))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("entry_id").asText();
+    }
+
+    private JsonNode putJson(String id, Map<String, Object> request, int expectedStatus) throws Exception {
+        String json = mockMvc.perform(put("/journal/updateJournalEntry/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().is(expectedStatus))
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+
+    private JsonNode getJson(RequestBuilder request) throws Exception {
+        String json = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(json);
+    }
 }
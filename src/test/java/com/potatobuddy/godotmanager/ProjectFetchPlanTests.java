@@ -0,0 +1,507 @@
+package com.potatobuddy.godotmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.potatobuddy.godotmanager.config.CacheConfig;
+import com.potatobuddy.godotmanager.controller.GlobalExceptionHandler;
+import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.exceptions.ErrorResponse;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.service.EncodedJson;
+import com.potatobuddy.godotmanager.service.ProjectJsonCache;
+import com.potatobuddy.godotmanager.service.ProjectService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.potatobuddy.godotmanager.TestFixtures.buildProject;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts the exact number of SQL statements each endpoint issues, so that a change to a fetch plan that
+ * reintroduces N+1 selects fails the build. Each project in the fixture has two tasks with two subtasks each.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class ProjectFetchPlanTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectJsonCache projectJsonCache;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    private Statistics statistics;
+    private List<Project> projects;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            projects.add(projectRepository.save(buildProject("Test Project " + i, 2, 2)));
+        }
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+    }
+
+    @Test
+    public void getProjectById_fullAggregate_issuesThreeStatements() throws Exception {
+        // WHEN
+        mockMvc.perform(get("/project/" + projects.get(0).getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_tasks.length()").value(2))
+            .andExpect(jsonPath("$.project_tasks[0].subtasks.length()").value(2));
+
+        // THEN version lookup, project joined with tasks, then one subselect for all subtasks
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getProjectById_repeatedRead_servedFromCacheUntilChanged() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+        String taskId = project.getTasks().get(0).getId();
+        mockMvc.perform(get("/project/" + project.getId())).andExpect(status().isOk());
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(get("/project/" + project.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_tasks.length()").value(2));
+
+        // THEN only the version lookup
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        // WHEN a task changes
+        mockMvc.perform(patch("/project/" + project.getId() + "/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"Finished\"}"))
+            .andExpect(status().isOk());
+        statistics.clear();
+
+        // THEN the next read loads the project again and sees the change
+        mockMvc.perform(get("/project/" + project.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_tasks[0].status").value("Finished"));
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getProjectById_staleEntryPutBackByRacingRead_servesAndCachesTheCurrentVersion() throws Exception {
+        // GIVEN a read that loaded the project before a write committed and puts it back after the eviction
+        Project project = projects.get(0);
+        String staleETag = mockMvc.perform(get("/project/" + project.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Object staleEntry = cacheManager.getCache(CacheConfig.PROJECT_JSON).get(project.getId()).get();
+        mockMvc.perform(patch("/project/" + project.getId() + "/tasks/" + project.getTasks().get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"Finished\"}"))
+            .andExpect(status().isOk());
+        cacheManager.getCache(CacheConfig.PROJECT_JSON).put(project.getId(), staleEntry);
+        statistics.clear();
+
+        // WHEN
+        String eTag = mockMvc.perform(get("/project/" + project.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_tasks[0].status").value("Finished"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // THEN the stale entry is replaced, so the next read is back to the version lookup alone
+        Assertions.assertNotEquals(staleETag, eTag);
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+        statistics.clear();
+        mockMvc.perform(get("/project/" + project.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getProjectJson_projectChangedAfterVersionLookup_servesCurrentButDoesNotCacheIt() {
+        // GIVEN the caller read a version that a write has since replaced
+        String projectId = projects.get(0).getId();
+        String outdatedETag = ProjectService.projectETag(-1L);
+
+        // WHEN
+        EncodedJson encoded = projectJsonCache.getProjectJson(projectId, outdatedETag);
+
+        // THEN
+        Assertions.assertNotEquals(outdatedETag, encoded.getETag());
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.PROJECT_JSON).get(projectId));
+    }
+
+    @Test
+    public void getProjectAtVersion_repeatedRead_servedFromAggregateCacheUntilVersionChanges() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+        String eTag = projectService.getProjectVersionTag(project.getId()).getETag();
+        projectService.getProjectAtVersion(project.getId(), eTag);
+        statistics.clear();
+
+        // WHEN
+        ProjectResponse cached = projectService.getProjectAtVersion(project.getId(), eTag);
+
+        // THEN
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, cached.getTasks().size());
+
+        // WHEN a task changes
+        mockMvc.perform(patch("/project/" + project.getId() + "/tasks/" + project.getTasks().get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"Finished\"}"))
+            .andExpect(status().isOk());
+        String newETag = projectService.getProjectVersionTag(project.getId()).getETag();
+        statistics.clear();
+
+        // THEN the new version is a miss, while the outdated one is never cached with the new state
+        Assertions.assertEquals(newETag, ProjectService.projectETag(
+            projectService.getProjectAtVersion(project.getId(), newETag).getVersion()));
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        projectService.getProjectAtVersion(project.getId(), ProjectService.projectETag(-1L));
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.PROJECTS).get(project.getId() + "/-1"));
+    }
+
+    @Test
+    public void getProjectById_acceptsGzip_servesPreCompressedBody() throws Exception {
+        // GIVEN
+        String projectId = projects.get(0).getId();
+        String plainJson = mockMvc.perform(get("/project/" + projectId))
+            .andReturn().getResponse().getContentAsString();
+        statistics.clear();
+
+        // WHEN
+        MockHttpServletResponse response = mockMvc.perform(get("/project/" + projectId)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse();
+
+        // THEN same body, straight from the byte cache after the version lookup
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Assertions.assertEquals(plainJson, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getProjectById_matchingETag_answersNotModifiedFromTheVersionLookup() throws Exception {
+        // GIVEN
+        String projectId = projects.get(0).getId();
+        String eTag = mockMvc.perform(get("/project/" + projectId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(get("/project/" + projectId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // THEN
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void getProjectById_taskChanged_newETag() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+        String eTag = mockMvc.perform(get("/project/" + project.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch("/project/" + project.getId() + "/tasks/" + project.getTasks().get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"Finished\"}"))
+            .andExpect(status().isOk());
+
+        // WHEN / THEN
+        String newETag = mockMvc.perform(get("/project/" + project.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    public void getAllProjects_matchingETagUntilProjectDeleted() throws Exception {
+        // GIVEN
+        String eTag = mockMvc.perform(get("/project/all"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        // WHEN / THEN unchanged list costs only the version digest
+        mockMvc.perform(get("/project/all").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        // WHEN / THEN
+        mockMvc.perform(delete("/project/" + projects.get(2).getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/project/all").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void getAllProjects_noLastModified_ifModifiedSinceDoesNotHideDeletion() throws Exception {
+        // GIVEN
+        MockHttpServletResponse first = mockMvc.perform(get("/project/all")).andReturn().getResponse();
+        Assertions.assertNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+        mockMvc.perform(delete("/project/" + projects.get(0).getId())).andExpect(status().isNoContent());
+
+        // WHEN / THEN a client that only revalidates by date still sees the shorter list
+        mockMvc.perform(get("/project/all").header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void getAllProjects_fullAggregates_issuesThreeStatements() throws Exception {
+        // WHEN
+        mockMvc.perform(get("/project/all"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3));
+
+        // THEN version digest, then the aggregates
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void streamAllProjects_sameContentAsAll_issuesThreeStatements() throws Exception {
+        // GIVEN
+        String allJson = mockMvc.perform(get("/project/all")).andReturn().getResponse().getContentAsString();
+        statistics.clear();
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/project/all/stream"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String streamedJson = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        // THEN project cursor, one batch for the tasks of the chunk, one subselect for their subtasks
+        Assertions.assertEquals(sortedById(allJson), sortedById(streamedJson));
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getProjectPage_pageOfAggregates_issuesThreeStatements() throws Exception {
+        // WHEN
+        mockMvc.perform(get("/project/page").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.projects.length()").value(2))
+            .andExpect(jsonPath("$.projects[0].project_tasks[0].subtasks.length()").value(2));
+
+        // THEN limited project query, one batch for the tasks of the page, one subselect for their subtasks
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void getProjectSummaries_noEntities_issuesTwoStatements() throws Exception {
+        // WHEN
+        mockMvc.perform(get("/project/summaries"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3));
+
+        // THEN
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void updateProject_singleSubtaskChange_writesOnlyThatSubtask() throws Exception {
+        // GIVEN the unchanged project as the frontend would send it, with one subtask status changed
+        String projectId = projects.get(0).getId();
+        String projectJson = mockMvc.perform(get("/project/" + projectId))
+            .andReturn().getResponse().getContentAsString();
+        ObjectNode request = (ObjectNode) objectMapper.readTree(projectJson);
+        ((ObjectNode) request.at("/project_tasks/0/subtasks/0")).put("status", "Finished");
+        statistics.clear();
+
+        // WHEN
+        mockMvc.perform(put("/project/updateProject/" + projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.applied_changes.subtasks_updated").value(1))
+            .andExpect(jsonPath("$.applied_changes.tasks_updated").value(0));
+
+        // THEN project with tasks, subtasks subselect, the subtask UPDATE and the project version UPDATE
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, statistics.getEntityUpdateCount());
+        Assertions.assertEquals(0, statistics.getEntityInsertCount());
+        Assertions.assertEquals(0, statistics.getEntityDeleteCount());
+    }
+
+    @Test
+    public void updateTask_singleField_readsAndWritesOnlyThatTask() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+        String taskId = project.getTasks().get(0).getId();
+
+        // WHEN
+        mockMvc.perform(patch("/project/" + project.getId() + "/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"Finished\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("Finished"))
+            .andExpect(jsonPath("$.subtasks.length()").value(2));
+
+        // THEN task joined with its subtasks, the task UPDATE and the project version bump
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    public void createSubtask_newSubtask_insertsWithoutLoadingTheProject() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+        String taskId = project.getTasks().get(0).getId();
+
+        // WHEN
+        mockMvc.perform(post("/project/" + project.getId() + "/tasks/" + taskId + "/subtasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Subtask\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("New Subtask"));
+
+        // THEN existence check, one INSERT, the project version bump
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    public void jsonPatchProject_singleSubtaskField_writesOnlyThatSubtask() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+        Task task = project.getTasks().get(0);
+        String path = "/project_tasks/" + task.getId() + "/subtasks/" + task.getSubtasks().get(0).getId() + "/status";
+
+        // WHEN
+        mockMvc.perform(patch("/project/" + project.getId())
+                .contentType("application/json-patch+json")
+                .content("[{\"op\": \"replace\", \"path\": \"" + path + "\", \"value\": \"Finished\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.applied_changes.subtasks_updated").value(1));
+
+        // THEN project with tasks, subtasks subselect, the subtask UPDATE and the project version UPDATE
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(2, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    public void mergePatchProject_nameOnly_writesOnlyTheProjectRow() throws Exception {
+        // GIVEN
+        Project project = projects.get(0);
+
+        // WHEN
+        mockMvc.perform(patch("/project/" + project.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"project_name\": \"Renamed\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.project_name").value("Renamed"))
+            .andExpect(jsonPath("$.applied_changes.project_updated").value(true));
+
+        // THEN one UPDATE of the project row; the tasks are loaded for the response but not written
+        Assertions.assertEquals(1, statistics.getEntityUpdateCount());
+        Assertions.assertEquals(0, statistics.getEntityInsertCount());
+        Assertions.assertEquals(0, statistics.getEntityDeleteCount());
+    }
+
+    @Test
+    public void jsonPatchProject_failingTest_returnsConflictAndWritesNothing() throws Exception {
+        // WHEN
+        mockMvc.perform(patch("/project/" + projects.get(0).getId())
+                .contentType("application/json-patch+json")
+                .content("""
+                    [{"op": "replace", "path": "/project_name", "value": "Renamed"},
+                     {"op": "test", "path": "/project_description", "value": "Other"}]
+                    """))
+            .andExpect(status().isConflict());
+
+        // THEN
+        Assertions.assertEquals(0, statistics.getEntityUpdateCount());
+        Assertions.assertEquals("Test Project 0", projectRepository.findById(projects.get(0).getId()).get().getName());
+    }
+
+    @Test
+    public void optimisticLockingFailure_isReportedAsConflict() {
+        // GIVEN a write that lost the race for the project's version
+        ObjectOptimisticLockingFailureException ex =
+            new ObjectOptimisticLockingFailureException(Project.class, projects.get(0).getId());
+
+        // WHEN
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleOptimisticLockingFailure(ex);
+
+        // THEN
+        Assertions.assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        Assertions.assertEquals(409, response.getBody().getErrorCode());
+    }
+
+    /**------------------------------------------- Utility Methods ---------------------------------------------------*/
+
+    private List<JsonNode> sortedById(String projectsJson) throws Exception {
+        List<JsonNode> projectNodes = new ArrayList<>();
+        objectMapper.readTree(projectsJson).forEach(projectNodes::add);
+        projectNodes.sort(Comparator.comparing(project -> project.get("project_id").asText()));
+        return projectNodes;
+    }
+}
@@ -0,0 +1,273 @@
+package com.potatobuddy.godotmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
+import com.potatobuddy.godotmanager.exceptions.PatchConflictException;
+import com.potatobuddy.godotmanager.exceptions.ProjectNotFoundException;
+import com.potatobuddy.godotmanager.exceptions.TaskNotFoundException;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.service.ProjectPatchService;
+import com.potatobuddy.godotmanager.service.ProjectService;
+import com.potatobuddy.godotmanager.service.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+public class ProjectPatchServiceTests {
+
+    private ProjectRepository projectRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ProjectPatchService projectPatchService;
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private Project project;
+    private Task task;
+    private Subtask subtask;
+
+    private String projectId = "project-1";
+    private String taskId = "task-1";
+    private String subtaskId = "subtask-1";
+
+    @BeforeEach
+    public void setup() {
+        projectRepository = mock(ProjectRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        ProjectService projectService = new ProjectService(projectRepository, mock(TaskRepository.class),
+            mock(SubtaskRepository.class), new TimeOrderedIdGenerator(), eventPublisher);
+        projectPatchService = new ProjectPatchService(projectRepository, projectService, objectMapper);
+
+        subtask = new Subtask.Builder()
+            .withId(subtaskId)
+            .withName("Test Subtask")
+            .withStatus("In Progress")
+            .build();
+        task = new Task.Builder()
+            .withId(taskId)
+            .withName("Test Task")
+            .withStatus("In Progress")
+            .withDueDate(LocalDate.of(2024, 1, 1))
+            .withTaskType("active")
+            .build();
+        task.addSubtask(subtask);
+        project = new Project.Builder()
+            .withId(projectId)
+            .withName("Test Project")
+            .withDescription("Test Description")
+            .build();
+        project.addTask(task);
+    }
+
+    /**------------------------------------------- Merge Patch -------------------------------------------------------*/
+
+    @Test
+    public void testMergePatch_nameOnly_respondsWithFullProject() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN
+        ProjectResponse response = projectPatchService.mergePatchProject(projectId,
+            json("{\"project_name\": \"Renamed\"}"));
+
+        // THEN
+        Assertions.assertEquals("Renamed", project.getName());
+        Assertions.assertEquals("Test Description", project.getDescription());
+        Assertions.assertTrue(response.getAppliedChanges().isProjectUpdated());
+        Assertions.assertEquals(1, response.getTasks().size());
+    }
+
+    @Test
+    public void testMergePatch_tasks_appliedAsDelta() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN the existing task is kept unchanged and a new one is added
+        ProjectResponse response = projectPatchService.mergePatchProject(projectId, json("""
+            {"project_tasks": [
+                {"id": "task-1", "name": "Test Task", "status": "In Progress", "dueDate": "2024-01-01",
+                 "task_type": "active", "subtasks": [{"id": "subtask-1", "name": "Test Subtask", "status": "In Progress"}]},
+                {"name": "New Task", "task_type": "backlog"}
+            ]}
+            """));
+
+        // THEN
+        Assertions.assertEquals(2, project.getTasks().size());
+        Assertions.assertSame(task, project.getTasks().get(0));
+        Assertions.assertEquals(1, response.getAppliedChanges().getTasksInserted());
+        Assertions.assertEquals(0, response.getAppliedChanges().getTasksUpdated());
+        Assertions.assertEquals(0, response.getAppliedChanges().getSubtasksUpdated());
+        Assertions.assertFalse(response.getAppliedChanges().isProjectUpdated());
+    }
+
+    @Test
+    public void testMergePatch_nullName_throwsInvalidProjectRequestException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectPatchService.mergePatchProject(projectId, json("{\"project_name\": null}")));
+    }
+
+    @Test
+    public void testMergePatch_unknownField_throwsInvalidProjectRequestException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectPatchService.mergePatchProject(projectId, json("{\"owner\": \"someone\"}")));
+    }
+
+    @Test
+    public void testMergePatch_projectNotFound_throwsProjectNotFoundException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+
+        // WHEN & THEN
+        Assertions.assertThrows(ProjectNotFoundException.class,
+            () -> projectPatchService.mergePatchProject(projectId, json("{\"project_name\": \"Renamed\"}")));
+    }
+
+    /**-------------------------------------------- JSON Patch -------------------------------------------------------*/
+
+    @Test
+    public void testJsonPatch_subtaskField_updatesOnlyThatSubtask() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN
+        ProjectResponse response = projectPatchService.jsonPatchProject(projectId, json("""
+            [{"op": "replace", "path": "/project_tasks/task-1/subtasks/subtask-1/status", "value": "Finished"}]
+            """));
+
+        // THEN
+        Assertions.assertEquals("Finished", subtask.getStatus());
+        Assertions.assertEquals("In Progress", task.getStatus());
+        Assertions.assertEquals(1, response.getAppliedChanges().getSubtasksUpdated());
+        Assertions.assertEquals(0, response.getAppliedChanges().getTasksUpdated());
+    }
+
+    @Test
+    public void testJsonPatch_severalFieldsOfOneTask_countedAsOneUpdate() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN
+        ProjectResponse response = projectPatchService.jsonPatchProject(projectId, json("""
+            [{"op": "replace", "path": "/project_tasks/task-1/status", "value": "Finished"},
+             {"op": "replace", "path": "/project_tasks/task-1/dueDate", "value": "2024-02-01"},
+             {"op": "remove", "path": "/project_tasks/task-1/status"}]
+            """));
+
+        // THEN
+        Assertions.assertNull(task.getStatus());
+        Assertions.assertEquals(LocalDate.of(2024, 2, 1), task.getDueDate());
+        Assertions.assertEquals(1, response.getAppliedChanges().getTasksUpdated());
+    }
+
+    @Test
+    public void testJsonPatch_addAndRemove_insertsAndDeletes() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN
+        ProjectResponse response = projectPatchService.jsonPatchProject(projectId, json("""
+            [{"op": "add", "path": "/project_tasks/task-1/subtasks/-", "value": {"name": "New Subtask"}},
+             {"op": "remove", "path": "/project_tasks/task-1/subtasks/subtask-1"},
+             {"op": "add", "path": "/project_tasks/-", "value": {"name": "New Task"}}]
+            """));
+
+        // THEN
+        Assertions.assertEquals(1, task.getSubtasks().size());
+        Assertions.assertEquals("New Subtask", task.getSubtasks().get(0).getName());
+        Assertions.assertNotNull(task.getSubtasks().get(0).getId());
+        Assertions.assertNull(subtask.getTask());
+        Assertions.assertEquals(2, project.getTasks().size());
+        Assertions.assertEquals("active", project.getTasks().get(1).getTaskType());
+        Assertions.assertEquals(1, response.getAppliedChanges().getSubtasksInserted());
+        Assertions.assertEquals(1, response.getAppliedChanges().getSubtasksDeleted());
+        Assertions.assertEquals(1, response.getAppliedChanges().getTasksInserted());
+    }
+
+    @Test
+    public void testJsonPatch_addAtIndex_throwsInvalidProjectRequestException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN the lists keep no order, so an insert position cannot be honoured
+        JsonNode addTask = json("""
+            [{"op": "add", "path": "/project_tasks/0", "value": {"name": "New Task"}}]
+            """);
+        JsonNode addSubtask = json("""
+            [{"op": "add", "path": "/project_tasks/task-1/subtasks/0", "value": {"name": "New Subtask"}}]
+            """);
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectPatchService.jsonPatchProject(projectId, addTask));
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectPatchService.jsonPatchProject(projectId, addSubtask));
+        Assertions.assertEquals(1, project.getTasks().size());
+        Assertions.assertEquals(1, task.getSubtasks().size());
+    }
+
+    @Test
+    public void testJsonPatch_failingTest_throwsPatchConflictException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN
+        Assertions.assertThrows(PatchConflictException.class, () -> projectPatchService.jsonPatchProject(projectId, json("""
+            [{"op": "test", "path": "/project_name", "value": "Other Name"},
+             {"op": "replace", "path": "/project_name", "value": "Renamed"}]
+            """)));
+        Assertions.assertEquals("Test Project", project.getName());
+    }
+
+    @Test
+    public void testJsonPatch_unknownTask_throwsTaskNotFoundException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN
+        Assertions.assertThrows(TaskNotFoundException.class, () -> projectPatchService.jsonPatchProject(projectId,
+            json("[{\"op\": \"remove\", \"path\": \"/project_tasks/missing\"}]")));
+    }
+
+    @Test
+    public void testJsonPatch_move_throwsInvalidProjectRequestException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class, () -> projectPatchService.jsonPatchProject(projectId,
+            json("[{\"op\": \"move\", \"from\": \"/project_tasks/0\", \"path\": \"/project_tasks/1\"}]")));
+    }
+
+    @Test
+    public void testJsonPatch_invalidTaskType_throwsInvalidProjectRequestException() throws Exception {
+        // GIVEN
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        // WHEN & THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class, () -> projectPatchService.jsonPatchProject(projectId,
+            json("[{\"op\": \"replace\", \"path\": \"/project_tasks/0/task_type\", \"value\": \"someday\"}]")));
+    }
+
+    /**------------------------------------------- Utility Methods ---------------------------------------------------*/
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
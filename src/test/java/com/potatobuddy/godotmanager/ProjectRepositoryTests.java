@@ -0,0 +1,111 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.model.Constants;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.projection.ProjectTaskCounts;
+import com.potatobuddy.godotmanager.repository.projection.TaskStatusCount;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@DataJpaTest
+public class ProjectRepositoryTests {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private final LocalDate today = LocalDate.parse("2024-06-15");
+
+    private Project projectWithTasks;
+    private Project projectNoTasks;
+
+    @BeforeEach
+    public void setup() {
+        projectWithTasks = new Project.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName("Project with Tasks")
+            .withDescription("Test Description")
+            .withTasks(new ArrayList<>())
+            .build();
+        projectWithTasks.addTask(buildTask("Overdue Task", "In Progress", today.minusDays(1), Constants.TASK_TYPE_ACTIVE));
+        projectWithTasks.addTask(buildTask("Finished Task", Constants.TASK_STATUS_FINISHED, today.minusDays(1), Constants.TASK_TYPE_ACTIVE));
+        projectWithTasks.addTask(buildTask("Backlog Task", "Not Started", today.plusDays(1), Constants.TASK_TYPE_BACKLOG));
+
+        projectNoTasks = new Project.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName("Project with no Tasks")
+            .withDescription("Test Description")
+            .build();
+
+        projectRepository.saveAndFlush(projectWithTasks);
+        projectRepository.saveAndFlush(projectNoTasks);
+    }
+
+    /**------------------------------------------- Project Summaries -------------------------------------------------*/
+
+    @Test
+    public void findProjectTaskCounts_projectsWithAndWithoutTasks_returnsCounts() {
+        // WHEN
+        List<ProjectTaskCounts> result = projectRepository.findProjectTaskCounts(Constants.TASK_TYPE_ACTIVE,
+            Constants.TASK_TYPE_BACKLOG, Constants.TASK_STATUS_FINISHED, today);
+
+        // THEN
+        Assertions.assertEquals(2, result.size());
+
+        ProjectTaskCounts withTasks = findCounts(result, projectWithTasks.getId());
+        Assertions.assertEquals(projectWithTasks.getName(), withTasks.getName());
+        Assertions.assertEquals(3, withTasks.getTaskCount());
+        Assertions.assertEquals(2, withTasks.getActiveTaskCount());
+        Assertions.assertEquals(1, withTasks.getBacklogTaskCount());
+        Assertions.assertEquals(1, withTasks.getOverdueTaskCount());
+
+        ProjectTaskCounts noTasks = findCounts(result, projectNoTasks.getId());
+        Assertions.assertEquals(0, noTasks.getTaskCount());
+        Assertions.assertEquals(0, noTasks.getActiveTaskCount());
+        Assertions.assertEquals(0, noTasks.getBacklogTaskCount());
+        Assertions.assertEquals(0, noTasks.getOverdueTaskCount());
+    }
+
+    @Test
+    public void findTaskStatusCounts_projectWithTasks_returnsCountPerStatus() {
+        // WHEN
+        List<TaskStatusCount> result = projectRepository.findTaskStatusCounts();
+
+        // THEN
+        Assertions.assertEquals(3, result.size());
+        result.forEach(statusCount -> {
+            Assertions.assertEquals(projectWithTasks.getId(), statusCount.getProjectId());
+            Assertions.assertEquals(1, statusCount.getTaskCount());
+        });
+    }
+
+    /**------------------------------------------- Utility Methods ---------------------------------------------------*/
+
+    private Task buildTask(String name, String status, LocalDate dueDate, String taskType) {
+        return new Task.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName(name)
+            .withDescription("Test Description")
+            .withStatus(status)
+            .withDueDate(dueDate)
+            .withDifficulty("M")
+            .withTaskType(taskType)
+            .build();
+    }
+
+    private ProjectTaskCounts findCounts(List<ProjectTaskCounts> counts, String projectId) {
+        return counts.stream()
+            .filter(count -> count.getId().equals(projectId))
+            .findFirst()
+            .orElseThrow();
+    }
+}
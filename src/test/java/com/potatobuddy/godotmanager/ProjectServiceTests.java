@@ -1,15 +1,31 @@
 package com.potatobuddy.godotmanager;
 import com.potatobuddy.godotmanager.dto.project.NewProjectRequest;
+import com.potatobuddy.godotmanager.dto.project.ProjectChangeCounts;
+import com.potatobuddy.godotmanager.dto.project.ProjectPageResponse;
 import com.potatobuddy.godotmanager.dto.project.ProjectResponse;
+import com.potatobuddy.godotmanager.dto.project.ProjectSummaryResponse;
+import com.potatobuddy.godotmanager.dto.project.SubtaskRequest;
+import com.potatobuddy.godotmanager.dto.project.TaskRequest;
 import com.potatobuddy.godotmanager.dto.project.UpdateProjectRequest;
+import com.potatobuddy.godotmanager.dto.project.VersionTag;
+import com.potatobuddy.godotmanager.exceptions.DuplicateEntryException;
 import com.potatobuddy.godotmanager.exceptions.InvalidProjectRequestException;
 import com.potatobuddy.godotmanager.exceptions.ProjectNotFoundException;
+import com.potatobuddy.godotmanager.exceptions.TaskNotFoundException;
 import com.potatobuddy.godotmanager.model.Constants;
 import com.potatobuddy.godotmanager.model.Project;
 import com.potatobuddy.godotmanager.model.Subtask;
 import com.potatobuddy.godotmanager.model.Task;
 import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.repository.SubtaskRepository;
+import com.potatobuddy.godotmanager.repository.TaskRepository;
+import com.potatobuddy.godotmanager.repository.projection.ProjectTaskCounts;
+import com.potatobuddy.godotmanager.repository.projection.ProjectVersion;
+import com.potatobuddy.godotmanager.repository.projection.TaskStatusCount;
+import com.potatobuddy.godotmanager.service.PageCursor;
+import com.potatobuddy.godotmanager.service.ProjectChangedEvent;
 import com.potatobuddy.godotmanager.service.ProjectService;
+import com.potatobuddy.godotmanager.service.TimeOrderedIdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,12 +33,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.junit.jupiter.api.Assertions;
 
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +50,15 @@ public class ProjectServiceTests {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SubtaskRepository subtaskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -55,7 +83,11 @@ public class ProjectServiceTests {
     @BeforeEach
     public void setup() {
         projectRepository = mock(ProjectRepository.class);
-        projectService = new ProjectService(projectRepository);
+        taskRepository = mock(TaskRepository.class);
+        subtaskRepository = mock(SubtaskRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        projectService = new ProjectService(projectRepository, taskRepository, subtaskRepository,
+            new TimeOrderedIdGenerator(), eventPublisher);
 
         project = new Project();
         project.setId(testId1);
@@ -273,6 +305,145 @@ public class ProjectServiceTests {
         Assertions.assertThrows(InvalidProjectRequestException.class, () -> projectService.getProjectById(blankId));
     }
 
+    @Test
+    public void getAllProjectsVersionTag_versionChanges_eTagChanges() {
+        // GIVEN
+        List<ProjectVersion> versionsBefore = List.of(projectVersion(testId1, 1L), projectVersion(testId2, 3L));
+        List<ProjectVersion> versionsAfter = List.of(projectVersion(testId1, 2L), projectVersion(testId2, 3L));
+        when(projectRepository.findAllVersions()).thenReturn(versionsBefore).thenReturn(versionsAfter);
+
+        // WHEN
+        VersionTag before = projectService.getAllProjectsVersionTag();
+        VersionTag after = projectService.getAllProjectsVersionTag();
+
+        // THEN
+        Assertions.assertNotEquals(before.getETag(), after.getETag());
+        Assertions.assertNull(before.getLastModified());
+    }
+
+    @Test
+    public void getAllProjectsVersionTag_olderProjectDeleted_eTagChanges() {
+        // GIVEN a project that was not the most recently modified one is deleted
+        List<ProjectVersion> versionsBefore = List.of(projectVersion(testId1, 1L), projectVersion(testId2, 3L));
+        List<ProjectVersion> versionsAfter = List.of(projectVersion(testId1, 1L));
+        when(projectRepository.findAllVersions()).thenReturn(versionsBefore).thenReturn(versionsAfter);
+
+        // WHEN
+        VersionTag before = projectService.getAllProjectsVersionTag();
+        VersionTag after = projectService.getAllProjectsVersionTag();
+
+        // THEN no Last-Modified to compare against, only the ETag, and that changed
+        Assertions.assertNotEquals(before.getETag(), after.getETag());
+        Assertions.assertEquals(-1, after.getLastModifiedMillis());
+    }
+
+    @Test
+    public void getProjectVersionTag_projectDoesNotExist_throwsProjectNotFoundException() {
+        // GIVEN
+        when(projectRepository.findVersionById(testId1)).thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        Assertions.assertThrows(ProjectNotFoundException.class, () -> projectService.getProjectVersionTag(testId1));
+    }
+
+    /**------------------------------------------- Get Project Page --------------------------------------------------*/
+
+    @Test
+    public void getProjectPage_moreProjectsThanPageSize_returnsPageWithCursor() {
+        // GIVEN
+        when(projectRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(project, project2));
+
+        // WHEN
+        ProjectPageResponse result = projectService.getProjectPage(null, 1);
+
+        // THEN
+        Assertions.assertEquals(1, result.getProjects().size());
+        Assertions.assertEquals(project.getId(), result.getProjects().get(0).getId());
+        Assertions.assertEquals(PageCursor.encode(project.getId()), result.getNextCursor());
+    }
+
+    @Test
+    public void getProjectPage_lastPage_returnsNullCursor() {
+        // GIVEN
+        when(projectRepository.findByIdGreaterThanOrderByIdAsc(project.getId(), Limit.of(2)))
+            .thenReturn(List.of(project2));
+
+        // WHEN
+        ProjectPageResponse result = projectService.getProjectPage(PageCursor.encode(project.getId()), 1);
+
+        // THEN
+        Assertions.assertEquals(1, result.getProjects().size());
+        Assertions.assertEquals(project2.getId(), result.getProjects().get(0).getId());
+        Assertions.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void getProjectPage_sizeAboveMaximum_capsPageSize() {
+        // GIVEN
+        when(projectRepository.findAllByOrderByIdAsc(any())).thenReturn(new ArrayList<>());
+
+        // WHEN
+        projectService.getProjectPage(null, Constants.MAX_PAGE_SIZE * 10);
+
+        // THEN
+        verify(projectRepository).findAllByOrderByIdAsc(Limit.of(Constants.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void getProjectPage_invalidCursor_throwsInvalidProjectRequestException() {
+        // GIVEN
+        String invalidCursor = "not a cursor!";
+
+        // WHEN / THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectService.getProjectPage(invalidCursor, null));
+    }
+
+    @Test
+    public void getProjectPage_zeroSize_throwsInvalidProjectRequestException() {
+        // GIVEN / WHEN / THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class, () -> projectService.getProjectPage(null, 0));
+    }
+
+    /**------------------------------------------ Project Summaries -------------------------------------------------*/
+
+    @Test
+    public void getProjectSummaries_hasProjects_returnsCountsPerProject() {
+        // GIVEN
+        ProjectTaskCounts counts = mock(ProjectTaskCounts.class);
+        when(counts.getId()).thenReturn(testId1);
+        when(counts.getName()).thenReturn(testName1);
+        when(counts.getDescription()).thenReturn(testDescription);
+        when(counts.getTaskCount()).thenReturn(3L);
+        when(counts.getActiveTaskCount()).thenReturn(2L);
+        when(counts.getBacklogTaskCount()).thenReturn(1L);
+        when(counts.getOverdueTaskCount()).thenReturn(1L);
+
+        TaskStatusCount statusCount = mock(TaskStatusCount.class);
+        when(statusCount.getProjectId()).thenReturn(testId1);
+        when(statusCount.getStatus()).thenReturn("In Progress");
+        when(statusCount.getTaskCount()).thenReturn(3L);
+
+        when(projectRepository.findProjectTaskCounts(eq(Constants.TASK_TYPE_ACTIVE), eq(Constants.TASK_TYPE_BACKLOG),
+            eq(Constants.TASK_STATUS_FINISHED), any())).thenReturn(List.of(counts));
+        when(projectRepository.findTaskStatusCounts()).thenReturn(List.of(statusCount));
+
+        // WHEN
+        List<ProjectSummaryResponse> result = projectService.getProjectSummaries();
+
+        // THEN
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(testId1, result.get(0).getId());
+        Assertions.assertEquals(testName1, result.get(0).getName());
+        Assertions.assertEquals(testDescription, result.get(0).getDescription());
+        Assertions.assertEquals(3L, result.get(0).getTaskCount());
+        Assertions.assertEquals(2L, result.get(0).getActiveTaskCount());
+        Assertions.assertEquals(1L, result.get(0).getBacklogTaskCount());
+        Assertions.assertEquals(1L, result.get(0).getOverdueTaskCount());
+        Assertions.assertEquals(Map.of("In Progress", 3L), result.get(0).getStatusCounts());
+        verify(projectRepository, never()).findAll();
+    }
+
     /**-------------------------------------------- Update Project ---------------------------------------------------*/
     @Test
     public void testUpdateProject_validRequestWithNoTasks_updatesProject() {
@@ -640,7 +811,8 @@ public class ProjectServiceTests {
             Task capturedTask = capturedProject.getTasks().get(i);
             Task returnedTask = updatedProject.getTasks().get(i);
 
-            Assertions.assertEquals(Constants.TASK_TYPE_BACKLOG, capturedTask.getTaskType());
+            Assertions.assertNotNull(capturedTask.getId());
+            Assertions.assertEquals(newTask.getTaskType(), capturedTask.getTaskType());
 
             Assertions.assertEquals(newTask, capturedTask);
             Assertions.assertEquals(newTask, returnedTask);
@@ -648,6 +820,168 @@ public class ProjectServiceTests {
         }
     }
 
+    @Test
+    public void updateProject_changedSubtaskStatus_onlyUpdatesThatSubtask() {
+        // GIVEN
+        List<Task> existingTasks = getTasksWithId();
+        Project oldProject = new Project.Builder()
+            .withName(testNameWithTasks)
+            .withId(testIdWithTasks)
+            .withDescription(testDescription)
+            .withTasks(new ArrayList<>(existingTasks))
+            .build();
+        Subtask existingSubtask = existingTasks.get(0).getSubtasks().get(0);
+
+        List<Task> incomingTasks = copyTasks(existingTasks);
+        incomingTasks.get(0).getSubtasks().get(0).setStatus("Finished");
+
+        UpdateProjectRequest updateProjectRequest = new UpdateProjectRequest();
+        updateProjectRequest.setId(testIdWithTasks);
+        updateProjectRequest.setName(testNameWithTasks);
+        updateProjectRequest.setDescription(testDescription);
+        updateProjectRequest.setTasks(incomingTasks);
+
+        when(projectRepository.findById(testIdWithTasks)).thenReturn(Optional.of(oldProject));
+        when(projectRepository.save(oldProject)).thenReturn(oldProject);
+
+        // WHEN
+        ProjectResponse result = projectService.updateProject(updateProjectRequest);
+
+        // THEN
+        ProjectChangeCounts changes = result.getAppliedChanges();
+        Assertions.assertFalse(changes.isProjectUpdated());
+        Assertions.assertEquals(0, changes.getTasksInserted());
+        Assertions.assertEquals(0, changes.getTasksUpdated());
+        Assertions.assertEquals(0, changes.getTasksDeleted());
+        Assertions.assertEquals(0, changes.getSubtasksInserted());
+        Assertions.assertEquals(1, changes.getSubtasksUpdated());
+        Assertions.assertEquals(0, changes.getSubtasksDeleted());
+
+        // The managed subtask is updated in place instead of being replaced
+        Assertions.assertSame(existingSubtask, result.getTasks().get(0).getSubtasks().get(0));
+        Assertions.assertEquals("Finished", existingSubtask.getStatus());
+        for (int i = 0; i < existingTasks.size(); i++) {
+            Assertions.assertSame(existingTasks.get(i), result.getTasks().get(i));
+        }
+    }
+
+    @Test
+    public void updateProject_removedAndNewTasks_deletesAndInsertsTasks() {
+        // GIVEN
+        List<Task> existingTasks = getTasksWithId();
+        Project oldProject = new Project.Builder()
+            .withName(testNameWithTasks)
+            .withId(testIdWithTasks)
+            .withDescription(testDescription)
+            .withTasks(new ArrayList<>(existingTasks))
+            .build();
+
+        // Drop the first task (2 subtasks) and add a task without id and subtasks
+        List<Task> incomingTasks = copyTasks(existingTasks.subList(1, existingTasks.size()));
+        incomingTasks.add(new Task.Builder()
+            .withName("New Task")
+            .withTaskType(Constants.TASK_TYPE_ACTIVE)
+            .build());
+
+        UpdateProjectRequest updateProjectRequest = new UpdateProjectRequest();
+        updateProjectRequest.setId(testIdWithTasks);
+        updateProjectRequest.setName(testNameWithTasks);
+        updateProjectRequest.setDescription("Changed Description");
+        updateProjectRequest.setTasks(incomingTasks);
+
+        when(projectRepository.findById(testIdWithTasks)).thenReturn(Optional.of(oldProject));
+        when(projectRepository.save(oldProject)).thenReturn(oldProject);
+
+        // WHEN
+        ProjectResponse result = projectService.updateProject(updateProjectRequest);
+
+        // THEN
+        ProjectChangeCounts changes = result.getAppliedChanges();
+        Assertions.assertTrue(changes.isProjectUpdated());
+        Assertions.assertEquals(1, changes.getTasksInserted());
+        Assertions.assertEquals(0, changes.getTasksUpdated());
+        Assertions.assertEquals(1, changes.getTasksDeleted());
+        Assertions.assertEquals(0, changes.getSubtasksUpdated());
+
+        Assertions.assertEquals(3, result.getTasks().size());
+        Assertions.assertFalse(result.getTasks().contains(existingTasks.get(0)));
+        Assertions.assertNull(existingTasks.get(0).getProject());
+        Assertions.assertNotNull(result.getTasks().get(2).getId());
+        Assertions.assertEquals(oldProject, result.getTasks().get(2).getProject());
+    }
+
+    @Test
+    public void updateProject_duplicateSubtaskIds_throwsDuplicateEntryException() {
+        // GIVEN the first subtask of the first task is sent twice
+        List<Task> existingTasks = getTasksWithId();
+        Project oldProject = new Project.Builder()
+            .withName(testNameWithTasks)
+            .withId(testIdWithTasks)
+            .withDescription(testDescription)
+            .withTasks(new ArrayList<>(existingTasks))
+            .build();
+
+        List<Task> incomingTasks = copyTasks(existingTasks);
+        Subtask duplicatedSubtask = incomingTasks.get(0).getSubtasks().get(0);
+        incomingTasks.get(0).getSubtasks().add(new Subtask.Builder()
+            .withId(duplicatedSubtask.getId())
+            .withName("Duplicated Subtask")
+            .build());
+
+        UpdateProjectRequest updateProjectRequest = new UpdateProjectRequest();
+        updateProjectRequest.setId(testIdWithTasks);
+        updateProjectRequest.setName(testNameWithTasks);
+        updateProjectRequest.setDescription(testDescription);
+        updateProjectRequest.setTasks(incomingTasks);
+
+        when(projectRepository.findById(testIdWithTasks)).thenReturn(Optional.of(oldProject));
+
+        // WHEN / THEN
+        Assertions.assertThrows(DuplicateEntryException.class,
+            () -> projectService.updateProject(updateProjectRequest));
+    }
+
+    @Test
+    public void updateProject_idsTakenElsewhere_throwsInvalidProjectRequestException() {
+        // GIVEN a new subtask with the id of another task's subtask, then a new task with the id of another project's
+        List<Task> existingTasks = getTasksWithId();
+        Project oldProject = new Project.Builder()
+            .withName(testNameWithTasks)
+            .withId(testIdWithTasks)
+            .withDescription(testDescription)
+            .withTasks(new ArrayList<>(existingTasks))
+            .build();
+
+        List<Task> subtaskRequestTasks = copyTasks(existingTasks);
+        subtaskRequestTasks.get(0).getSubtasks().add(new Subtask.Builder()
+            .withId("foreign-subtask")
+            .withName("Foreign Subtask")
+            .build());
+        List<Task> taskRequestTasks = copyTasks(existingTasks);
+        taskRequestTasks.add(new Task.Builder()
+            .withId("foreign-task")
+            .withName("Foreign Task")
+            .withTaskType(Constants.TASK_TYPE_ACTIVE)
+            .build());
+
+        when(projectRepository.findById(testIdWithTasks)).thenReturn(Optional.of(oldProject));
+        when(subtaskRepository.findExistingIds(Set.of("foreign-subtask"))).thenReturn(List.of("foreign-subtask"));
+        when(taskRepository.findExistingIds(Set.of("foreign-task"))).thenReturn(List.of("foreign-task"));
+
+        // WHEN / THEN
+        for (List<Task> incomingTasks : List.of(subtaskRequestTasks, taskRequestTasks)) {
+            UpdateProjectRequest updateProjectRequest = new UpdateProjectRequest();
+            updateProjectRequest.setId(testIdWithTasks);
+            updateProjectRequest.setName(testNameWithTasks);
+            updateProjectRequest.setDescription(testDescription);
+            updateProjectRequest.setTasks(incomingTasks);
+
+            Assertions.assertThrows(InvalidProjectRequestException.class,
+                () -> projectService.updateProject(updateProjectRequest));
+        }
+        verify(projectRepository, never()).save(any());
+    }
+
     @Test
     public void testUpdateProject_invalidRequest_throwsInvalidProjectRequestException() {
         // GIVEN
@@ -792,6 +1126,9 @@ public class ProjectServiceTests {
 
         // WHEN / THEN
         Assertions.assertDoesNotThrow(() -> projectService.deleteProject(testId1));
+        ArgumentCaptor<ProjectChangedEvent> event = ArgumentCaptor.forClass(ProjectChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        Assertions.assertEquals(testId1, event.getValue().getProjectId());
     }
 
     @Test
@@ -821,7 +1158,250 @@ public class ProjectServiceTests {
         Assertions.assertThrows(InvalidProjectRequestException.class, () -> projectService.deleteProject(""));
     }
 
+    /**--------------------------------------------- Task Methods ----------------------------------------------------*/
+
+    @Test
+    public void createTask_validRequest_savesTaskWithIdAndDefaultType() {
+        // GIVEN
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setName("New Task");
+        taskRequest.setDueDate("2024-01-01");
+        ArgumentCaptor<Task> taskArgumentCaptor = ArgumentCaptor.forClass(Task.class);
+
+        when(projectRepository.existsById(testId1)).thenReturn(true);
+        when(projectRepository.getReferenceById(testId1)).thenReturn(project);
+        when(taskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // WHEN
+        projectService.createTask(testId1, taskRequest);
+
+        // THEN
+        verify(taskRepository).save(taskArgumentCaptor.capture());
+        Task capturedTask = taskArgumentCaptor.getValue();
+
+        Assertions.assertNotNull(capturedTask.getId());
+        Assertions.assertEquals("New Task", capturedTask.getName());
+        Assertions.assertEquals(LocalDate.parse("2024-01-01"), capturedTask.getDueDate());
+        Assertions.assertEquals(Constants.TASK_TYPE_ACTIVE, capturedTask.getTaskType());
+        Assertions.assertEquals(project, capturedTask.getProject());
+        Assertions.assertTrue(capturedTask.isNew());
+        verify(projectRepository, never()).findById(any());
+    }
+
+    @Test
+    public void createTask_projectDoesNotExist_throwsProjectNotFoundException() {
+        // GIVEN
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setName("New Task");
+        when(projectRepository.existsById(testId1)).thenReturn(false);
+
+        // WHEN / THEN
+        Assertions.assertThrows(ProjectNotFoundException.class, () -> projectService.createTask(testId1, taskRequest));
+    }
+
+    @Test
+    public void createTask_blankName_throwsInvalidProjectRequestException() {
+        // GIVEN
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setName(" ");
+
+        // WHEN / THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class, () -> projectService.createTask(testId1, taskRequest));
+    }
+
+    @Test
+    public void updateTask_partialRequest_onlyChangesGivenFields() {
+        // GIVEN
+        Task task = getTasksWithId().get(0);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setStatus("Finished");
+        when(taskRepository.findByIdAndProjectId(task.getId(), testId1)).thenReturn(Optional.of(task));
+
+        // WHEN
+        Task result = projectService.updateTask(testId1, task.getId(), taskRequest);
+
+        // THEN
+        Assertions.assertEquals("Finished", result.getStatus());
+        Assertions.assertEquals("Test Task 1", result.getName());
+        Assertions.assertEquals(LocalDate.parse("2022-01-01"), result.getDueDate());
+        Assertions.assertEquals(Constants.TASK_TYPE_ACTIVE, result.getTaskType());
+        verify(taskRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(ProjectChangedEvent.class));
+    }
+
+    @Test
+    public void updateTask_unchangedValues_publishesNoChange() {
+        // GIVEN
+        Task task = getTasksWithId().get(0);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setName(task.getName());
+        when(taskRepository.findByIdAndProjectId(task.getId(), testId1)).thenReturn(Optional.of(task));
+
+        // WHEN
+        projectService.updateTask(testId1, task.getId(), taskRequest);
+
+        // THEN
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void updateTask_invalidTaskType_throwsInvalidProjectRequestException() {
+        // GIVEN
+        Task task = getTasksWithId().get(0);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTaskType("someday");
+        when(taskRepository.findByIdAndProjectId(task.getId(), testId1)).thenReturn(Optional.of(task));
+
+        // WHEN / THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectService.updateTask(testId1, task.getId(), taskRequest));
+    }
+
+    @Test
+    public void updateTask_invalidDueDate_throwsInvalidProjectRequestException() {
+        // GIVEN
+        Task task = getTasksWithId().get(0);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setDueDate("tomorrow");
+        when(taskRepository.findByIdAndProjectId(task.getId(), testId1)).thenReturn(Optional.of(task));
+
+        // WHEN / THEN
+        Assertions.assertThrows(InvalidProjectRequestException.class,
+            () -> projectService.updateTask(testId1, task.getId(), taskRequest));
+    }
+
+    @Test
+    public void updateTask_taskDoesNotExist_throwsTaskNotFoundException() {
+        // GIVEN
+        String randomId = UUID.randomUUID().toString();
+        when(taskRepository.findByIdAndProjectId(randomId, testId1)).thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        Assertions.assertThrows(TaskNotFoundException.class,
+            () -> projectService.updateTask(testId1, randomId, new TaskRequest()));
+    }
+
+    @Test
+    public void deleteTask_taskExists_deletesTask() {
+        // GIVEN
+        Task task = getTasksWithId().get(0);
+        when(taskRepository.findByIdAndProjectId(task.getId(), testId1)).thenReturn(Optional.of(task));
+
+        // WHEN
+        projectService.deleteTask(testId1, task.getId());
+
+        // THEN
+        verify(taskRepository).delete(task);
+    }
+
+    /**------------------------------------------- Subtask Methods ---------------------------------------------------*/
+
+    @Test
+    public void createSubtask_validRequest_savesSubtaskForTask() {
+        // GIVEN
+        Task task = getTasksWithId().get(0);
+        SubtaskRequest subtaskRequest = new SubtaskRequest();
+        subtaskRequest.setName("New Subtask");
+        subtaskRequest.setDifficulty("S");
+        ArgumentCaptor<Subtask> subtaskArgumentCaptor = ArgumentCaptor.forClass(Subtask.class);
+
+        when(taskRepository.existsByIdAndProjectId(task.getId(), testId1)).thenReturn(true);
+        when(taskRepository.getReferenceById(task.getId())).thenReturn(task);
+        when(subtaskRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // WHEN
+        projectService.createSubtask(testId1, task.getId(), subtaskRequest);
+
+        // THEN
+        verify(subtaskRepository).save(subtaskArgumentCaptor.capture());
+        Subtask capturedSubtask = subtaskArgumentCaptor.getValue();
+
+        Assertions.assertNotNull(capturedSubtask.getId());
+        Assertions.assertEquals("New Subtask", capturedSubtask.getName());
+        Assertions.assertEquals("S", capturedSubtask.getDifficulty());
+        Assertions.assertEquals(task, capturedSubtask.getTask());
+    }
+
+    @Test
+    public void createSubtask_taskDoesNotExist_throwsTaskNotFoundException() {
+        // GIVEN
+        SubtaskRequest subtaskRequest = new SubtaskRequest();
+        subtaskRequest.setName("New Subtask");
+        when(taskRepository.existsByIdAndProjectId("taskId", testId1)).thenReturn(false);
+
+        // WHEN / THEN
+        Assertions.assertThrows(TaskNotFoundException.class,
+            () -> projectService.createSubtask(testId1, "taskId", subtaskRequest));
+    }
+
+    @Test
+    public void updateSubtask_partialRequest_onlyChangesGivenFields() {
+        // GIVEN
+        Subtask subtask = getTasksWithId().get(0).getSubtasks().get(0);
+        SubtaskRequest subtaskRequest = new SubtaskRequest();
+        subtaskRequest.setName("Renamed Subtask");
+        when(subtaskRepository.findByIdAndTaskIdAndTaskProjectId(subtask.getId(), "taskId", testId1))
+            .thenReturn(Optional.of(subtask));
+
+        // WHEN
+        Subtask result = projectService.updateSubtask(testId1, "taskId", subtask.getId(), subtaskRequest);
+
+        // THEN
+        Assertions.assertEquals("Renamed Subtask", result.getName());
+        Assertions.assertEquals("Not Started", result.getStatus());
+    }
+
+    @Test
+    public void deleteSubtask_subtaskDoesNotExist_throwsTaskNotFoundException() {
+        // GIVEN
+        when(subtaskRepository.findByIdAndTaskIdAndTaskProjectId("subtaskId", "taskId", testId1))
+            .thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        Assertions.assertThrows(TaskNotFoundException.class,
+            () -> projectService.deleteSubtask(testId1, "taskId", "subtaskId"));
+    }
+
     /**------------------------------------------- Utility Methods ---------------------------------------------------*/
+
+    private ProjectVersion projectVersion(String id, Long version) {
+        ProjectVersion projectVersion = mock(ProjectVersion.class);
+        when(projectVersion.getId()).thenReturn(id);
+        when(projectVersion.getVersion()).thenReturn(version);
+        return projectVersion;
+    }
+    /**
+     * Creates detached copies of the given tasks and their subtasks, as they would arrive in a request
+     */
+    private List<Task> copyTasks(List<Task> tasks) {
+        List<Task> copies = new ArrayList<>();
+        for (Task task : tasks) {
+            List<Subtask> subtaskCopies = new ArrayList<>();
+            for (Subtask subtask : task.getSubtasks()) {
+                subtaskCopies.add(new Subtask.Builder()
+                    .withId(subtask.getId())
+                    .withName(subtask.getName())
+                    .withDescription(subtask.getDescription())
+                    .withStatus(subtask.getStatus())
+                    .withDueDate(subtask.getDueDate())
+                    .withDifficulty(subtask.getDifficulty())
+                    .build());
+            }
+
+            copies.add(new Task.Builder()
+                .withId(task.getId())
+                .withName(task.getName())
+                .withDescription(task.getDescription())
+                .withStatus(task.getStatus())
+                .withDueDate(task.getDueDate())
+                .withDifficulty(task.getDifficulty())
+                .withTaskType(task.getTaskType())
+                .withSubtasks(subtaskCopies)
+                .build());
+        }
+        return copies;
+    }
+
     /**
      * Creates a list of Tasks where each Task has no ID
      * Task 1 has 2 subtasks
@@ -0,0 +1,49 @@
+package com.potatobuddy.godotmanager;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The schema comes from the Flyway migrations and hibernate only validates it, so a missing column fails the context
+ * and a missing index fails here.
+ */
+@DataJpaTest
+public class SchemaMigrationTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void migrations_createTheQueryIndexes() throws Exception {
+        // WHEN
+        Set<String> tasksIndexes = indexNames("TASKS");
+        Set<String> subtasksIndexes = indexNames("SUBTASKS");
+        Set<String> journalIndexes = indexNames("JOURNAL_ENTRY");
+
+        // THEN
+        Assertions.assertTrue(tasksIndexes.containsAll(Set.of("IDX_TASKS_PROJECT_STATUS", "IDX_TASKS_DUE_DATE",
+            "IDX_TASKS_STATUS_DUE_DATE", "IDX_TASKS_TYPE_DUE_DATE")), tasksIndexes.toString());
+        Assertions.assertTrue(subtasksIndexes.containsAll(Set.of("IDX_SUBTASKS_TASK", "IDX_SUBTASKS_DUE_DATE",
+            "IDX_SUBTASKS_STATUS_DUE_DATE")), subtasksIndexes.toString());
+        Assertions.assertTrue(journalIndexes.contains("IDX_JOURNAL_ENTRY_DATE"), journalIndexes.toString());
+    }
+
+    private Set<String> indexNames(String table) throws Exception {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet indexes = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (indexes.next()) {
+                names.add(indexes.getString("INDEX_NAME").toUpperCase());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,186 @@
+package com.potatobuddy.godotmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.service.ChangeLogService;
+import com.potatobuddy.godotmanager.service.SearchIndexService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Data is created through the endpoints, since only service writes reach the change log the index follows. Each test
+ * uses its own words, so documents left behind by other tests sharing the context cannot match.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @TempDir
+    private Path indexDir;
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+    }
+
+    /**---- Search ----*/
+    @Test
+    public void search_prefix_ranksNameMatchesFirst() throws Exception {
+        // GIVEN
+        String projectId = createProject("Dragon Flight", "Wings and fire");
+        String taskId = createTask(projectId, "Tune the camera", "Follow the dragon smoothly");
+        createJournalEntry("Dragons are hard to animate");
+
+        // WHEN
+        JsonNode results = search("drag", null);
+
+        // THEN the project matches by name, the task by description, the journal entry by body
+        Assertions.assertEquals(3, results.size(), results.toString());
+        Assertions.assertEquals("project", results.get(0).get("type").asText());
+        Assertions.assertEquals(projectId, results.get(0).get("id").asText());
+        Assertions.assertEquals("Dragon Flight", results.get(0).get("title").asText());
+
+        // WHEN
+        JsonNode tasks = search("dragon smooth", "task");
+
+        // THEN
+        Assertions.assertEquals(1, tasks.size(), tasks.toString());
+        Assertions.assertEquals(taskId, tasks.get(0).get("id").asText());
+        Assertions.assertEquals(projectId, tasks.get(0).get("project_id").asText());
+    }
+
+    @Test
+    public void search_afterUpdateAndDelete_reflectsCommittedWrites() throws Exception {
+        // GIVEN
+        String projectId = createProject("Wyvern Racer", "Arcade racing");
+        String taskId = createTask(projectId, "Gravel physics", "Slippery corners");
+
+        // WHEN
+        mockMvc.perform(patch("/project/" + projectId + "/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Tarmac physics\"}"))
+            .andExpect(status().isOk());
+
+        // THEN
+        Assertions.assertEquals(0, search("gravel", null).size());
+        Assertions.assertEquals(1, search("tarmac", null).size());
+
+        // WHEN
+        mockMvc.perform(delete("/project/" + projectId))
+            .andExpect(status().isNoContent());
+
+        // THEN the project takes its tasks along
+        Assertions.assertEquals(0, search("wyvern", null).size());
+        Assertions.assertEquals(0, search("tarmac", null).size());
+    }
+
+    @Test
+    public void search_blankText_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/search").param("q", "  "))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/search").param("q", "dragon").param("type", "galaxy"))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**---- Persistence ----*/
+    @Test
+    public void open_existingIndexOnDisk_replaysOnlyLoggedChanges() throws Exception {
+        // GIVEN an index on disk, closed before a new project is created
+        createProject("Griffin Tactics", "Turn based");
+        SearchIndexService index = new SearchIndexService(jdbcTemplate, changeLogService, indexDir.toString(),
+            Runnable::run);
+        index.open();
+        Assertions.assertEquals(1, index.getRebuildCount());
+        index.close();
+        createProject("Basilisk Tactics", "Real time");
+
+        // WHEN
+        SearchIndexService reopened = new SearchIndexService(jdbcTemplate, changeLogService, indexDir.toString(),
+            Runnable::run);
+        reopened.open();
+
+        // THEN
+        try {
+            Assertions.assertEquals(0, reopened.getRebuildCount());
+            Assertions.assertEquals(2, reopened.search("tactics", "project", null).getResults().size());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private JsonNode search(String text, String type) throws Exception {
+        String json = mockMvc.perform(type == null
+                ? get("/search").param("q", text)
+                : get("/search").param("q", text).param("type", type))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.query").value(text))
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("results");
+    }
+
+    private String createProject(String name, String description) throws Exception {
+        String json = mockMvc.perform(post("/project/newProject")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    Map.of("project_name", name, "project_description", description))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("project_id").asText();
+    }
+
+    private String createTask(String projectId, String name, String description) throws Exception {
+        String json = mockMvc.perform(post("/project/" + projectId + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("name", name, "description", description))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asText();
+    }
+
+    private void createJournalEntry(String body) throws Exception {
+        mockMvc.perform(post("/journal/newJournalEntry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    Map.of("entry_date", "2024-03-01", "entry_body", body))))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,221 @@
+package com.potatobuddy.godotmanager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.JournalEntryRepository;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import com.potatobuddy.godotmanager.service.ChangeLogService;
+import com.potatobuddy.godotmanager.service.PageCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.potatobuddy.godotmanager.TestFixtures.buildProject;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SyncTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    private Project project;
+    private Project otherProject;
+
+    @BeforeEach
+    public void setup() {
+        project = projectRepository.save(buildProject("Test Project", 1, 1));
+        otherProject = projectRepository.save(buildProject("Other Project", 1, 1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+        journalEntryRepository.deleteAll();
+    }
+
+    /**---- Tokens ----*/
+    @Test
+    public void sync_noToken_returnsTokenAndFullResync() throws Exception {
+        mockMvc.perform(get("/sync"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").isNotEmpty())
+            .andExpect(jsonPath("$.full_resync").value(true))
+            .andExpect(jsonPath("$.projects").isEmpty());
+    }
+
+    @Test
+    public void sync_invalidToken_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/sync").param("since", "not-a-token"))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**---- Changes ----*/
+    @Test
+    public void sync_changesSinceToken_returnsOnlyChangedEntitiesAndTombstones() throws Exception {
+        // GIVEN
+        String token = sync(null).get("token").asText();
+        Task task = project.getTasks().get(0);
+        String deletedSubtaskId = task.getSubtasks().get(0).getId();
+
+        // WHEN
+        String newTaskJson = mockMvc.perform(post("/project/" + project.getId() + "/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Task\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String newTaskId = objectMapper.readTree(newTaskJson).get("id").asText();
+        mockMvc.perform(patch("/project/" + project.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"project_name\": \"Renamed Project\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/project/" + project.getId() + "/tasks/" + task.getId() + "/subtasks/"
+                + deletedSubtaskId))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(post("/journal/newJournalEntry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"entry_date\": \"2024-03-01\", \"entry_body\": \"Offline\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/project/" + otherProject.getId()))
+            .andExpect(status().isNoContent());
+        JsonNode changes = sync(token);
+
+        // THEN
+        Assertions.assertFalse(changes.get("full_resync").asBoolean());
+        Assertions.assertEquals(1, changes.get("projects").size(), changes.toString());
+        Assertions.assertEquals("Renamed Project", changes.get("projects").get(0).get("project_name").asText());
+        Assertions.assertEquals(1, changes.get("tasks").size(), changes.toString());
+        Assertions.assertEquals(newTaskId, changes.get("tasks").get(0).get("id").asText());
+        Assertions.assertEquals(project.getId(), changes.get("tasks").get(0).get("project_id").asText());
+        Assertions.assertEquals(1, changes.get("journal_entries").size(), changes.toString());
+        Set<String> deleted = new HashSet<>();
+        changes.get("deleted").forEach(tombstone ->
+            deleted.add(tombstone.get("entity_type").asText() + ":" + tombstone.get("entity_id").asText()));
+        Assertions.assertEquals(Set.of("subtask:" + deletedSubtaskId, "project:" + otherProject.getId()), deleted);
+
+        // WHEN syncing again with the new token
+        JsonNode nextChanges = sync(changes.get("token").asText());
+
+        // THEN
+        Assertions.assertEquals(changes.get("token").asText(), nextChanges.get("token").asText());
+        Assertions.assertTrue(nextChanges.get("projects").isEmpty());
+        Assertions.assertTrue(nextChanges.get("tasks").isEmpty());
+        Assertions.assertTrue(nextChanges.get("deleted").isEmpty());
+    }
+
+    @Test
+    public void sync_tokenOlderThanPrunedLog_returnsFullResync() throws Exception {
+        // GIVEN two changes, of which the log only keeps the last one's rows
+        String token = sync(null).get("token").asText();
+        mockMvc.perform(patch("/project/" + project.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"project_name\": \"Renamed Project\"}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(patch("/project/" + otherProject.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"project_name\": \"Renamed Other Project\"}"))
+            .andExpect(status().isOk());
+
+        // WHEN
+        int deleted = changeLogService.prune(1);
+
+        // THEN the older change is gone, so the token can no longer be answered from the log
+        Assertions.assertTrue(deleted > 0);
+        JsonNode changes = sync(token);
+        Assertions.assertTrue(changes.get("full_resync").asBoolean());
+
+        // WHEN syncing from the new token after another change
+        mockMvc.perform(patch("/project/" + project.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"project_name\": \"Renamed Again\"}"))
+            .andExpect(status().isOk());
+        JsonNode nextChanges = sync(changes.get("token").asText());
+
+        // THEN
+        Assertions.assertFalse(nextChanges.get("full_resync").asBoolean());
+        Assertions.assertEquals("Renamed Again", nextChanges.get("projects").get(0).get("project_name").asText());
+    }
+
+    @Test
+    public void sync_importedProject_returnsProjectWithTasks() throws Exception {
+        // GIVEN
+        String token = sync(null).get("token").asText();
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    [{"type": "project", "ref": "p", "name": "Imported", "description": "Imported"},
+                     {"type": "task", "ref": "t", "parent": "p", "name": "Imported Task"}]
+                    """))
+            .andExpect(status().isOk());
+        JsonNode changes = sync(token);
+
+        // THEN
+        Assertions.assertEquals(1, changes.get("projects").size(), changes.toString());
+        Assertions.assertEquals(1, changes.get("projects").get(0).get("project_tasks").size(), changes.toString());
+        Assertions.assertTrue(changes.get("tasks").isEmpty(), changes.toString());
+    }
+
+    @Test
+    public void sync_betweenImportChunks_returnsRowsOfTheLaterChunks() throws Exception {
+        // GIVEN a client that syncs right after the first chunk, which only created the project
+        long sequenceBefore = changeLogService.getLastSequence();
+
+        // WHEN
+        mockMvc.perform(post("/project/bulk")
+                .param("chunkSize", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    [{"type": "project", "ref": "p", "name": "Imported", "description": "Imported"},
+                     {"type": "task", "ref": "t", "parent": "p", "name": "Imported Task"},
+                     {"type": "subtask", "parent": "t", "name": "Imported Subtask"}]
+                    """))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.chunks").value(3));
+        JsonNode changes = sync(PageCursor.encode(Long.toString(sequenceBefore + 1)));
+
+        // THEN the task and subtask of the later chunks arrive with their project
+        Assertions.assertFalse(changes.get("full_resync").asBoolean());
+        Assertions.assertEquals(1, changes.get("projects").size(), changes.toString());
+        JsonNode tasks = changes.get("projects").get(0).get("project_tasks");
+        Assertions.assertEquals(1, tasks.size(), changes.toString());
+        Assertions.assertEquals(1, tasks.get(0).get("subtasks").size(), changes.toString());
+    }
+
+    private JsonNode sync(String token) throws Exception {
+        String json = mockMvc.perform(token == null ? get("/sync") : get("/sync").param("since", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json);
+    }
+}
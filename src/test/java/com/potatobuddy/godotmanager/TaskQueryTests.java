@@ -0,0 +1,159 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Task;
+import com.potatobuddy.godotmanager.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.potatobuddy.godotmanager.TestFixtures.buildProject;
+import static com.potatobuddy.godotmanager.TestFixtures.buildTask;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each project in the fixture has an open active task due in January, a finished active task due in February and an
+ * open backlog task due in March, each with one subtask of the same status, due date and difficulty.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class TaskQueryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Project> projects;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        projects = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            projects.add(projectRepository.save(buildMonthsProject("Test Project " + i)));
+        }
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        projectRepository.deleteAll();
+    }
+
+    /**---- Tasks ----*/
+    @Test
+    public void queryTasks_statusAndDueDate_filtersAcrossProjectsInOneQuery() throws Exception {
+        // WHEN
+        mockMvc.perform(get("/tasks").param("status", "In Progress").param("dueTo", "2024-02-28"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(2))
+            .andExpect(jsonPath("$.tasks[0].task_name").value("January"))
+            .andExpect(jsonPath("$.tasks[1].task_name").value("January"))
+            .andExpect(jsonPath("$.total_elements").value(2))
+            .andExpect(jsonPath("$.has_more").value(false));
+
+        // THEN a single select; the first page is not full, so no count query is needed
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @Test
+    public void queryTasks_projectSortedAndPaged_returnsPagesInOrder() throws Exception {
+        // GIVEN
+        String projectId = projects.get(0).getId();
+
+        // WHEN
+        mockMvc.perform(get("/tasks").param("projectId", projectId).param("sort", "due_date,desc")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(2))
+            .andExpect(jsonPath("$.tasks[0].task_name").value("March"))
+            .andExpect(jsonPath("$.tasks[0].project_id").value(projectId))
+            .andExpect(jsonPath("$.tasks[1].task_name").value("February"))
+            .andExpect(jsonPath("$.total_elements").value(3))
+            .andExpect(jsonPath("$.has_more").value(true));
+        mockMvc.perform(get("/tasks").param("projectId", projectId).param("sort", "due_date,desc")
+                .param("size", "2").param("page", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(1))
+            .andExpect(jsonPath("$.tasks[0].task_name").value("January"))
+            .andExpect(jsonPath("$.has_more").value(false));
+
+        // THEN select and count for the full first page, a select for the last page
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void queryTasks_taskTypeAndDifficulties_filtersByAll() throws Exception {
+        mockMvc.perform(get("/tasks").param("taskType", "active").param("difficulty", "S,L"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks.length()").value(2))
+            .andExpect(jsonPath("$.tasks[0].task_difficulty").value("S"))
+            .andExpect(jsonPath("$.tasks[0].task_type").value("active"));
+    }
+
+    /**---- Subtasks ----*/
+    @Test
+    public void querySubtasks_projectAndDueRange_returnsParentIdsWithoutFurtherQueries() throws Exception {
+        // GIVEN
+        Project project = projects.get(1);
+        Task february = project.getTasks().get(1);
+
+        // WHEN
+        mockMvc.perform(get("/subtasks").param("projectId", project.getId())
+                .param("dueFrom", "2024-02-01").param("dueTo", "2024-02-29"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subtasks.length()").value(1))
+            .andExpect(jsonPath("$.subtasks[0].subtask_id").value(february.getSubtasks().get(0).getId()))
+            .andExpect(jsonPath("$.subtasks[0].task_id").value(february.getId()))
+            .andExpect(jsonPath("$.subtasks[0].project_id").value(project.getId()))
+            .andExpect(jsonPath("$.subtasks[0].subtask_due_date").value("2024-02-10"));
+
+        // THEN subtasks joined with their tasks in one select
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**---- Validation ----*/
+    @Test
+    public void queryTasks_unknownSortField_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks").param("sort", "description"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void querySubtasks_dueRangeReversed_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/subtasks").param("dueFrom", "2024-03-01").param("dueTo", "2024-02-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Project buildMonthsProject(String name) {
+        Project project = buildProject(name);
+
+        project.addTask(buildTask("January", "In Progress", LocalDate.of(2024, 1, 10), "S", "active"));
+        project.addTask(buildTask("February", "Finished", LocalDate.of(2024, 2, 10), "M", "active"));
+        project.addTask(buildTask("March", "In Progress", LocalDate.of(2024, 3, 10), "L", "backlog"));
+        return project;
+    }
+}
@@ -0,0 +1,83 @@
+package com.potatobuddy.godotmanager;
+
+import com.potatobuddy.godotmanager.model.Project;
+import com.potatobuddy.godotmanager.model.Subtask;
+import com.potatobuddy.godotmanager.model.Task;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Project aggregates for the integration tests. Ids are random, so tests that share a database never collide, and
+ * every task and subtask has all of its columns filled in.
+ */
+final class TestFixtures {
+
+    private TestFixtures() {}
+
+    /**
+     * A project without tasks.
+     */
+    static Project buildProject(String name) {
+        return new Project.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName(name)
+            .withDescription("Test Description")
+            .build();
+    }
+
+    /**
+     * A project with {@code tasks} tasks of {@code subtasks} subtasks each, all in progress and due today.
+     */
+    static Project buildProject(String name, int tasks, int subtasks) {
+        Project project = buildProject(name);
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task.Builder()
+                .withId(UUID.randomUUID().toString())
+                .withName("Test Task " + i)
+                .withDescription("Test Description")
+                .withStatus("In Progress")
+                .withDueDate(LocalDate.now())
+                .withDifficulty("M")
+                .build();
+
+            for (int j = 0; j < subtasks; j++) {
+                task.addSubtask(new Subtask.Builder()
+                    .withId(UUID.randomUUID().toString())
+                    .withName("Test Subtask " + j)
+                    .withDescription("Test Description")
+                    .withStatus("In Progress")
+                    .withDueDate(LocalDate.now())
+                    .withDifficulty("S")
+                    .build());
+            }
+
+            project.addTask(task);
+        }
+        return project;
+    }
+
+    /**
+     * A task with one subtask of the same status, due date and difficulty.
+     */
+    static Task buildTask(String name, String status, LocalDate dueDate, String difficulty, String taskType) {
+        Task task = new Task.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName(name)
+            .withDescription("Test Description")
+            .withStatus(status)
+            .withDueDate(dueDate)
+            .withDifficulty(difficulty)
+            .withTaskType(taskType)
+            .build();
+        task.addSubtask(new Subtask.Builder()
+            .withId(UUID.randomUUID().toString())
+            .withName(name + " Subtask")
+            .withDescription("Test Description")
+            .withStatus(status)
+            .withDueDate(dueDate)
+            .withDifficulty(difficulty)
+            .build());
+        return task;
+    }
+}